@@ -0,0 +1,99 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks for formatting and writing catalogs with the CSV and JSON exporters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExporterBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private List<Influencer> catalog;
+    private CSVExporter csvExporter;
+    private JSONExporter jsonExporter;
+    private Path outputDir;
+
+    /**
+     * Generates the catalog and a scratch directory once per trial.
+     *
+     * @throws IOException if the scratch directory cannot be created
+     */
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        catalog = new CatalogGenerator(42L).generate(size);
+        csvExporter = new CSVExporter();
+        jsonExporter = new JSONExporter();
+        outputDir = Files.createTempDirectory("export-benchmark");
+    }
+
+    /**
+     * Removes the scratch directory.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        Files.deleteIfExists(outputDir.resolve("export.csv"));
+        Files.deleteIfExists(outputDir.resolve("export.json"));
+        Files.deleteIfExists(outputDir);
+    }
+
+    /**
+     * Formats the catalog as CSV.
+     *
+     * @return the CSV content
+     */
+    @Benchmark
+    public String formatCsv() {
+        return csvExporter.formatData(catalog);
+    }
+
+    /**
+     * Formats the catalog as JSON.
+     *
+     * @return the JSON content
+     */
+    @Benchmark
+    public String formatJson() {
+        return jsonExporter.formatData(catalog);
+    }
+
+    /**
+     * Exports the catalog to a CSV file.
+     *
+     * @return true if the export succeeded
+     */
+    @Benchmark
+    public boolean exportCsv() {
+        return csvExporter.export(catalog, outputDir.resolve("export.csv").toString());
+    }
+
+    /**
+     * Exports the catalog to a JSON file.
+     *
+     * @return true if the export succeeded
+     */
+    @Benchmark
+    public boolean exportJson() {
+        return jsonExporter.export(catalog, outputDir.resolve("export.json").toString());
+    }
+}
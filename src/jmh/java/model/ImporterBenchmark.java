@@ -0,0 +1,71 @@
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for parsing CSV and JSON content with the importers.
+ * The content is streamed by the catalog generator in the layouts the importers read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImporterBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private String csvContent;
+    private String jsonContent;
+    private CSVImporter csvImporter;
+    private JSONImporter jsonImporter;
+
+    /**
+     * Generates the CSV and JSON content once per trial.
+     *
+     * @throws IOException never, the content is written to memory
+     */
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        new CatalogGenerator(42L).writeCsv(csv, size);
+        csvContent = csv.toString(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        new CatalogGenerator(42L).writeJson(json, size);
+        jsonContent = json.toString(StandardCharsets.US_ASCII);
+        csvImporter = new CSVImporter();
+        jsonImporter = new JSONImporter();
+    }
+
+    /**
+     * Parses the CSV content.
+     *
+     * @return the parsed influencers
+     */
+    @Benchmark
+    public List<Influencer> parseCsv() {
+        return csvImporter.parseData(csvContent);
+    }
+
+    /**
+     * Parses the JSON content.
+     *
+     * @return the parsed influencers
+     */
+    @Benchmark
+    public List<Influencer> parseJson() {
+        return jsonImporter.parseData(jsonContent);
+    }
+}
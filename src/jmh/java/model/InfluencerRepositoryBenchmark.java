@@ -0,0 +1,133 @@
+package model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for the InfluencerRepository save, search, filter, sort and ranking paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InfluencerRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private static final ScoreFormula VALUE_FORMULA = ScoreFormula.parse("followersPerDollar + 0.5*logFollowers");
+
+    private List<Influencer> catalog;
+    private InfluencerRepository repository;
+
+    /**
+     * Generates the catalog once per trial.
+     */
+    @Setup(Level.Trial)
+    public void generate() {
+        catalog = new CatalogGenerator(42L).generate(size);
+    }
+
+    /**
+     * Loads a fresh repository before each iteration, so saves always start from the same state.
+     */
+    @Setup(Level.Iteration)
+    public void load() {
+        repository = new InfluencerRepository();
+        repository.saveAll(catalog);
+    }
+
+    /**
+     * Saves the whole catalog into an empty repository one influencer at a time.
+     *
+     * @return the loaded repository
+     */
+    @Benchmark
+    public InfluencerRepository saveEach() {
+        InfluencerRepository fresh = new InfluencerRepository();
+        for (Influencer influencer : catalog) {
+            fresh.save(influencer);
+        }
+        return fresh;
+    }
+
+    /**
+     * Saves the whole catalog into an empty repository as one batch.
+     *
+     * @return the loaded repository
+     */
+    @Benchmark
+    public InfluencerRepository saveAll() {
+        InfluencerRepository fresh = new InfluencerRepository();
+        fresh.saveAll(catalog);
+        return fresh;
+    }
+
+    /**
+     * Searches for a name substring.
+     *
+     * @return the matching influencers
+     */
+    @Benchmark
+    public List<Influencer> searchByName() {
+        return repository.searchByName("fluencer 12");
+    }
+
+    /**
+     * Filters by platform.
+     *
+     * @return the matching influencers
+     */
+    @Benchmark
+    public List<Influencer> filterByPlatform() {
+        return repository.filterByPlatform("YouTube");
+    }
+
+    /**
+     * Filters by follower range.
+     *
+     * @return the matching influencers
+     */
+    @Benchmark
+    public List<Influencer> filterByFollowerRange() {
+        return repository.filterByFollowerRange(100_000, 1_000_000);
+    }
+
+    /**
+     * Sorts by name.
+     *
+     * @return the sorted influencers
+     */
+    @Benchmark
+    public List<Influencer> sortByName() {
+        return repository.sortByName();
+    }
+
+    /**
+     * Sorts by followers.
+     *
+     * @return the sorted influencers
+     */
+    @Benchmark
+    public List<Influencer> sortByFollowers() {
+        return repository.sortByFollowers();
+    }
+
+    /**
+     * Ranks by a two-term value formula and keeps the top 100.
+     *
+     * @return the best influencers
+     */
+    @Benchmark
+    public List<ScoredInfluencer> rankTop100() {
+        return repository.rank(VALUE_FORMULA, 100);
+    }
+}
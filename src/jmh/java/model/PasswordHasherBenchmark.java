@@ -0,0 +1,74 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures login throughput of {@link PasswordHasher} at different costs from many concurrent clients.
+ * The cold benchmark checks a wrong password, which is never cached, so every check derives a key;
+ * the cached benchmark repeats one successful login so it is answered from the verification cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class PasswordHasherBenchmark {
+
+    @Param({"60000", "120000", "240000"})
+    public int iterations;
+
+    private PasswordHasher coldHasher;
+    private PasswordHasher cachedHasher;
+    private String stored;
+
+    /**
+     * Creates the hashers and a stored hash.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        int workers = Runtime.getRuntime().availableProcessors();
+        coldHasher = new PasswordHasher(iterations, workers);
+        cachedHasher = new PasswordHasher(iterations, workers);
+        stored = coldHasher.hash("password");
+        cachedHasher.verify("password", stored);
+    }
+
+    /**
+     * Stops the worker pools.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        coldHasher.shutdown();
+        cachedHasher.shutdown();
+    }
+
+    /**
+     * Verifies a wrong password, which is never cached, so every call derives a key.
+     *
+     * @return the verification result
+     */
+    @Benchmark
+    public boolean coldLogin() {
+        return coldHasher.verify("wrong-password", stored);
+    }
+
+    /**
+     * Verifies a password that was verified before.
+     *
+     * @return the verification result
+     */
+    @Benchmark
+    public boolean cachedLogin() {
+        return cachedHasher.verify("password", stored);
+    }
+}
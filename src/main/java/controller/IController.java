@@ -125,6 +125,24 @@ public interface IController {
      */
     void handleRemoveFromFavorites(Influencer influencer);
 
+    /**
+     * Handles adding several influencers to the current user's favorites as one change,
+     * with a single save and a single refresh of the favorites view.
+     *
+     * @param influencers the influencers to add to favorites
+     * @throws IllegalStateException if no user is logged in
+     */
+    void handleAddAllToFavorites(List<Influencer> influencers);
+
+    /**
+     * Handles removing several influencers from the current user's favorites as one change,
+     * with a single save and a single refresh of the favorites view.
+     *
+     * @param influencers the influencers to remove from favorites
+     * @throws IllegalStateException if no user is logged in
+     */
+    void handleRemoveAllFromFavorites(List<Influencer> influencers);
+
     /**
      * Loads all favorites for the current user and displays them.
      *
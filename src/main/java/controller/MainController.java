@@ -4,12 +4,17 @@ import model.*;
 import view.MainView;
 import view.ViewState;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -24,16 +29,31 @@ import java.util.stream.Collectors;
  * to provide a cohesive application experience.</p>
  */
 public class MainController implements IController {
+    private static final String DEFAULT_DATA_PATH = "src/main/resources/data/influencers.csv";
+    private static final String DEFAULT_DATA_DIRECTORY = "data";
+    private static final String SNAPSHOT_FILE = "influencers.snapshot";
+    private static final String CATALOG_DIRECTORY = "catalog";
+    private static final int FAVORITES_CACHE_SIZE = 64;
+    private static final String METRICS_PROPERTY = "influencer.metrics";
+    private static final int DEFAULT_RANK_SIZE = 10;
+
     private String controllerName;
-    private InfluencerRepository repository;
+    private volatile InfluencerRepository repository;
+    private List<Influencer> pendingSaves;
     private UserManager userManager;
     private UserFavorites userFavorites;
+    private final Map<String, UserFavorites> favoritesCache;
     private IExporter exporter;
     private IImporter importer;
     private MainView mainView;
     private User currentUser;
     private List<Influencer> currentWorkingSet;
     private boolean isRunning;
+    private final MetricsRegistry metrics;
+    private boolean requestFailed;
+    private TransferReport lastTransfer;
+    private final Path snapshotPath;
+    private final Path catalogDirectory;
 
     /**
      * Creates a new MainController with the specified view.
@@ -42,13 +62,33 @@ public class MainController implements IController {
      * @param mainView the main view instance to control
      */
     public MainController(MainView mainView) {
+        this(mainView, Paths.get(DEFAULT_DATA_DIRECTORY));
+    }
+
+    /**
+     * Creates a new MainController with the specified view, keeping users, the catalog snapshot
+     * and the persistent catalog in the given data directory.
+     *
+     * @param mainView      the main view instance to control
+     * @param dataDirectory the directory for the files the application writes
+     */
+    public MainController(MainView mainView, Path dataDirectory) {
         this.controllerName = "Main Controller";
         this.mainView = mainView;
+        this.snapshotPath = dataDirectory.resolve(SNAPSHOT_FILE);
+        this.catalogDirectory = dataDirectory.resolve(CATALOG_DIRECTORY);
         this.repository = new InfluencerRepository();
-        this.userManager = new UserManager();
+        this.userManager = new UserManager(dataDirectory);
         this.exporter = null;
         this.currentWorkingSet = new ArrayList<>();
         this.isRunning = false;
+        this.metrics = new MetricsRegistry(Boolean.getBoolean(METRICS_PROPERTY));
+        this.favoritesCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserFavorites> eldest) {
+                return size() > FAVORITES_CACHE_SIZE;
+            }
+        };
 
         mainView.setController(this);
     }
@@ -59,7 +99,7 @@ public class MainController implements IController {
      */
     @Override
     public void initialize() {
-        if (!tryLoadDataFromFile()) {
+        if (!tryLoadPersistedCatalog() && !tryLoadDataFromFile()) {
             loadSampleData();
         }
 
@@ -133,42 +173,96 @@ public class MainController implements IController {
         isRunning = false;
     }
 
+    /**
+     * Opens the persistent catalog, which holds imported data across restarts.
+     * The persistent catalog becomes the repository even when it is empty,
+     * so that data loaded afterwards is persisted as well.
+     *
+     * @return true if previously persisted influencers were recovered, false otherwise
+     */
+    private boolean tryLoadPersistedCatalog() {
+        PersistentInfluencerRepository catalog;
+        try {
+            catalog = new PersistentInfluencerRepository(catalogDirectory);
+        } catch (IOException e) {
+            System.err.println("Failed to open persistent catalog: " + e.getMessage());
+            return false;
+        }
+
+        repository = catalog;
+        List<Influencer> recovered = catalog.findAll();
+        if (recovered.isEmpty()) {
+            return false;
+        }
+
+        currentWorkingSet = new ArrayList<>(recovered);
+        System.out.println("[INFO] Recovered " + recovered.size() + " influencers from " + catalogDirectory);
+        return true;
+    }
+
     /**
      * Attempts to load influencer data from the default data file.
+     * Uses the binary catalog snapshot when it is up to date with the data file, and otherwise
+     * parses the CSV file and rebuilds the snapshot for the next start.
      *
      * @return true if data was successfully loaded, false otherwise
      */
     private boolean tryLoadDataFromFile() {
-        String defaultDataPath = "src/main/resources/data/influencers.csv";
         importer = new CSVImporter();
-        List<Influencer> importedData = importer.importData(defaultDataPath);
+        Path sourcePath = Paths.get(DEFAULT_DATA_PATH);
+        CatalogSnapshot snapshot = new CatalogSnapshot(snapshotPath);
 
-        if (importedData != null && !importedData.isEmpty()) {
-            for (Influencer influencer : importedData) {
-                repository.save(influencer);
+        List<Influencer> importedData = null;
+        if (snapshot.isFresh(sourcePath)) {
+            try {
+                importedData = snapshot.read();
+                System.out.println("[INFO] Loaded " + importedData.size() + " influencers from " + snapshotPath);
+            } catch (IOException e) {
+                System.err.println("Failed to read catalog snapshot: " + e.getMessage());
             }
-            currentWorkingSet = new ArrayList<>(importedData);
-            System.out.println("[INFO] Loaded " + importedData.size() + " influencers from " + defaultDataPath);
-            return true;
         }
 
-        return false;
+        if (importedData == null || importedData.isEmpty()) {
+            importedData = importer.importData(DEFAULT_DATA_PATH);
+            if (importedData == null || importedData.isEmpty()) {
+                return false;
+            }
+            System.out.println("[INFO] Loaded " + importedData.size() + " influencers from " + DEFAULT_DATA_PATH);
+
+            try {
+                snapshot.write(importedData, sourcePath);
+            } catch (IOException e) {
+                System.err.println("Failed to write catalog snapshot: " + e.getMessage());
+            }
+        }
+
+        repository.saveAll(importedData);
+        currentWorkingSet = new ArrayList<>(importedData);
+        return true;
     }
 
     /**
      * Handles requests from the view with specific actions and parameters.
      * This is the main entry point for processing user actions, including login, registration,
      * search, filtering, sorting, and data import/export operations.
+     * Each request is timed and recorded under its action name while metrics are enabled.
      *
      * @param action the action to perform (e.g., "login", "search", "filter")
      * @param params a map of parameters required for the action
      */
     @Override
     public void handleRequest(String action, Map<String, Object> params) {
-        if (params == null) {
-            params = new HashMap<>();
-        }
+        Map<String, Object> requestParams = params == null ? new HashMap<>() : params;
+        timed(action, () -> dispatchRequest(action, requestParams));
+    }
 
+    /**
+     * Performs a request on behalf of {@link #handleRequest(String, Map)}.
+     *
+     * @param action the action to perform
+     * @param params a map of parameters required for the action
+     */
+    private void dispatchRequest(String action, Map<String, Object> params) {
         switch (action) {
             case "login":
                 String username = (String) params.get("username");
@@ -177,6 +271,7 @@ public class MainController implements IController {
                 if (loggedInUser != null) {
                     mainView.showUserProfile(loggedInUser);
                 } else {
+                    requestFailed = true;
                     mainView.showError("Invalid username or password.");
                     mainView.showLoginForm();
                 }
@@ -188,6 +283,7 @@ public class MainController implements IController {
                     handleUserRegistration(user);
                     mainView.showLoginForm();
                 } catch (IllegalArgumentException e) {
+                    requestFailed = true;
                     mainView.showError(e.getMessage());
                     mainView.showRegistrationForm();
                 }
@@ -238,6 +334,24 @@ public class MainController implements IController {
                 }
                 break;
 
+            case "addAllToFavorites":
+                List<Influencer> toAdd = toInfluencerList(params.get("influencers"));
+                if (toAdd != null) {
+                    handleAddAllToFavorites(toAdd);
+                } else {
+                    mainView.showError("Missing influencer list");
+                }
+                break;
+
+            case "removeAllFromFavorites":
+                List<Influencer> toRemove = toInfluencerList(params.get("influencers"));
+                if (toRemove != null) {
+                    handleRemoveAllFromFavorites(toRemove);
+                } else {
+                    mainView.showError("Missing influencer list");
+                }
+                break;
+
             case "export":
                 String exportFormat = (String) params.get("format");
                 String exportPath = (String) params.get("path");
@@ -247,6 +361,7 @@ public class MainController implements IController {
                 if (params.containsKey("exportingFavorites") && (boolean) params.get("exportingFavorites")) {
                     // Get favorites directly from the controller's userFavorites instance
                     if (userFavorites == null) {
+                        requestFailed = true;
                         mainView.showExportError("No favorites to export");
                         return;
                     }
@@ -276,11 +391,57 @@ public class MainController implements IController {
                 handleImport(importFormat, importPath);
                 break;
 
+            case "metrics":
+                if (params.containsKey("enabled")) {
+                    metrics.setEnabled(Boolean.TRUE.equals(params.get("enabled")));
+                }
+                if (Boolean.TRUE.equals(params.get("reset"))) {
+                    metrics.reset();
+                }
+                mainView.displayMessage(formatMetrics());
+                break;
+
+            case "optimize":
+                validateSubscription();
+                Object timeLimit = params.get("timeLimitMillis");
+                if (!(params.get("budget") instanceof Number)) {
+                    requestFailed = true;
+                    mainView.showError("Missing campaign budget");
+                } else if (timeLimit != null && !(timeLimit instanceof Number)) {
+                    requestFailed = true;
+                    mainView.showError("Invalid optimization time limit");
+                } else {
+                    handleOptimize(((Number) params.get("budget")).doubleValue(), timeLimit == null
+                            ? CampaignOptimizer.DEFAULT_TIME_LIMIT_MILLIS : ((Number) timeLimit).longValue());
+                }
+                break;
+
+            case "rank":
+                validateUser();
+                Object rankSize = params.get("k");
+                if (rankSize != null && !(rankSize instanceof Number)) {
+                    requestFailed = true;
+                    mainView.showError("Invalid number of ranked results");
+                } else {
+                    handleRank((String) params.get("formula"),
+                            rankSize == null ? DEFAULT_RANK_SIZE : ((Number) rankSize).intValue());
+                }
+                break;
+
+            case "facets":
+                handleFacets((String) params.get("groupBy"));
+                break;
+
+            case "aggregate":
+                handleAggregate((String) params.get("groupBy"));
+                break;
+
             case "exit":
                 stop();
                 break;
 
             default:
+                requestFailed = true;
                 mainView.showError("Unknown action: " + action);
                 break;
         }
@@ -388,6 +549,11 @@ public class MainController implements IController {
                 handleRequest("logout", params);
                 break;
 
+            case 5:
+                handleRequest("metrics", params);
+                showUserView();
+                break;
+
             default:
                 showUserView();
                 break;
@@ -420,12 +586,14 @@ public class MainController implements IController {
                 break;
 
             case 2:
+                showFacetCounts(GroupBy.PLATFORM);
                 String platform = mainView.promptForInput("Enter platform to filter by (in current results): ");
                 params.put("platform", platform);
                 handleRequest("filter", params);
                 break;
 
             case 3:
+                showFacetCounts(GroupBy.CATEGORY);
                 String category = mainView.promptForInput("Enter category to filter by (in current results): ");
                 params.put("category", category);
                 handleRequest("filter", params);
@@ -440,6 +608,7 @@ public class MainController implements IController {
                 break;
 
             case 5:
+                showFacetCounts(GroupBy.COUNTRY);
                 String country = mainView.promptForInput("Enter country to filter by (in current results): ");
                 params.put("country", country);
                 handleRequest("filter", params);
@@ -467,15 +636,18 @@ public class MainController implements IController {
                 break;
 
             case 9:
-                int id = Integer.parseInt(mainView.promptForInput("Enter ID of influencer to add to favorites: ")) - 1;
-                List<Influencer> currentInfluencers = mainView.getCurrentInfluencers();
+                String idInput = mainView.promptForInput(
+                        "Enter ID(s) of influencers to add to favorites (e.g. 1 or 1,3,5 or 'all'): ");
+                List<Influencer> selected = selectByIds(idInput, mainView.getCurrentInfluencers());
 
-                if (id >= 0 && id < currentInfluencers.size()) {
-                    Influencer influencerToAdd = currentInfluencers.get(id);
-                    params.put("influencer", influencerToAdd);
+                if (selected == null) {
+                    mainView.showError("Invalid influencer ID");
+                } else if (selected.size() == 1 && !"all".equalsIgnoreCase(idInput.trim())) {
+                    params.put("influencer", selected.get(0));
                     handleRequest("addToFavorites", params);
                 } else {
-                    mainView.showError("Invalid influencer ID");
+                    params.put("influencers", selected);
+                    handleRequest("addAllToFavorites", params);
                 }
                 showInfluencerListView();
                 break;
@@ -498,6 +670,43 @@ public class MainController implements IController {
                 showInfluencerListView();
                 break;
 
+            case 14:
+                String groupBy = mainView.promptForInput("Group current results by (platform/category/country): ");
+                params.put("groupBy", groupBy);
+                handleRequest("aggregate", params);
+                showInfluencerListView();
+                break;
+
+            case 15:
+                String formula = mainView.promptForInput(
+                        "Enter score formula (e.g. followersPerDollar + 0.5*logFollowers): ");
+                String rankSizeInput = mainView.promptForInput("How many top results? (default "
+                        + DEFAULT_RANK_SIZE + "): ");
+                params.put("formula", formula);
+                try {
+                    params.put("k", rankSizeInput.isBlank() ? DEFAULT_RANK_SIZE : Integer.parseInt(rankSizeInput.trim()));
+                } catch (NumberFormatException e) {
+                    mainView.showError("Invalid number of results");
+                    showInfluencerListView();
+                    break;
+                }
+                handleRequest("rank", params);
+                showInfluencerListView();
+                break;
+
+            case 16:
+                String budgetInput = mainView.promptForInput("Enter campaign budget in dollars: ");
+                try {
+                    params.put("budget", Double.parseDouble(budgetInput.trim()));
+                } catch (NumberFormatException e) {
+                    mainView.showError("Invalid budget");
+                    showInfluencerListView();
+                    break;
+                }
+                handleRequest("optimize", params);
+                showInfluencerListView();
+                break;
+
             default:
                 showInfluencerListView();
                 break;
@@ -529,15 +738,18 @@ public class MainController implements IController {
                 break;
 
             case 2:
-                int id = Integer.parseInt(mainView.promptForInput("Enter ID of favorite to remove: ")) - 1;
-                List<Influencer> favorites = mainView.getCurrentFavorites();
+                String idInput = mainView.promptForInput(
+                        "Enter ID(s) of favorites to remove (e.g. 1 or 1,3,5 or 'all'): ");
+                List<Influencer> selected = selectByIds(idInput, mainView.getCurrentFavorites());
 
-                if (id >= 0 && id < favorites.size()) {
-                    Influencer influencerToRemove = favorites.get(id);
-                    params.put("influencer", influencerToRemove);
+                if (selected == null) {
+                    mainView.showError("Invalid favorite ID");
+                } else if (selected.size() == 1 && !"all".equalsIgnoreCase(idInput.trim())) {
+                    params.put("influencer", selected.get(0));
                     handleRequest("removeFromFavorites", params);
                 } else {
-                    mainView.showError("Invalid favorite ID");
+                    params.put("influencers", selected);
+                    handleRequest("removeAllFromFavorites", params);
                 }
                 showUserFavoritesView();
                 break;
@@ -600,19 +812,8 @@ public class MainController implements IController {
             path = defaultPath;
         }
 
-        // Create exporter and export directly
-        IExporter exporter = getExporterForFormat(format);
-        if (exporter == null) {
-            mainView.showExportError("Unsupported export format: " + format);
-            return;
-        }
-
-        boolean success = exporter.export(favorites, path);
-        if (success) {
-            mainView.showExportSuccess(path);
-        } else {
-            mainView.showExportError("Failed to export data");
-        }
+        String exportPath = path;
+        timed("export", () -> handleExport(format, exportPath, favorites));
 
         showUserFavoritesView();
     }
@@ -667,12 +868,14 @@ public class MainController implements IController {
                         return;
                     }
                     exportParams.put("data", favorites);
-                    handleExport(format, path, favorites);
+                    String favoritesPath = path;
+                    timed("export", () -> handleExport(format, favoritesPath, favorites));
                 } else {
                     loadAllInfluencers();
                     List<Influencer> allInfluencers = mainView.getCurrentInfluencers();
                     exportParams.put("data", allInfluencers);
-                    handleExport(format, path, allInfluencers);
+                    String influencersPath = path;
+                    timed("export", () -> handleExport(format, influencersPath, allInfluencers));
                 }
 
                 // Don't use handleRequest for export, but call handleExport directly
@@ -913,7 +1116,7 @@ public class MainController implements IController {
     public void handleAddToFavorites(Influencer influencer) {
         validateUser();
         if (userFavorites == null) {
-            userFavorites = new UserFavorites(currentUser);
+            userFavorites = favoritesFor(currentUser);
         }
         userFavorites.addItem(influencer);
         loadAllFavorites();
@@ -928,6 +1131,27 @@ public class MainController implements IController {
         }
     }
 
+    @Override
+    public void handleAddAllToFavorites(List<Influencer> influencers) {
+        validateUser();
+        if (userFavorites == null) {
+            userFavorites = favoritesFor(currentUser);
+        }
+        int added = userFavorites.addItems(influencers);
+        mainView.displayMessage("Added " + added + " influencer(s) to favorites.");
+        loadAllFavorites();
+    }
+
+    @Override
+    public void handleRemoveAllFromFavorites(List<Influencer> influencers) {
+        validateUser();
+        if (userFavorites != null) {
+            int removed = userFavorites.removeItems(influencers);
+            mainView.displayMessage("Removed " + removed + " influencer(s) from favorites.");
+            loadAllFavorites();
+        }
+    }
+
     @Override
     public void loadAllFavorites() {
         validateUser();
@@ -960,14 +1184,17 @@ public class MainController implements IController {
 
         exporter = getExporterForFormat(format);
         if (exporter == null) {
+            requestFailed = true;
             mainView.showExportError("Unsupported export format: " + format);
             return;
         }
 
         boolean success = exporter.export(data, path);
+        recordTransfer(exporter.getLastReport());
         if (success) {
             mainView.showExportSuccess(path);
         } else {
+            requestFailed = true;
             mainView.showExportError("Failed to export data");
         }
     }
@@ -985,24 +1212,431 @@ public class MainController implements IController {
 
         importer = getImporterForFormat(format);
         if (importer == null) {
+            requestFailed = true;
             mainView.showError("Unsupported import format: " + format);
             return;
         }
 
         List<Influencer> importedData = importer.importData(path);
         if (importedData.isEmpty()) {
+            requestFailed = true;
             mainView.showError("Failed to import data or file was empty");
         } else {
-            for (Influencer influencer : importedData) {
-                repository.save(influencer);
+            long start = System.nanoTime();
+            saveToCatalog(importedData);
+            TransferReport report = importer.getLastReport();
+            if (report != null) {
+                report.addPhaseNanos(TransferReport.Phase.INDEX, System.nanoTime() - start);
             }
+            recordTransfer(report);
 
             currentWorkingSet = new ArrayList<>(importedData);
-            mainView.showImportSuccess(importedData.size() + " influencers imported");
+            ImportErrors rejected = importer.getLastErrors();
+            String message = importedData.size() + " influencers imported";
+            if (rejected != null && !rejected.isEmpty()) {
+                message += ", " + rejected.getTotal() + " rows rejected";
+            }
+            mainView.showImportSuccess(message);
             loadAllInfluencers();
         }
     }
 
+    /**
+     * Starts importing influencer data from a file in the background.
+     * Parsed rows are loaded in batches into a staging copy of the catalog, which replaces
+     * the live repository in one step once the whole file has been imported. Influencers saved
+     * to the live repository while the job runs are saved to the staging copy as well before the
+     * swap, so they are not lost. Cancelling the returned job leaves the live repository
+     * untouched. Only one background import runs at a time.
+     *
+     * @param format the import format (e.g., "csv", "json")
+     * @param path the file path to import from
+     * @param progressListener listener notified after each batch, or null for none
+     * @return the running import job, or null if the format is unsupported or an import is running
+     * @throws IllegalStateException if no user is logged in
+     */
+    public ImportJob handleImportAsync(String format, String path, Consumer<ImportProgress> progressListener) {
+        validateUser();
+
+        IImporter jobImporter = getImporterForFormat(format);
+        if (jobImporter == null) {
+            mainView.showError("Unsupported import format: " + format);
+            return null;
+        }
+
+        ImportJob job;
+        List<Influencer> saves = new ArrayList<>();
+        synchronized (this) {
+            if (pendingSaves != null) {
+                requestFailed = true;
+                mainView.showError("An import is already running");
+                return null;
+            }
+            InfluencerRepository current = repository;
+            job = new ImportJob(jobImporter, path, current.findAll(), current.getIds(),
+                    ImportJob.DEFAULT_BATCH_SIZE);
+            pendingSaves = saves;
+        }
+
+        job.setProgressListener(progress -> {
+            if (progress.getStatus() == ImportJob.Status.CANCELLED
+                    || progress.getStatus() == ImportJob.Status.FAILED) {
+                endImport(saves);
+            }
+            if (progressListener != null) {
+                progressListener.accept(progress);
+            }
+        });
+        job.setCompletionHandler(staging -> swapRepository(staging, saves));
+        return job.start();
+    }
+
+    /**
+     * Saves influencers to the live repository. While a background import runs they are also
+     * recorded, to be saved to the imported catalog before it is swapped in. Holding the
+     * controller's lock keeps the save from reaching a repository that is being swapped out.
+     *
+     * @param influencers the influencers to save
+     */
+    private synchronized void saveToCatalog(List<Influencer> influencers) {
+        repository.saveAll(influencers);
+        if (pendingSaves != null) {
+            pendingSaves.addAll(influencers);
+        }
+    }
+
+    /**
+     * Stops recording saves for a background import that ended without a swap.
+     *
+     * @param saves the saves recorded for that import
+     */
+    private synchronized void endImport(List<Influencer> saves) {
+        if (pendingSaves == saves) {
+            pendingSaves = null;
+        }
+    }
+
+    /**
+     * Runs an operation and records its latency under the given name. The operation counts as
+     * failed if it throws or reports an error to the user. While metrics are disabled the
+     * operation runs without reading the clock.
+     *
+     * @param operation the name to record the operation under
+     * @param task      the operation to run
+     */
+    private void timed(String operation, Runnable task) {
+        if (!metrics.isEnabled()) {
+            task.run();
+            return;
+        }
+
+        requestFailed = false;
+        boolean completed = false;
+        long start = System.nanoTime();
+        try {
+            task.run();
+            completed = true;
+        } finally {
+            metrics.record(operation, System.nanoTime() - start, !completed || requestFailed);
+        }
+    }
+
+    /**
+     * Chooses the influencers among the current results that reach the most followers within a
+     * budget and keeps them as the new current results. Requires a subscription, since plans are
+     * built from ad rates.
+     *
+     * @param budget          the campaign budget in dollars
+     * @param timeLimitMillis how long the optimizer may search before settling for a greedy plan
+     */
+    private void handleOptimize(double budget, long timeLimitMillis) {
+        validateSubscription();
+
+        CampaignPlan plan;
+        try {
+            plan = new CampaignOptimizer(timeLimitMillis).optimize(currentWorkingSet, budget);
+        } catch (IllegalArgumentException e) {
+            requestFailed = true;
+            mainView.showError("Cannot plan campaign: " + e.getMessage());
+            return;
+        }
+
+        mainView.displayMessage(String.format("%n==== Campaign Plan ====%n"
+                        + "Influencers: %d%nTotal reach: %,d followers%nTotal cost: $%.2f of $%.2f%nMethod: %s%s%n",
+                plan.getInfluencers().size(), plan.getTotalFollowers(), plan.getTotalCost(), plan.getBudget(),
+                plan.getMethod().name().toLowerCase(), plan.isOptimal() ? " (optimal)" : ""));
+
+        currentWorkingSet = new ArrayList<>(plan.getInfluencers());
+        mainView.displayInfluencers(currentWorkingSet);
+    }
+
+    /**
+     * Ranks the current results by a score formula and keeps the K best, highest score first, as the
+     * new current results.
+     *
+     * Formulas using any term other than followers and logFollowers depend on ad rates, and need
+     * a subscription like sorting by ad rate does.
+     *
+     * @param expression the score formula, such as "followersPerDollar + 0.5*logFollowers"
+     * @param k          the number of results to keep
+     * @throws IllegalStateException if the formula uses ad rates and the user is not subscribed
+     */
+    private void handleRank(String expression, int k) {
+        validateUser();
+
+        ScoreFormula formula;
+        List<ScoredInfluencer> ranked;
+        try {
+            formula = ScoreFormula.parse(expression);
+            for (ScoreTerm term : formula.getTerms()) {
+                if (term != Metric.FOLLOWERS && term != Metric.LOG_FOLLOWERS) {
+                    validateSubscription();
+                }
+            }
+            ranked = Ranking.top(currentWorkingSet, formula, k);
+        } catch (IllegalArgumentException e) {
+            requestFailed = true;
+            mainView.showError("Cannot rank: " + e.getMessage());
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder("\n==== Top ").append(ranked.size()).append(" by ")
+                .append(formula).append(" ====\n");
+        List<Influencer> results = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            ScoredInfluencer scored = ranked.get(i);
+            builder.append(String.format("%-3d| %-20s | %14.2f%n", i + 1, scored.getInfluencer().getName(),
+                    scored.getScore()));
+            results.add(scored.getInfluencer());
+        }
+        mainView.displayMessage(builder.toString());
+
+        currentWorkingSet = results;
+        mainView.displayInfluencers(currentWorkingSet);
+    }
+
+    /**
+     * Displays how many influencers each value of an attribute would return if filtered on, using
+     * the counts the repository maintains for the catalog and a single counting pass over the
+     * current results.
+     *
+     * @param groupByName the attribute to count: platform, category or country
+     */
+    private void handleFacets(String groupByName) {
+        validateUser();
+
+        GroupBy groupBy;
+        try {
+            groupBy = GroupBy.fromName(groupByName);
+        } catch (IllegalArgumentException e) {
+            requestFailed = true;
+            mainView.showError("Cannot count by '" + groupByName + "'. Use platform, category or country.");
+            return;
+        }
+        mainView.displayFacetCounts(groupBy, repository.getFacetCounts(groupBy),
+                FacetCounts.of(currentWorkingSet).getCounts(groupBy));
+    }
+
+    /**
+     * Shows the facet counts of an attribute before the user picks a filter value for it.
+     *
+     * @param groupBy the attribute about to be filtered on
+     */
+    private void showFacetCounts(GroupBy groupBy) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("groupBy", groupBy.name());
+        handleRequest("facets", params);
+    }
+
+    /**
+     * Groups the current results by an attribute and displays follower and ad rate statistics
+     * per group. Ad rate columns are only shown to subscribers.
+     *
+     * @param groupByName the attribute to group by: platform, category or country
+     */
+    private void handleAggregate(String groupByName) {
+        validateUser();
+
+        GroupBy groupBy;
+        try {
+            groupBy = GroupBy.fromName(groupByName);
+        } catch (IllegalArgumentException e) {
+            requestFailed = true;
+            mainView.showError("Cannot group by '" + groupByName + "'. Use platform, category or country.");
+            return;
+        }
+        mainView.displayMessage(formatAggregation(Aggregation.of(currentWorkingSet, groupBy),
+                currentUser.isSubscribed()));
+    }
+
+    /**
+     * Formats group statistics as a table with one row per group and a total row.
+     *
+     * @param aggregation the aggregation to format
+     * @param showAdRate  whether to include the ad rate columns
+     * @return the formatted table
+     */
+    private String formatAggregation(Aggregation aggregation, boolean showAdRate) {
+        StringBuilder builder = new StringBuilder("\n==== Statistics by ")
+                .append(aggregation.getGroupBy().name().toLowerCase()).append(" ====\n");
+        builder.append(String.format("%-16s %7s %12s %12s %12s %12s", "Group", "Count",
+                "Avg Fol.", "Min Fol.", "Median Fol.", "Max Fol."));
+        if (showAdRate) {
+            builder.append(String.format(" %10s %10s", "Avg Rate", "Max Rate"));
+        }
+        builder.append('\n');
+        for (GroupStats stats : aggregation.getGroups().values()) {
+            appendGroupRow(builder, stats.getKey() == null ? "(none)" : stats.getKey(), stats, showAdRate);
+        }
+        appendGroupRow(builder, "Total", aggregation.getTotal(), showAdRate);
+        return builder.toString();
+    }
+
+    /**
+     * Appends one row of group statistics to a table.
+     *
+     * @param builder    the table being built
+     * @param label      the row label
+     * @param stats      the statistics of the group
+     * @param showAdRate whether to include the ad rate columns
+     */
+    private void appendGroupRow(StringBuilder builder, String label, GroupStats stats, boolean showAdRate) {
+        builder.append(String.format("%-16s %7d %12.0f %12d %12d %12d", label, stats.getCount(),
+                stats.getFollowerAverage(), stats.getFollowerMin(), stats.getFollowerPercentile(50.0),
+                stats.getFollowerMax()));
+        if (showAdRate) {
+            builder.append(String.format(" %10.2f %10.2f", stats.getAdRateAverage(), stats.getAdRateMax()));
+        }
+        builder.append('\n');
+    }
+
+    /**
+     * Keeps the throughput report of a finished import or export, to be shown with the metrics.
+     *
+     * @param report the report, or null if the transfer did not produce one
+     */
+    private void recordTransfer(TransferReport report) {
+        if (report != null) {
+            lastTransfer = report;
+        }
+    }
+
+    /**
+     * Formats the recorded metrics for display.
+     *
+     * @return the metrics report, with a hint on how to enable recording while it is off
+     */
+    private String formatMetrics() {
+        StringBuilder builder = new StringBuilder("\n==== Performance Metrics ====\n");
+        if (!metrics.isEnabled()) {
+            builder.append("Metrics are disabled. Start with -D").append(METRICS_PROPERTY)
+                    .append("=true to record them.\n");
+        }
+        builder.append(metrics.report());
+        if (lastTransfer != null) {
+            builder.append("\nLast transfer: ").append(lastTransfer).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Gets the registry holding the per-action latency and error metrics.
+     *
+     * @return the metrics registry
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Replaces the live repository with a fully populated one.
+     * Readers see either the old or the new catalog, never a partially imported one. The saves
+     * made to the live catalog since the import started are applied to the new one first; saves
+     * take the same lock, so none can slip in between and none reach the old catalog afterwards.
+     * When the live catalog is persistent, the new contents are first written to a new persistent
+     * catalog off to the side, which is then swapped in the same way before the old one is closed.
+     * If the new catalog cannot be written, the live catalog is kept.
+     *
+     * @param newRepository the repository to swap in
+     * @param saves         the saves recorded while the import ran
+     */
+    private synchronized void swapRepository(InfluencerRepository newRepository, List<Influencer> saves) {
+        endImport(saves);
+        newRepository.saveAll(saves);
+
+        InfluencerRepository current = repository;
+        if (!(current instanceof PersistentInfluencerRepository)) {
+            this.repository = newRepository;
+            return;
+        }
+
+        PersistentInfluencerRepository persistent = (PersistentInfluencerRepository) current;
+        try {
+            this.repository = persistent.replaceWith(newRepository.findAll());
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing imported catalog", e);
+        }
+        try {
+            persistent.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close previous catalog: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks that a request parameter is a list of influencers and copies it.
+     *
+     * @param value the parameter value
+     * @return a copy of the list, or null if the value is not a list or holds anything other
+     *         than influencers
+     */
+    private static List<Influencer> toInfluencerList(Object value) {
+        if (!(value instanceof List<?>)) {
+            return null;
+        }
+        List<?> items = (List<?>) value;
+        List<Influencer> influencers = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (!(item instanceof Influencer)) {
+                return null;
+            }
+            influencers.add((Influencer) item);
+        }
+        return influencers;
+    }
+
+    /**
+     * Selects influencers from a displayed list by their 1-based IDs.
+     * Accepts a single ID, a comma-separated list of IDs, or "all" for the whole list.
+     *
+     * @param input the IDs entered by the user
+     * @param items the displayed list the IDs refer to
+     * @return the selected influencers in the order given, or null if any ID is invalid
+     */
+    private List<Influencer> selectByIds(String input, List<Influencer> items) {
+        if (input == null || input.trim().isEmpty()) {
+            return null;
+        }
+        if ("all".equalsIgnoreCase(input.trim())) {
+            return new ArrayList<>(items);
+        }
+
+        List<Influencer> selected = new ArrayList<>();
+        for (String part : input.split(",")) {
+            int id;
+            try {
+                id = Integer.parseInt(part.trim()) - 1;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (id < 0 || id >= items.size()) {
+                return null;
+            }
+            selected.add(items.get(id));
+        }
+        return selected;
+    }
+
     /**
      * Gets an appropriate exporter for the specified format.
      *
@@ -1075,13 +1709,28 @@ public class MainController implements IController {
         mainView.setCurrentUser(user);
 
         if (user != null) {
-            this.userFavorites = new UserFavorites(user);
+            this.userFavorites = favoritesFor(user);
             user.setFavorites(userFavorites);
         } else {
             this.userFavorites = null;
         }
     }
 
+    /**
+     * Gets the favorites of a user from the per-user cache, creating them if needed.
+     * The favorites file is only read when the favorites are first used, and cached favorites
+     * are reused when the same user logs in again.
+     *
+     * @param user the user whose favorites are needed
+     * @return the user's favorites
+     */
+    private UserFavorites favoritesFor(User user) {
+        synchronized (favoritesCache) {
+            return favoritesCache.computeIfAbsent(user.getUsername(),
+                    username -> new UserFavorites(user, () -> repository));
+        }
+    }
+
     /**
      * Validates that a user is currently logged in.
      *
@@ -10,6 +10,7 @@ import java.util.List;
  * Concrete exporters need only implement the formatData method
  */
 public abstract class AbstractExporter implements IExporter {
+    private volatile TransferReport lastReport;
 
     @Override
     public boolean export(List<Influencer> data, String filePath) {
@@ -17,8 +18,11 @@ public abstract class AbstractExporter implements IExporter {
             return false;
         }
 
+        TransferReport report = new TransferReport("export", getClass().getSimpleName(), filePath);
         try {
+            long start = System.nanoTime();
             String exportData = prepareExport(data);
+            report.addPhaseNanos(TransferReport.Phase.FORMAT, System.nanoTime() - start);
             File file = new File(filePath);
 
             // Create parent directories if they don't exist
@@ -27,17 +31,34 @@ public abstract class AbstractExporter implements IExporter {
                 parentDir.mkdirs();
             }
 
+            start = System.nanoTime();
             try (FileWriter writer = new FileWriter(file)) {
                 writer.write(exportData);
             }
+            report.addPhaseNanos(TransferReport.Phase.WRITE, System.nanoTime() - start);
+            report.addBytes(file.length());
+            report.addRecords(data.size());
 
             return true;
         } catch (IOException e) {
+            report.addErrors(1);
             e.printStackTrace();
             return false;
+        } finally {
+            lastReport = report;
         }
     }
 
+    /**
+     * Gets the throughput report of the last export run by this exporter.
+     *
+     * @return the report, or null if no export has run yet
+     */
+    @Override
+    public TransferReport getLastReport() {
+        return lastReport;
+    }
+
     /**
      * Prepares data for export by converting it to the appropriate format.
      *
@@ -17,6 +17,41 @@ import java.util.List;
  * @version 1.0
  */
 public abstract class AbstractImporter implements IImporter {
+    private volatile TransferReport lastReport;
+    private volatile ImportErrors lastErrors;
+    private boolean logErrors = true;
+
+    /**
+     * Gets the throughput report of the last import run by this importer.
+     * Concurrent imports on the same importer each produce their own report and rejected rows,
+     * and the last to finish wins.
+     *
+     * @return the report, or null if no import has run yet
+     */
+    @Override
+    public TransferReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Gets the rows rejected by the last import run by this importer.
+     *
+     * @return the rejected rows, or null if no import has run yet
+     */
+    @Override
+    public ImportErrors getLastErrors() {
+        return lastErrors;
+    }
+
+    /**
+     * Sets whether a summary of the rejected rows is written to standard error when an import
+     * finishes. Callers that inspect {@link #getLastErrors()} themselves can turn it off.
+     *
+     * @param logErrors true to log the summary, which is the default
+     */
+    public void setLogErrors(boolean logErrors) {
+        this.logErrors = logErrors;
+    }
 
     /**
      * Imports influencers from a file.
@@ -34,12 +69,16 @@ public abstract class AbstractImporter implements IImporter {
             throw new IllegalArgumentException("File path cannot be null or empty");
         }
 
+        TransferReport report = beginReport(filePath);
+        ImportErrors errors = new ImportErrors();
         try {
             Path path = Paths.get(filePath);
-            String content = Files.readString(path);
-            return parseData(content);
+            String content = readContent(path, report);
+            return parseContent(content, report, errors);
         } catch (IOException e) {
             throw new RuntimeException("Error reading file: " + filePath, e);
+        } finally {
+            endReport(report, errors);
         }
     }
 
@@ -54,6 +93,8 @@ public abstract class AbstractImporter implements IImporter {
      */
     @Override
     public List<Influencer> importData(String filePath) {
+        TransferReport report = beginReport(filePath);
+        ImportErrors errors = new ImportErrors();
         try {
             // Convert to absolute path if it's relative
             Path path = Paths.get(filePath);
@@ -61,12 +102,176 @@ public abstract class AbstractImporter implements IImporter {
                 path = Paths.get(System.getProperty("user.dir"), filePath);
             }
 
-            String content = Files.readString(path);
-            return parseData(content);
+            String content = readContent(path, report);
+            return parseContent(content, report, errors);
         } catch (IOException e) {
             System.err.println("Error reading file: " + e.getMessage());
             return null;
+        } finally {
+            endReport(report, errors);
+        }
+    }
+
+    /**
+     * Imports influencer data from the specified file path in batches.
+     * Relative paths are resolved the same way as in {@link #importData(String)}.
+     *
+     * @param filePath  the path to the file containing influencer data
+     * @param batchSize the maximum number of influencers per batch
+     * @param handler   the handler receiving each batch
+     * @return true if the whole file was imported, false if the handler stopped the import
+     * @throws IllegalArgumentException if the batch size is not positive or the handler is null
+     * @throws RuntimeException if there is an error reading the file
+     */
+    @Override
+    public boolean importInBatches(String filePath, int batchSize, IImportBatchHandler handler) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("Batch handler cannot be null");
+        }
+
+        TransferReport report = beginReport(filePath);
+        ImportErrors errors = new ImportErrors();
+        try {
+            Path path = Paths.get(filePath);
+            if (!path.isAbsolute()) {
+                path = Paths.get(System.getProperty("user.dir"), filePath);
+            }
+
+            String content = readContent(path, report);
+
+            // Time spent in the handler is indexing, the rest of the parse loop is parsing
+            long[] handlerNanos = new long[1];
+            IImportBatchHandler timedHandler = (batch, progress) -> {
+                report.addRecords(batch.size());
+                long start = System.nanoTime();
+                try {
+                    return handler.onBatch(batch, progress);
+                } finally {
+                    handlerNanos[0] += System.nanoTime() - start;
+                }
+            };
+
+            long start = System.nanoTime();
+            boolean completed = parseInBatches(content, batchSize, timedHandler, errors);
+            report.addPhaseNanos(TransferReport.Phase.PARSE, System.nanoTime() - start - handlerNanos[0]);
+            report.addPhaseNanos(TransferReport.Phase.INDEX, handlerNanos[0]);
+            return completed;
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading file: " + filePath, e);
+        } finally {
+            endReport(report, errors);
+        }
+    }
+
+    /**
+     * Parses the content of the file and hands the results to the handler in batches.
+     * The default implementation parses the whole content first and then splits the result;
+     * subclasses that can parse record by record should override this to stream batches.
+     *
+     * @param content   the string content of the file to parse
+     * @param batchSize the maximum number of influencers per batch
+     * @param handler   the handler receiving each batch
+     * @param errors    the rejected rows of the running import
+     * @return true if all batches were handed over, false if the handler stopped the import
+     */
+    protected boolean parseInBatches(String content, int batchSize, IImportBatchHandler handler,
+                                     ImportErrors errors) {
+        List<Influencer> parsed = parseData(content, errors);
+        int total = parsed.size();
+
+        for (int from = 0; from < total; from += batchSize) {
+            int to = Math.min(from + batchSize, total);
+            if (!handler.onBatch(new ArrayList<>(parsed.subList(from, to)), (double) to / total)) {
+                return false;
+            }
         }
+
+        return true;
+    }
+
+    /**
+     * Records a row that could not be parsed in the running import. Subclasses call this for every
+     * rejected row instead of logging it; the rejections are logged once, when the import finishes.
+     *
+     * @param errors the rejected rows of the running import
+     * @param line   the 1-based line number the row starts on
+     * @param reason why the row was rejected
+     * @param row    the text of the row
+     */
+    protected void rejectRow(ImportErrors errors, long line, ImportErrors.Reason reason, String row) {
+        errors.reject(line, reason, row);
+    }
+
+    /**
+     * Starts the report of a new import.
+     *
+     * @param filePath the path being imported
+     * @return the new report
+     */
+    private TransferReport beginReport(String filePath) {
+        return new TransferReport("import", getClass().getSimpleName(), filePath);
+    }
+
+    /**
+     * Publishes the report and rejected rows of a finished import, logging the rejections once.
+     *
+     * @param report the finished report
+     * @param errors the rows rejected by the import
+     */
+    private void endReport(TransferReport report, ImportErrors errors) {
+        report.addErrors(errors.getTotal());
+        lastReport = report;
+        lastErrors = errors;
+
+        if (logErrors && !errors.isEmpty()) {
+            System.err.println("Import of " + report.getPath() + ": " + errors.summary());
+        }
+    }
+
+    /**
+     * Reads a whole file, recording its size and the read time.
+     *
+     * @param path   the file to read
+     * @param report the report to update
+     * @return the file content
+     * @throws IOException if the file cannot be read
+     */
+    private String readContent(Path path, TransferReport report) throws IOException {
+        long start = System.nanoTime();
+        String content = Files.readString(path);
+        report.addPhaseNanos(TransferReport.Phase.READ, System.nanoTime() - start);
+        report.addBytes(Files.size(path));
+        return content;
+    }
+
+    /**
+     * Parses file content, recording the parse time and the number of records.
+     *
+     * @param content the file content
+     * @param report  the report to update
+     * @param errors  the rejected rows of the running import
+     * @return the parsed influencers
+     */
+    private List<Influencer> parseContent(String content, TransferReport report, ImportErrors errors) {
+        long start = System.nanoTime();
+        List<Influencer> influencers = parseData(content, errors);
+        report.addPhaseNanos(TransferReport.Phase.PARSE, System.nanoTime() - start);
+        report.addRecords(influencers.size());
+        return influencers;
+    }
+
+    /**
+     * Parses the content of a file outside an import. Rejected rows are dropped.
+     *
+     * @param content the string content of the file to parse
+     * @return a list of Influencer objects
+     * @throws RuntimeException if there is an error parsing the content
+     */
+    protected List<Influencer> parseData(String content) {
+        return parseData(content, new ImportErrors());
     }
 
     /**
@@ -75,8 +280,10 @@ public abstract class AbstractImporter implements IImporter {
      * specific file formats and data structures.
      *
      * @param content the string content of the file to parse
+     * @param errors  the rejected rows of the running import, to be filled through
+     *                {@link #rejectRow(ImportErrors, long, ImportErrors.Reason, String)}
      * @return a list of Influencer objects
      * @throws RuntimeException if there is an error parsing the content
      */
-    protected abstract List<Influencer> parseData(String content);
+    protected abstract List<Influencer> parseData(String content, ImportErrors errors);
 }
\ No newline at end of file
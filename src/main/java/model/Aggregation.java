@@ -0,0 +1,164 @@
+package model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Result of grouping influencers by platform, category or country, with follower and ad rate
+ * statistics for every group and for the catalog as a whole.
+ *
+ * <p>Aggregations are computed in one pass by an {@link Accumulator}, which adds rows into
+ * per-group {@link GroupStats}. Large inputs are split across the common fork-join pool, each
+ * thread filling its own accumulator, and the partial results are merged at the end.</p>
+ */
+public final class Aggregation {
+
+    /** Minimum number of rows before an aggregation is split across threads. */
+    static final int PARALLEL_THRESHOLD = 50_000;
+
+    private final GroupBy groupBy;
+    private final Map<String, GroupStats> groups;
+    private final GroupStats total;
+
+    /**
+     * Constructs an Aggregation from finished group statistics.
+     *
+     * @param groupBy the attribute the rows were grouped by
+     * @param groups  the statistics of every group, sorted by key
+     * @param total   the statistics of all rows together
+     */
+    private Aggregation(GroupBy groupBy, Map<String, GroupStats> groups, GroupStats total) {
+        this.groupBy = groupBy;
+        this.groups = Collections.unmodifiableMap(groups);
+        this.total = total;
+    }
+
+    /**
+     * Aggregates a collection of influencers.
+     *
+     * @param influencers the influencers to aggregate
+     * @param groupBy     the attribute to group by
+     * @return the aggregation
+     * @throws IllegalArgumentException if either argument is null
+     */
+    public static Aggregation of(Collection<? extends Influencer> influencers, GroupBy groupBy) {
+        if (influencers == null || groupBy == null) {
+            throw new IllegalArgumentException("Influencers and group-by attribute cannot be null");
+        }
+
+        Stream<? extends Influencer> rows = influencers.size() < PARALLEL_THRESHOLD
+                ? influencers.stream()
+                : influencers.parallelStream();
+        Accumulator accumulator = rows.collect(Accumulator::new,
+                (acc, influencer) -> acc.add(influencer, groupBy), Accumulator::merge);
+        return accumulator.finish(groupBy);
+    }
+
+    /**
+     * Gets the attribute the rows were grouped by.
+     *
+     * @return the group-by attribute
+     */
+    public GroupBy getGroupBy() {
+        return groupBy;
+    }
+
+    /**
+     * Gets the statistics of every group, sorted by key with influencers lacking a value last.
+     *
+     * @return an unmodifiable map from group key to statistics
+     */
+    public Map<String, GroupStats> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Gets the statistics of one group.
+     *
+     * @param key the group key
+     * @return the statistics, or null if no influencer has that key
+     */
+    public GroupStats getGroup(String key) {
+        return groups.get(key);
+    }
+
+    /**
+     * Gets the statistics of all aggregated rows together.
+     *
+     * @return the overall statistics
+     */
+    public GroupStats getTotal() {
+        return total;
+    }
+
+    /**
+     * Single-pass accumulator of per-group statistics. Each thread of a parallel aggregation fills
+     * its own accumulator; accumulators are then merged pairwise.
+     */
+    static final class Accumulator {
+        private final Map<String, GroupStats> groups = new HashMap<>();
+
+        /**
+         * Adds one influencer.
+         *
+         * @param influencer the influencer
+         * @param groupBy    the attribute to group by
+         */
+        void add(Influencer influencer, GroupBy groupBy) {
+            add(groupBy.keyOf(influencer), influencer.getFollowers(), influencer.getAdRate());
+        }
+
+        /**
+         * Adds one row given by its column values.
+         *
+         * @param key       the group key
+         * @param followers the follower count
+         * @param adRate    the ad rate
+         */
+        void add(String key, int followers, double adRate) {
+            GroupStats stats = groups.get(key);
+            if (stats == null) {
+                stats = new GroupStats(key);
+                groups.put(key, stats);
+            }
+            stats.add(followers, adRate);
+        }
+
+        /**
+         * Merges another accumulator into this one.
+         *
+         * @param other the accumulator to merge
+         */
+        void merge(Accumulator other) {
+            for (Map.Entry<String, GroupStats> entry : other.groups.entrySet()) {
+                GroupStats stats = groups.get(entry.getKey());
+                if (stats == null) {
+                    groups.put(entry.getKey(), entry.getValue());
+                } else {
+                    stats.merge(entry.getValue());
+                }
+            }
+        }
+
+        /**
+         * Sorts the accumulated groups and computes the overall statistics.
+         *
+         * @param groupBy the attribute the rows were grouped by
+         * @return the aggregation
+         */
+        Aggregation finish(GroupBy groupBy) {
+            Map<String, GroupStats> sorted = new TreeMap<>(Comparator.nullsLast(Comparator.<String>naturalOrder()));
+            GroupStats total = new GroupStats(null);
+            for (GroupStats stats : groups.values()) {
+                total.merge(stats);
+                sorted.put(stats.getKey(), stats);
+            }
+            return new Aggregation(groupBy, sorted, total);
+        }
+    }
+}
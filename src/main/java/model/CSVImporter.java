@@ -19,15 +19,37 @@ public class CSVImporter extends AbstractImporter {
      * Handles header row detection and empty lines.
      *
      * @param content the CSV content to parse
+     * @param errors  the rejected rows of the running import
      * @return a list of parsed Influencer objects
      * @throws IllegalArgumentException if content is null
      */
     @Override
-    protected List<Influencer> parseData(String content) {
+    protected List<Influencer> parseData(String content, ImportErrors errors) {
         List<Influencer> influencers = new ArrayList<>();
 
+        parseInBatches(content, Integer.MAX_VALUE, (batch, progress) -> {
+            influencers.addAll(batch);
+            return true;
+        }, errors);
+
+        return influencers;
+    }
+
+    /**
+     * Parses the content of a CSV file line by line, handing influencers to the handler
+     * every time a batch fills up. Progress is reported as the fraction of lines consumed.
+     *
+     * @param content   the CSV content to parse
+     * @param batchSize the maximum number of influencers per batch
+     * @param handler   the handler receiving each batch
+     * @param errors    the rejected rows of the running import
+     * @return true if all batches were handed over, false if the handler stopped the import
+     */
+    @Override
+    protected boolean parseInBatches(String content, int batchSize, IImportBatchHandler handler,
+                                     ImportErrors errors) {
         if (content == null || content.isEmpty()) {
-            return influencers;
+            return true;
         }
 
         String[] lines = content.split("\\n");
@@ -39,6 +61,7 @@ public class CSVImporter extends AbstractImporter {
             startLine = 1;
         }
 
+        List<Influencer> batch = new ArrayList<>();
         for (int i = startLine; i < lines.length; i++) {
             String line = lines[i].trim();
             if (line.isEmpty()) {
@@ -46,29 +69,37 @@ public class CSVImporter extends AbstractImporter {
             }
 
             try {
-                Influencer influencer = parseCSVLine(line);
+                Influencer influencer = parseCSVLine(line, i + 1, errors);
                 if (influencer != null) {
-                    influencers.add(influencer);
+                    batch.add(influencer);
+                }
+            } catch (RuntimeException e) {
+                rejectRow(errors, i + 1, ImportErrors.Reason.MALFORMED, line);
+            }
+
+            if (batch.size() >= batchSize) {
+                if (!handler.onBatch(batch, (double) (i + 1) / lines.length)) {
+                    return false;
                 }
-            } catch (Exception e) {
-                System.err.println("Error parsing line " + (i + 1) + ": " + line);
-                e.printStackTrace();
+                batch = new ArrayList<>();
             }
         }
 
-        return influencers;
+        return batch.isEmpty() || handler.onBatch(batch, 1.0);
     }
 
     /**
      * Parses a single CSV line into an Influencer object.
      * Handles quoted fields and escaped quotes according to CSV standards.
+     * Lines that cannot be parsed are recorded as rejected rows.
      *
-     * @param line the CSV line to parse
+     * @param line       the CSV line to parse
+     * @param lineNumber the 1-based line number, used when rejecting the line
+     * @param errors     the rejected rows of the running import
      * @return the parsed Influencer object, or null if parsing fails
-     * @throws NumberFormatException if numeric fields cannot be parsed
      * @throws IllegalArgumentException if the line format is invalid
      */
-    private Influencer parseCSVLine(String line) {
+    private Influencer parseCSVLine(String line, long lineNumber, ImportErrors errors) {
         List<String> fields = new ArrayList<>();
         StringBuilder field = new StringBuilder();
         boolean inQuotes = false;
@@ -100,7 +131,7 @@ public class CSVImporter extends AbstractImporter {
 
         // Validate field count
         if (fields.size() < 6) {
-            System.err.println("Invalid CSV line (not enough fields): " + line);
+            rejectRow(errors, lineNumber, ImportErrors.Reason.TOO_FEW_FIELDS, line);
             return null;
         }
 
@@ -111,11 +142,13 @@ public class CSVImporter extends AbstractImporter {
             int followerCount = Integer.parseInt(fields.get(3).trim());
             String country = fields.get(4).trim();
             double adRate = Double.parseDouble(fields.get(5).trim());
+            if (!Double.isFinite(adRate)) {
+                throw new NumberFormatException("Ad rate must be finite: " + fields.get(5).trim());
+            }
 
             return new Influencer(name, platform, category, followerCount, adRate, country);
         } catch (NumberFormatException e) {
-            System.err.println("Error parsing numbers in CSV line: " + line);
-            e.printStackTrace();
+            rejectRow(errors, lineNumber, ImportErrors.Reason.INVALID_NUMBER, line);
             return null;
         }
     }
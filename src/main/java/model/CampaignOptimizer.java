@@ -0,0 +1,312 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Chooses the influencers that reach the most followers within a budget, where each influencer
+ * costs its ad rate: a 0/1 knapsack problem.
+ *
+ * <p>Ad rates are rounded up to whole cents. When the number of candidates times the budget in cents
+ * fits within a fixed table size, and the budget is at most about $40,000, the problem is solved
+ * exactly by dynamic programming over costs. Larger problems are solved by the same program with
+ * costs rounded up to a coarser unit, which keeps every plan within budget at the price of some
+ * reach. Each row of the table is split across
+ * the common fork-join pool once it is wide enough. A greedy plan, taking the best followers per
+ * dollar first, is always computed as well: it is returned when it reaches more followers, when the
+ * table would be too coarse to help, or when the dynamic program runs past the time limit.
+ * Influencers with no ad rate are always chosen, and those costing more than the budget never
+ * are.</p>
+ */
+public class CampaignOptimizer {
+    /** Time limit used when none is given. */
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 2000;
+
+    /** Largest dynamic programming table, in cells, used when none is given. */
+    static final long DEFAULT_CELL_LIMIT = 50_000_000L;
+
+    private static final int MAX_CAPACITY = 1 << 22;
+    private static final int MIN_SCALED_CAPACITY = 1000;
+    private static final int BLOCK_WORDS = 1024;
+    private static final int PARALLEL_CAPACITY = BLOCK_WORDS * Long.SIZE;
+    private static final int PARALLEL_CANDIDATES = 50_000;
+
+    private final long timeLimitNanos;
+    private final long cellLimit;
+
+    /**
+     * Constructs a CampaignOptimizer with the {@link #DEFAULT_TIME_LIMIT_MILLIS default time limit}.
+     */
+    public CampaignOptimizer() {
+        this(DEFAULT_TIME_LIMIT_MILLIS);
+    }
+
+    /**
+     * Constructs a CampaignOptimizer.
+     *
+     * @param timeLimitMillis how long the dynamic program may run before the greedy plan is used
+     * @throws IllegalArgumentException if the time limit is not positive
+     */
+    public CampaignOptimizer(long timeLimitMillis) {
+        this(timeLimitMillis, DEFAULT_CELL_LIMIT);
+    }
+
+    /**
+     * Constructs a CampaignOptimizer with a custom table size.
+     *
+     * @param timeLimitMillis how long the dynamic program may run before the greedy plan is used
+     * @param cellLimit       the largest dynamic programming table, in cells
+     * @throws IllegalArgumentException if the time limit or table size is not positive
+     */
+    CampaignOptimizer(long timeLimitMillis, long cellLimit) {
+        if (timeLimitMillis <= 0 || cellLimit <= 0) {
+            throw new IllegalArgumentException("Time limit and table size must be positive");
+        }
+        this.timeLimitNanos = timeLimitMillis * 1_000_000L;
+        this.cellLimit = cellLimit;
+    }
+
+    /**
+     * Plans a campaign from the influencers of a repository that match a filter.
+     *
+     * @param repository the repository to choose from
+     * @param filter     which influencers are candidates
+     * @param budget     the total budget in dollars
+     * @return the plan
+     * @throws IllegalArgumentException if the repository or filter is null or the budget is negative
+     */
+    public CampaignPlan optimize(IRepository<Influencer> repository, Predicate<? super Influencer> filter,
+                                 double budget) {
+        if (repository == null || filter == null) {
+            throw new IllegalArgumentException("Repository and filter cannot be null");
+        }
+        return optimize(repository.findAll().stream().filter(filter).collect(Collectors.toList()), budget);
+    }
+
+    /**
+     * Plans a campaign from a list of candidates.
+     *
+     * @param candidates the influencers to choose from
+     * @param budget     the total budget in dollars
+     * @return the plan
+     * @throws IllegalArgumentException if the candidates or any of them are null, or the budget is
+     *                                  negative or not finite
+     */
+    public CampaignPlan optimize(Collection<? extends Influencer> candidates, double budget) {
+        if (candidates == null) {
+            throw new IllegalArgumentException("Candidates cannot be null");
+        }
+        if (!(budget >= 0.0) || Double.isInfinite(budget)) {
+            throw new IllegalArgumentException("Budget must be a non-negative number");
+        }
+
+        long start = System.nanoTime();
+        List<Influencer> rows = new ArrayList<>(candidates);
+        long budgetCents = (long) Math.floor(budget * 100.0 + 1e-6);
+        boolean[] chosen = new boolean[rows.size()];
+
+        // Free influencers are always worth taking; unaffordable ones never fit
+        List<Integer> paid = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Influencer influencer = rows.get(i);
+            if (influencer == null) {
+                throw new IllegalArgumentException("Candidates cannot contain null");
+            }
+            long cost = costInCents(influencer);
+            if (cost <= 0) {
+                chosen[i] = true;
+            } else if (cost <= budgetCents) {
+                paid.add(i);
+            }
+        }
+
+        int n = paid.size();
+        long[] costs = new long[n];
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            Influencer influencer = rows.get(paid.get(i));
+            costs[i] = costInCents(influencer);
+            values[i] = Math.max(0, influencer.getFollowers());
+        }
+
+        int[] selection = greedy(costs, values, budgetCents);
+        CampaignPlan.Method method = n == 0 ? CampaignPlan.Method.EXACT : CampaignPlan.Method.GREEDY;
+        long rowWords = n == 0 ? 0 : cellLimit / ((long) n * Long.SIZE);
+        if (rowWords > 0) {
+            long capacity = Math.min(budgetCents, Math.min(MAX_CAPACITY, rowWords * Long.SIZE - 1));
+            if (capacity == budgetCents || capacity >= MIN_SCALED_CAPACITY) {
+                double unit = (double) budgetCents / capacity;
+                int[] weights = new int[n];
+                for (int i = 0; i < n; i++) {
+                    weights[i] = (int) Math.ceil(costs[i] / unit - 1e-9);
+                }
+                int[] planned = knapsack(weights, values, (int) capacity, start + timeLimitNanos);
+                boolean exact = capacity == budgetCents;
+                if (planned != null && (exact || reach(planned, values) > reach(selection, values))) {
+                    selection = planned;
+                    method = exact ? CampaignPlan.Method.EXACT : CampaignPlan.Method.APPROXIMATE;
+                }
+            }
+        }
+
+        for (int item : selection) {
+            chosen[paid.get(item)] = true;
+        }
+        List<Influencer> influencers = new ArrayList<>();
+        double totalCost = 0.0;
+        long totalFollowers = 0;
+        for (int i = 0; i < chosen.length; i++) {
+            if (chosen[i]) {
+                Influencer influencer = rows.get(i);
+                influencers.add(influencer);
+                totalCost += Math.max(0.0, influencer.getAdRate());
+                totalFollowers += Math.max(0, influencer.getFollowers());
+            }
+        }
+        return new CampaignPlan(influencers, budget, totalCost, totalFollowers, method, System.nanoTime() - start);
+    }
+
+    /**
+     * Solves the 0/1 knapsack problem by dynamic programming over capacities, keeping one bit per
+     * item and capacity to recover the chosen items.
+     *
+     * @param weights  the cost of each item in capacity units
+     * @param values   the value of each item
+     * @param capacity the capacity in units
+     * @param deadline the {@link System#nanoTime()} after which to give up
+     * @return the chosen items, or null if the deadline passed
+     */
+    private static int[] knapsack(int[] weights, int[] values, int capacity, long deadline) {
+        int n = weights.length;
+        int rowWords = (capacity >> 6) + 1;
+        long[] keep = new long[n * rowWords];
+        long[] previous = new long[capacity + 1];
+        long[] next = new long[capacity + 1];
+
+        for (int i = 0; i < n; i++) {
+            if (System.nanoTime() > deadline) {
+                return null;
+            }
+            int weight = weights[i];
+            long value = values[i];
+            int rowStart = i * rowWords;
+            long[] from = previous;
+            long[] to = next;
+            if (capacity >= PARALLEL_CAPACITY) {
+                // Blocks start on word boundaries, so no two threads write the same word of keep
+                int blocks = (rowWords + BLOCK_WORDS - 1) / BLOCK_WORDS;
+                IntStream.range(0, blocks).parallel().forEach(block -> relax(from, to, keep, rowStart, weight, value,
+                        block * PARALLEL_CAPACITY, Math.min(capacity + 1, (block + 1) * PARALLEL_CAPACITY)));
+            } else {
+                relax(from, to, keep, rowStart, weight, value, 0, capacity + 1);
+            }
+            previous = to;
+            next = from;
+        }
+
+        List<Integer> chosen = new ArrayList<>();
+        int remaining = capacity;
+        for (int i = n - 1; i >= 0; i--) {
+            if ((keep[i * rowWords + (remaining >> 6)] & (1L << remaining)) != 0) {
+                chosen.add(i);
+                remaining -= weights[i];
+            }
+        }
+        return chosen.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Computes one table row for a range of capacities: the best value at each capacity either
+     * without the item or with it on top of the best value at the remaining capacity.
+     *
+     * @param previous the row before the item
+     * @param next     the row being computed
+     * @param keep     the bits recording where taking the item is better
+     * @param rowStart the first word of the item's bits
+     * @param weight   the cost of the item
+     * @param value    the value of the item
+     * @param from     the first capacity, inclusive
+     * @param to       the last capacity, exclusive
+     */
+    private static void relax(long[] previous, long[] next, long[] keep, int rowStart, int weight, long value,
+                              int from, int to) {
+        for (int c = from; c < to; c++) {
+            long skip = previous[c];
+            if (c >= weight && previous[c - weight] + value > skip) {
+                next[c] = previous[c - weight] + value;
+                keep[rowStart + (c >> 6)] |= 1L << c;
+            } else {
+                next[c] = skip;
+            }
+        }
+    }
+
+    /**
+     * Takes items by followers per dollar, skipping those that no longer fit, and keeps the single
+     * most valuable item instead if it alone reaches more. The result reaches at least half of the
+     * optimum.
+     *
+     * @param costs  the cost of each item in cents
+     * @param values the value of each item
+     * @param budget the budget in cents
+     * @return the chosen items
+     */
+    private static int[] greedy(long[] costs, int[] values, long budget) {
+        Comparator<Integer> byRatio = Comparator.comparingDouble(i -> -(double) values[i] / costs[i]);
+        IntStream indexes = IntStream.range(0, costs.length);
+        if (costs.length >= PARALLEL_CANDIDATES) {
+            indexes = indexes.parallel();
+        }
+        int[] order = indexes.boxed().sorted(byRatio).mapToInt(Integer::intValue).toArray();
+
+        List<Integer> chosen = new ArrayList<>();
+        long remaining = budget;
+        long total = 0;
+        int largest = -1;
+        for (int i : order) {
+            if (costs[i] <= remaining) {
+                chosen.add(i);
+                remaining -= costs[i];
+                total += values[i];
+            }
+            if (largest < 0 || values[i] > values[largest]) {
+                largest = i;
+            }
+        }
+        if (largest >= 0 && values[largest] > total) {
+            return new int[] {largest};
+        }
+        return chosen.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Sums the values of chosen items.
+     *
+     * @param items  the chosen items
+     * @param values the value of each item
+     * @return the total value
+     */
+    private static long reach(int[] items, int[] values) {
+        long total = 0;
+        for (int item : items) {
+            total += values[item];
+        }
+        return total;
+    }
+
+    /**
+     * Gets the cost of an influencer in whole cents, rounding up.
+     *
+     * @param influencer the influencer
+     * @return the cost, or 0 if the influencer has no ad rate
+     */
+    private static long costInCents(Influencer influencer) {
+        double adRate = influencer.getAdRate();
+        return adRate > 0.0 ? (long) Math.ceil(adRate * 100.0 - 1e-6) : 0L;
+    }
+}
@@ -0,0 +1,127 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Set of influencers chosen by the {@link CampaignOptimizer} to maximize reach within a budget.
+ */
+public final class CampaignPlan {
+
+    /**
+     * How a plan was found.
+     */
+    public enum Method {
+        /** Dynamic programming over costs in cents; the plan is optimal. */
+        EXACT,
+        /** Dynamic programming over costs rounded up to a coarser unit; the plan is near-optimal. */
+        APPROXIMATE,
+        /** Highest followers per dollar first; used when the other methods are too large or too slow. */
+        GREEDY
+    }
+
+    private final List<Influencer> influencers;
+    private final double budget;
+    private final double totalCost;
+    private final long totalFollowers;
+    private final Method method;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a CampaignPlan.
+     *
+     * @param influencers    the chosen influencers
+     * @param budget         the budget the plan was made for
+     * @param totalCost      the sum of the chosen ad rates
+     * @param totalFollowers the sum of the chosen follower counts
+     * @param method         how the plan was found
+     * @param elapsedNanos   how long planning took, in nanoseconds
+     */
+    CampaignPlan(List<Influencer> influencers, double budget, double totalCost, long totalFollowers,
+                 Method method, long elapsedNanos) {
+        this.influencers = Collections.unmodifiableList(influencers);
+        this.budget = budget;
+        this.totalCost = totalCost;
+        this.totalFollowers = totalFollowers;
+        this.method = method;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the chosen influencers, in candidate order.
+     *
+     * @return an unmodifiable list of influencers
+     */
+    public List<Influencer> getInfluencers() {
+        return influencers;
+    }
+
+    /**
+     * Gets the budget the plan was made for.
+     *
+     * @return the budget
+     */
+    public double getBudget() {
+        return budget;
+    }
+
+    /**
+     * Gets the total ad rate of the chosen influencers.
+     *
+     * @return the total cost, never more than the budget
+     */
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Gets the budget left after paying every chosen influencer.
+     *
+     * @return the remaining budget
+     */
+    public double getRemainingBudget() {
+        return budget - totalCost;
+    }
+
+    /**
+     * Gets the total reach of the plan.
+     *
+     * @return the sum of the chosen follower counts
+     */
+    public long getTotalFollowers() {
+        return totalFollowers;
+    }
+
+    /**
+     * Gets how the plan was found.
+     *
+     * @return the method
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Checks whether the plan is known to reach the most followers possible within the budget.
+     *
+     * @return true for exact plans
+     */
+    public boolean isOptimal() {
+        return method == Method.EXACT;
+    }
+
+    /**
+     * Gets how long planning took.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CampaignPlan{influencers=%d, followers=%d, cost=%.2f of %.2f, method=%s}",
+                influencers.size(), totalFollowers, totalCost, budget, method);
+    }
+}
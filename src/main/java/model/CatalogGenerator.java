@@ -0,0 +1,395 @@
+package model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of large synthetic influencer catalogs for load and scale testing.
+ *
+ * <p>The same seed always produces the same sequence of influencers. Follower counts follow a
+ * power law, so most influencers are small and a few are huge; platforms, categories and countries
+ * are drawn with Zipf-skewed frequencies; names combine a skewed pool of first names with
+ * surnames of a long-tailed number of syllables, plus a short base-36 tag that keeps every name
+ * unique. Ad rates grow with followers with some noise.</p>
+ *
+ * <p>Catalogs are streamed straight to an output stream in the CSV and JSON layouts the importers
+ * read, so arbitrarily large fixtures can be built without holding them in memory. Run
+ * {@code java model.CatalogGenerator <output.csv|output.json> <rows> [seed]} or the
+ * {@code generateCatalog} Gradle task.</p>
+ */
+public class CatalogGenerator {
+    private static final String CSV_HEADER = "Name,Platform,Category,FollowerCount,Country,AdRate";
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MIN_FOLLOWERS = 1_000;
+    private static final int MAX_FOLLOWERS = 500_000_000;
+    private static final double FOLLOWER_EXPONENT = 1.1;
+
+    private static final String[] PLATFORMS = {"Instagram", "YouTube", "TikTok", "Twitter", "Twitch", "Facebook"};
+    private static final String[] CATEGORIES = {
+        "Lifestyle", "Fashion", "Beauty", "Fitness", "Gaming", "Food", "Travel", "Tech",
+        "Music", "Comedy", "Education", "Finance", "Parenting", "Sports", "Art"
+    };
+    private static final String[] COUNTRIES = {
+        "USA", "India", "Brazil", "UK", "Indonesia", "Mexico", "Canada", "Germany",
+        "France", "Japan", "Australia", "Spain", "Italy", "South Korea", "Nigeria"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Emma", "Liam", "Olivia", "Noah", "Ava", "Lucas", "Mia", "Ethan", "Sofia", "Mateo",
+        "Isabella", "Arjun", "Chloe", "Kenji", "Amara", "Diego", "Priya", "Leon", "Yuna", "Omar",
+        "Zara", "Felix", "Nia", "Hugo", "Aisha", "Rafael", "Ines", "Tariq", "Freya", "Santiago"
+    };
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "ri", "mar", "ven", "to", "sa", "bel", "dor", "ni", "quin", "ra", "zel", "mo",
+        "tha", "lin", "gar", "ve", "shi", "ro", "an", "dre", "kos", "mi", "nu", "pe", "ler", "vo"
+    };
+
+    private static final double[] PLATFORM_WEIGHTS = zipfCumulative(PLATFORMS.length, 1.2);
+    private static final double[] CATEGORY_WEIGHTS = zipfCumulative(CATEGORIES.length, 1.0);
+    private static final double[] COUNTRY_WEIGHTS = zipfCumulative(COUNTRIES.length, 1.1);
+    private static final double[] FIRST_NAME_WEIGHTS = zipfCumulative(FIRST_NAMES.length, 0.9);
+
+    private final SplittableRandom random;
+    private final StringBuilder name;
+    private final StringBuilder row;
+    private final byte[] buffer;
+    private int platform;
+    private int category;
+    private int country;
+    private int followers;
+    private long adRateCents;
+    private long rowNumber;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param seed the seed that determines the generated catalog
+     */
+    public CatalogGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+        this.name = new StringBuilder(32);
+        this.row = new StringBuilder(256);
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Generates the next influencer.
+     *
+     * @return the generated influencer
+     */
+    public Influencer next() {
+        draw();
+        return new Influencer(name.toString(), PLATFORMS[platform], CATEGORIES[category],
+                followers, adRateCents / 100.0, COUNTRIES[country]);
+    }
+
+    /**
+     * Generates a list of influencers.
+     *
+     * @param rows the number of influencers
+     * @return the generated influencers
+     * @throws IllegalArgumentException if rows is negative
+     */
+    public List<Influencer> generate(int rows) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("Rows cannot be negative");
+        }
+        List<Influencer> influencers = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            influencers.add(next());
+        }
+        return influencers;
+    }
+
+    /**
+     * Streams a catalog in CSV format. All generated text is ASCII, so it is written as single bytes.
+     *
+     * @param out  the stream to write to; it is flushed but not closed
+     * @param rows the number of influencers
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if the stream is null or rows is negative
+     */
+    public void writeCsv(OutputStream out, long rows) throws IOException {
+        validate(out, rows);
+        row.setLength(0);
+        row.append(CSV_HEADER).append('\n');
+        for (long i = 0; i < rows; i++) {
+            draw();
+            row.append(name).append(',')
+                    .append(PLATFORMS[platform]).append(',')
+                    .append(CATEGORIES[category]).append(',')
+                    .append(followers).append(',')
+                    .append(COUNTRIES[country]).append(',');
+            appendAmount(row, adRateCents);
+            row.append('\n');
+            drainIfFull(out);
+        }
+        drain(out);
+        out.flush();
+    }
+
+    /**
+     * Streams a catalog in JSON format. All generated text is ASCII, so it is written as single bytes.
+     *
+     * @param out  the stream to write to; it is flushed but not closed
+     * @param rows the number of influencers
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if the stream is null or rows is negative
+     */
+    public void writeJson(OutputStream out, long rows) throws IOException {
+        validate(out, rows);
+        row.setLength(0);
+        row.append(rows == 0 ? "[" : "[\n");
+        for (long i = 0; i < rows; i++) {
+            draw();
+            row.append("  {\n")
+                    .append("    \"name\": \"").append(name).append("\",\n")
+                    .append("    \"platform\": \"").append(PLATFORMS[platform]).append("\",\n")
+                    .append("    \"category\": \"").append(CATEGORIES[category]).append("\",\n")
+                    .append("    \"followerCount\": ").append(followers).append(",\n")
+                    .append("    \"adRate\": ");
+            appendAmount(row, adRateCents);
+            row.append(",\n")
+                    .append("    \"country\": \"").append(COUNTRIES[country]).append("\"\n")
+                    .append("  }");
+            if (i < rows - 1) {
+                row.append(',');
+            }
+            row.append('\n');
+            drainIfFull(out);
+        }
+        row.append(']');
+        drain(out);
+        out.flush();
+    }
+
+    /**
+     * Writes a catalog to a file, as JSON if the file name ends in .json and as CSV otherwise.
+     *
+     * @param path the output file
+     * @param rows the number of influencers
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the path is null or rows is negative
+     */
+    public void write(Path path, long rows) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = Files.newOutputStream(path)) {
+            if (path.getFileName().toString().toLowerCase().endsWith(".json")) {
+                writeJson(out, rows);
+            } else {
+                writeCsv(out, rows);
+            }
+        }
+    }
+
+    /**
+     * Writes a catalog file from the command line.
+     *
+     * @param args the output path, the number of rows and an optional seed
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: CatalogGenerator <output.csv|output.json> <rows> [seed]");
+            return;
+        }
+
+        Path path = Paths.get(args[0]);
+        long rows = Long.parseLong(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        long start = System.nanoTime();
+        try {
+            new CatalogGenerator(seed).write(path, rows);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            double megabytes = Files.size(path) / (1024.0 * 1024.0);
+            System.out.printf("[INFO] Wrote %d rows (%.1f MB) to %s in %.2f s (%.1f MB/s)%n",
+                    rows, megabytes, path, seconds, megabytes / seconds);
+        } catch (IOException e) {
+            System.err.println("Error writing catalog: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Draws the fields of the next influencer into the generator's scratch fields.
+     */
+    private void draw() {
+        drawName();
+        platform = pick(PLATFORM_WEIGHTS);
+        category = pick(CATEGORY_WEIGHTS);
+        country = pick(COUNTRY_WEIGHTS);
+        followers = nextFollowers();
+        adRateCents = nextAdRateCents(followers);
+        rowNumber++;
+    }
+
+    /**
+     * Draws a unique name with a skewed first name and a surname of long-tailed length.
+     */
+    private void drawName() {
+        name.setLength(0);
+        name.append(FIRST_NAMES[pick(FIRST_NAME_WEIGHTS)]).append(' ');
+
+        // Each extra syllable is half as likely as the previous one
+        int syllables = 2;
+        while (syllables < 8 && random.nextBoolean()) {
+            syllables++;
+        }
+        int start = name.length();
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(start, Character.toUpperCase(name.charAt(start)));
+        name.append(' ');
+        appendBase36(name, rowNumber);
+    }
+
+    /**
+     * Draws a follower count from a power law with a minimum of {@value #MIN_FOLLOWERS}.
+     *
+     * @return the follower count
+     */
+    private int nextFollowers() {
+        double uniform = 1.0 - random.nextDouble();
+        double followers = MIN_FOLLOWERS / Math.pow(uniform, 1.0 / FOLLOWER_EXPONENT);
+        return (int) Math.min(followers, MAX_FOLLOWERS);
+    }
+
+    /**
+     * Draws an ad rate that grows with the square root of the follower count.
+     *
+     * @param followers the follower count
+     * @return the ad rate in cents
+     */
+    private long nextAdRateCents(int followers) {
+        double noise = 0.5 + random.nextDouble();
+        return Math.max(1000, Math.round(Math.sqrt(followers) * 250 * noise));
+    }
+
+    /**
+     * Picks an index from a cumulative weight table.
+     *
+     * @param cumulative the cumulative weights, ending in 1.0
+     * @return the chosen index
+     */
+    private int pick(double[] cumulative) {
+        double target = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (target < cumulative[mid]) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Builds a cumulative table of Zipf weights, where rank r has weight 1 / r^exponent.
+     *
+     * @param size     the number of ranks
+     * @param exponent the skew; larger values concentrate more weight on the first ranks
+     * @return the cumulative weights, ending in 1.0
+     */
+    private static double[] zipfCumulative(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    /**
+     * Appends a non-negative number in base 36 without creating a string.
+     *
+     * @param builder the builder to append to
+     * @param value   the number to append
+     */
+    private static void appendBase36(StringBuilder builder, long value) {
+        int start = builder.length();
+        do {
+            builder.append(Character.forDigit((int) (value % 36), 36));
+            value /= 36;
+        } while (value > 0);
+        // Digits were appended least significant first
+        for (int i = start, j = builder.length() - 1; i < j; i++, j--) {
+            char digit = builder.charAt(i);
+            builder.setCharAt(i, builder.charAt(j));
+            builder.setCharAt(j, digit);
+        }
+    }
+
+    /**
+     * Appends an amount in cents as a decimal with two fraction digits.
+     *
+     * @param builder the builder to append to
+     * @param cents   the amount in cents
+     */
+    private static void appendAmount(StringBuilder builder, long cents) {
+        builder.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        builder.append(fraction);
+    }
+
+    /**
+     * Writes the pending text once it is large enough to fill the byte buffer.
+     *
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    private void drainIfFull(OutputStream out) throws IOException {
+        if (row.length() >= BUFFER_SIZE - 1024) {
+            drain(out);
+        }
+    }
+
+    /**
+     * Writes the pending ASCII text as bytes and clears it.
+     *
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    private void drain(OutputStream out) throws IOException {
+        int length = row.length();
+        for (int i = 0; i < length; i++) {
+            buffer[i] = (byte) row.charAt(i);
+        }
+        out.write(buffer, 0, length);
+        row.setLength(0);
+    }
+
+    /**
+     * Validates the arguments of the write methods.
+     *
+     * @param out  the stream
+     * @param rows the number of rows
+     */
+    private static void validate(OutputStream out, long rows) {
+        if (out == null) {
+            throw new IllegalArgumentException("Stream cannot be null");
+        }
+        if (rows < 0) {
+            throw new IllegalArgumentException("Rows cannot be negative");
+        }
+    }
+}
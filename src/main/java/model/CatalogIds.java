@@ -0,0 +1,74 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of stable integer IDs for influencer names, shared by a catalog and the catalogs that
+ * replace it.
+ *
+ * <p>An ID is assigned the first time a name is seen and is never reused, so an ID taken from one
+ * catalog still resolves after an import swaps in a successor built with the same registry. The
+ * registry lives as long as the catalogs that use it, instead of for the whole process. Registries
+ * are thread-safe.</p>
+ */
+public class CatalogIds {
+    private final Map<String, Integer> nameIds;
+    private final List<String> idNames;
+
+    /**
+     * Constructs an empty registry.
+     */
+    public CatalogIds() {
+        this.nameIds = new HashMap<>();
+        this.idNames = new ArrayList<>();
+    }
+
+    /**
+     * Gets the ID for an influencer name, assigning a new one if the name has not been seen.
+     *
+     * @param name the influencer name
+     * @return the ID for the name
+     */
+    public synchronized int idOf(String name) {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            id = idNames.size();
+            nameIds.put(name, id);
+            idNames.add(name);
+        }
+        return id;
+    }
+
+    /**
+     * Gets the ID for an influencer name without assigning one.
+     *
+     * @param name the influencer name
+     * @return the ID for the name, or -1 if the name has never been seen
+     */
+    public synchronized int findId(String name) {
+        Integer id = nameIds.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the influencer name an ID was assigned to.
+     *
+     * @param id the influencer ID
+     * @return the name, or null if the ID was never assigned
+     */
+    public synchronized String nameOf(int id) {
+        return id >= 0 && id < idNames.size() ? idNames.get(id) : null;
+    }
+
+    /**
+     * Gets the number of IDs assigned so far.
+     *
+     * @return the number of assigned IDs
+     */
+    public synchronized int size() {
+        return idNames.size();
+    }
+}
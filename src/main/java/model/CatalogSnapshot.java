@@ -0,0 +1,275 @@
+package model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary snapshot of the influencer catalog, used to skip re-parsing the CSV file at startup.
+ *
+ * <p>The file starts with a header recording the size and modification time of the source file it
+ * was built from, so a snapshot can be recognised as stale once the source changes. All strings are
+ * stored once in a dictionary of length-prefixed UTF-8 entries; rows are stored column by column as
+ * dictionary ids, follower counts and ad rates. The layout is:</p>
+ *
+ * <pre>
+ * int    magic, int version
+ * long   source size, long source last-modified time
+ * int    dictionary size, then per entry: int byte length, UTF-8 bytes
+ * int    row count
+ * int[]  name ids, platform ids, category ids, country ids
+ * int[]  followers
+ * double[] ad rates
+ * </pre>
+ *
+ * <p>Snapshots are read through a memory-mapped buffer, so loading is a bulk copy of each column.</p>
+ */
+public class CatalogSnapshot {
+    private static final int MAGIC = 0x494E464C;
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path snapshotPath;
+
+    /**
+     * Constructs a CatalogSnapshot backed by the given file.
+     *
+     * @param snapshotPath the path of the snapshot file
+     * @throws IllegalArgumentException if the path is null
+     */
+    public CatalogSnapshot(Path snapshotPath) {
+        if (snapshotPath == null) {
+            throw new IllegalArgumentException("Snapshot path cannot be null");
+        }
+        this.snapshotPath = snapshotPath;
+    }
+
+    /**
+     * Gets the path of the snapshot file.
+     *
+     * @return the snapshot path
+     */
+    public Path getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    /**
+     * Checks whether the snapshot exists and was built from the current version of the source file.
+     * A snapshot is considered fresh if the source file no longer exists.
+     *
+     * @param sourcePath the source file the snapshot was built from, or null if there is none
+     * @return true if the snapshot can be used instead of the source file
+     */
+    public boolean isFresh(Path sourcePath) {
+        if (!Files.isRegularFile(snapshotPath)) {
+            return false;
+        }
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(snapshotPath))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return false;
+            }
+            long sourceSize = in.readLong();
+            long sourceModified = in.readLong();
+            if (sourcePath == null || !Files.exists(sourcePath)) {
+                return true;
+            }
+            return sourceSize == Files.size(sourcePath)
+                    && sourceModified == Files.getLastModifiedTime(sourcePath).toMillis();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the given influencers to the snapshot file.
+     * The file is written to a temporary location first and then moved into place,
+     * so readers never see a partially written snapshot.
+     *
+     * @param influencers the influencers to store
+     * @param sourcePath  the source file the influencers were loaded from, or null if there is none
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void write(List<Influencer> influencers, Path sourcePath) throws IOException {
+        if (influencers == null) {
+            throw new IllegalArgumentException("Influencers cannot be null");
+        }
+
+        long sourceSize = 0;
+        long sourceModified = 0;
+        if (sourcePath != null && Files.exists(sourcePath)) {
+            sourceSize = Files.size(sourcePath);
+            sourceModified = Files.getLastModifiedTime(sourcePath).toMillis();
+        }
+
+        int rows = influencers.size();
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        int[] names = new int[rows];
+        int[] platforms = new int[rows];
+        int[] categories = new int[rows];
+        int[] countries = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            Influencer influencer = influencers.get(i);
+            names[i] = encode(influencer.getName(), dictionary, entries);
+            platforms[i] = encode(influencer.getPlatform(), dictionary, entries);
+            categories[i] = encode(influencer.getCategory(), dictionary, entries);
+            countries[i] = encode(influencer.getCountry(), dictionary, entries);
+        }
+
+        Path parent = snapshotPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+
+        FileOutputStream fileOut = new FileOutputStream(tempPath.toFile());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(sourceSize);
+            out.writeLong(sourceModified);
+
+            out.writeInt(entries.size());
+            for (String entry : entries) {
+                byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(rows);
+            writeColumn(out, names);
+            writeColumn(out, platforms);
+            writeColumn(out, categories);
+            writeColumn(out, countries);
+            for (Influencer influencer : influencers) {
+                out.writeInt(influencer.getFollowers());
+            }
+            for (Influencer influencer : influencers) {
+                out.writeDouble(influencer.getAdRate());
+            }
+
+            // The log is truncated once the snapshot is in place, so it must reach the disk first
+            out.flush();
+            fileOut.getFD().sync();
+        }
+
+        Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads all influencers from the snapshot file.
+     *
+     * @return the influencers stored in the snapshot, in their original order
+     * @throws IOException if the snapshot cannot be read or is not a valid snapshot
+     */
+    public List<Influencer> read() throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return decode(buffer);
+            } catch (RuntimeException e) {
+                throw new IOException("Corrupt catalog snapshot: " + snapshotPath, e);
+            }
+        }
+    }
+
+    /**
+     * Decodes a snapshot from a buffer positioned at its first byte.
+     *
+     * @param buffer the buffer holding the snapshot
+     * @return the decoded influencers
+     * @throws IOException if the buffer does not hold a snapshot of a supported version
+     */
+    private List<Influencer> decode(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not a catalog snapshot: " + snapshotPath);
+        }
+        buffer.getLong();
+        buffer.getLong();
+
+        String[] entries = new String[buffer.getInt()];
+        for (int i = 0; i < entries.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            entries[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int rows = buffer.getInt();
+        int[] names = readIntColumn(buffer, rows);
+        int[] platforms = readIntColumn(buffer, rows);
+        int[] categories = readIntColumn(buffer, rows);
+        int[] countries = readIntColumn(buffer, rows);
+        int[] followers = readIntColumn(buffer, rows);
+        double[] adRates = new double[rows];
+        buffer.asDoubleBuffer().get(adRates);
+
+        List<Influencer> influencers = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            influencers.add(new Influencer(entries[names[i]], entries[platforms[i]], entries[categories[i]],
+                    followers[i], adRates[i], entries[countries[i]]));
+        }
+        return influencers;
+    }
+
+    /**
+     * Reads a column of ints and advances the buffer past it.
+     *
+     * @param buffer the buffer to read from
+     * @param rows   the number of values in the column
+     * @return the column values
+     */
+    private int[] readIntColumn(ByteBuffer buffer, int rows) {
+        int[] column = new int[rows];
+        buffer.asIntBuffer().get(column);
+        buffer.position(buffer.position() + rows * Integer.BYTES);
+        return column;
+    }
+
+    /**
+     * Writes a column of ints.
+     *
+     * @param out    the stream to write to
+     * @param column the column values
+     * @throws IOException if writing fails
+     */
+    private void writeColumn(DataOutputStream out, int[] column) throws IOException {
+        for (int value : column) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Looks up the dictionary id of a string, adding it to the dictionary if it is new.
+     * Null strings are stored as empty strings.
+     *
+     * @param value      the string to encode
+     * @param dictionary the map from strings to ids
+     * @param entries    the dictionary entries in id order
+     * @return the id of the string
+     */
+    private int encode(String value, Map<String, Integer> dictionary, List<String> entries) {
+        String key = value == null ? "" : value;
+        Integer id = dictionary.get(key);
+        if (id == null) {
+            id = entries.size();
+            dictionary.put(key, id);
+            entries.add(key);
+        }
+        return id;
+    }
+}
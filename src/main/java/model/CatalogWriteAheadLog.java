@@ -0,0 +1,311 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of catalog mutations.
+ *
+ * <p>Each record is framed as an int payload length, an int CRC32 of the payload and the payload
+ * itself: an operation code followed by the six influencer fields. Every append is synced to disk
+ * before it returns, once per call, so a logged mutation survives a power loss or OS crash. A crash
+ * can leave at most a partially written last record; replay stops at the first truncated or corrupt
+ * record, so everything before it is recovered.</p>
+ */
+public class CatalogWriteAheadLog implements Closeable {
+
+    /**
+     * Receives the records found while replaying a log.
+     */
+    public interface IReplayHandler {
+        /**
+         * Handles a logged save.
+         *
+         * @param influencer the saved influencer
+         */
+        void onSave(Influencer influencer);
+
+        /**
+         * Handles a logged delete.
+         *
+         * @param influencer the deleted influencer
+         */
+        void onDelete(Influencer influencer);
+    }
+
+    private static final byte OP_SAVE = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int BUFFER_SIZE = 1 << 16;
+    // An operation code, four length-prefixed strings of at most 65535 bytes and two numbers
+    private static final int MAX_RECORD_BYTES = 1 + 4 * (1 + 2 + 65535) + Integer.BYTES + Double.BYTES;
+
+    private final Path logPath;
+    private final ByteArrayOutputStream recordBuffer;
+    private final DataOutputStream recordWriter;
+    private FileOutputStream fileOut;
+    private DataOutputStream out;
+    private long recordCount;
+    private long syncCount;
+
+    /**
+     * Opens a log for appending, creating the file and its directory if needed.
+     *
+     * @param logPath the path of the log file
+     * @throws IOException if the log cannot be opened
+     */
+    public CatalogWriteAheadLog(Path logPath) throws IOException {
+        if (logPath == null) {
+            throw new IllegalArgumentException("Log path cannot be null");
+        }
+        this.logPath = logPath;
+        this.recordBuffer = new ByteArrayOutputStream();
+        this.recordWriter = new DataOutputStream(recordBuffer);
+
+        Path parent = logPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.out = openForAppend();
+    }
+
+    /**
+     * Appends a save record and syncs it to disk.
+     *
+     * @param influencer the saved influencer
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void appendSave(Influencer influencer) throws IOException {
+        appendRecord(OP_SAVE, influencer);
+        sync();
+    }
+
+    /**
+     * Appends one save record per influencer and syncs them to disk once at the end.
+     *
+     * @param influencers the saved influencers
+     * @throws IOException if the records cannot be written
+     */
+    public synchronized void appendSaves(Iterable<? extends Influencer> influencers) throws IOException {
+        for (Influencer influencer : influencers) {
+            appendRecord(OP_SAVE, influencer);
+        }
+        sync();
+    }
+
+    /**
+     * Appends a delete record and syncs it to disk.
+     *
+     * @param influencer the deleted influencer
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void appendDelete(Influencer influencer) throws IOException {
+        appendRecord(OP_DELETE, influencer);
+        sync();
+    }
+
+    /**
+     * Gets the number of records appended since the log was opened or last truncated.
+     * Records that were already in the file when it was opened are not counted.
+     *
+     * @return the number of appended records
+     */
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Gets the number of times the log has been synced to disk, which is at most one per append call.
+     *
+     * @return the number of syncs
+     */
+    public synchronized long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * Discards all records, typically after their effect has been captured in a snapshot.
+     *
+     * @throws IOException if the log cannot be truncated
+     */
+    public synchronized void truncate() throws IOException {
+        out.close();
+        Files.write(logPath, new byte[0]);
+        out = openForAppend();
+        recordCount = 0;
+    }
+
+    /**
+     * Replays every intact record in the log, in the order they were written.
+     * A truncated or corrupt tail is cut off, so that new records are appended
+     * directly after the last intact one.
+     *
+     * @param handler the handler receiving the records
+     * @return the number of records replayed
+     * @throws IOException if the log cannot be read
+     */
+    public synchronized long replay(IReplayHandler handler) throws IOException {
+        out.flush();
+        long replayed = 0;
+        long intactBytes = 0;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(logPath), BUFFER_SIZE))) {
+            while (true) {
+                byte[] payload = readRecord(in);
+                if (payload == null) {
+                    break;
+                }
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                byte op = record.readByte();
+                Influencer influencer = readInfluencer(record);
+                if (op == OP_SAVE) {
+                    handler.onSave(influencer);
+                } else if (op == OP_DELETE) {
+                    handler.onDelete(influencer);
+                }
+                replayed++;
+                intactBytes += 2 * Integer.BYTES + payload.length;
+            }
+        }
+
+        if (intactBytes < Files.size(logPath)) {
+            try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+                channel.truncate(intactBytes);
+            }
+        }
+        return replayed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Flushes buffered records and forces them to disk.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    private void sync() throws IOException {
+        out.flush();
+        fileOut.getFD().sync();
+        syncCount++;
+    }
+
+    /**
+     * Frames and writes one record without flushing.
+     *
+     * @param op         the operation code
+     * @param influencer the influencer the operation applies to
+     * @throws IOException if the record cannot be written
+     */
+    private void appendRecord(byte op, Influencer influencer) throws IOException {
+        recordBuffer.reset();
+        recordWriter.writeByte(op);
+        writeString(recordWriter, influencer.getName());
+        writeString(recordWriter, influencer.getPlatform());
+        writeString(recordWriter, influencer.getCategory());
+        recordWriter.writeInt(influencer.getFollowers());
+        recordWriter.writeDouble(influencer.getAdRate());
+        writeString(recordWriter, influencer.getCountry());
+        recordWriter.flush();
+
+        byte[] payload = recordBuffer.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        out.writeInt(payload.length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload);
+        recordCount++;
+    }
+
+    /**
+     * Reads the payload of the next record.
+     *
+     * @param in the stream to read from
+     * @return the payload, or null at the end of the log or at a truncated or corrupt record
+     * @throws IOException if the log cannot be read
+     */
+    private byte[] readRecord(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return (int) crc.getValue() == checksum ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Opens the log file for appending.
+     *
+     * @return the stream appending to the log
+     * @throws IOException if the file cannot be opened
+     */
+    private DataOutputStream openForAppend() throws IOException {
+        fileOut = new FileOutputStream(logPath.toFile(), true);
+        return new DataOutputStream(new BufferedOutputStream(fileOut, BUFFER_SIZE));
+    }
+
+    /**
+     * Writes a nullable string.
+     *
+     * @param out   the stream to write to
+     * @param value the string, or null
+     * @throws IOException if writing fails
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Reads a nullable string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param in the stream to read from
+     * @return the string, or null
+     * @throws IOException if reading fails
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Reads the influencer fields of a record.
+     *
+     * @param in the stream positioned after the operation code
+     * @return the influencer
+     * @throws IOException if reading fails
+     */
+    private static Influencer readInfluencer(DataInputStream in) throws IOException {
+        String name = readString(in);
+        String platform = readString(in);
+        String category = readString(in);
+        int followers = in.readInt();
+        double adRate = in.readDouble();
+        String country = readString(in);
+        return new Influencer(name, platform, category, followers, adRate, country);
+    }
+}
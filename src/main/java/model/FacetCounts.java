@@ -0,0 +1,173 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Number of influencers for each platform, category and country value.
+ *
+ * <p>Counts are kept per exact value in hash maps of primitive counters, so adding or removing an
+ * influencer costs three lookups and no allocation once a value has been seen. Repositories keep an
+ * instance up to date as influencers are saved and deleted; {@link #of(Collection)} counts any other
+ * list in one pass. Because the repository filters ignore case, values differing only in case are
+ * folded together when counts are read, labelled with their most common spelling.</p>
+ */
+public class FacetCounts {
+    private final Map<GroupBy, Map<String, int[]>> counts;
+
+    /**
+     * Constructs empty FacetCounts.
+     */
+    public FacetCounts() {
+        this.counts = new EnumMap<>(GroupBy.class);
+        for (GroupBy groupBy : GroupBy.values()) {
+            counts.put(groupBy, new HashMap<>());
+        }
+    }
+
+    /**
+     * Counts the facet values of a collection of influencers.
+     *
+     * @param influencers the influencers to count
+     * @return the facet counts
+     * @throws IllegalArgumentException if the collection is null
+     */
+    public static FacetCounts of(Collection<? extends Influencer> influencers) {
+        if (influencers == null) {
+            throw new IllegalArgumentException("Influencers cannot be null");
+        }
+
+        FacetCounts facets = new FacetCounts();
+        for (Influencer influencer : influencers) {
+            facets.add(influencer);
+        }
+        return facets;
+    }
+
+    /**
+     * Counts an influencer under its platform, category and country.
+     *
+     * @param influencer the influencer
+     */
+    public void add(Influencer influencer) {
+        adjust(influencer.getPlatform(), influencer.getCategory(), influencer.getCountry(), 1);
+    }
+
+    /**
+     * Removes an influencer counted earlier.
+     *
+     * @param influencer the influencer
+     */
+    public void remove(Influencer influencer) {
+        adjust(influencer.getPlatform(), influencer.getCategory(), influencer.getCountry(), -1);
+    }
+
+    /**
+     * Adjusts the counts of one platform, category and country combination.
+     *
+     * @param platform the platform, or null if the influencer has none
+     * @param category the category, or null if the influencer has none
+     * @param country  the country, or null if the influencer has none
+     * @param delta    the amount to add, negative to remove
+     */
+    void adjust(String platform, String category, String country, int delta) {
+        adjust(counts.get(GroupBy.PLATFORM), platform, delta);
+        adjust(counts.get(GroupBy.CATEGORY), category, delta);
+        adjust(counts.get(GroupBy.COUNTRY), country, delta);
+    }
+
+    /**
+     * Gets how many influencers have a value, ignoring case as the repository filters do.
+     *
+     * @param groupBy the attribute
+     * @param value   the value
+     * @return the number of influencers a filter on the value would return
+     * @throws IllegalArgumentException if the attribute is null
+     */
+    public int getCount(GroupBy groupBy, String value) {
+        if (groupBy == null) {
+            throw new IllegalArgumentException("Group-by attribute cannot be null");
+        }
+        if (value == null) {
+            return 0;
+        }
+
+        int total = 0;
+        for (Map.Entry<String, int[]> entry : counts.get(groupBy).entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(value)) {
+                total += entry.getValue()[0];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the counts of every value of an attribute, largest first and then alphabetically.
+     * Values differing only in case are counted together.
+     *
+     * @param groupBy the attribute
+     * @return the counts by value, in display order
+     * @throws IllegalArgumentException if the attribute is null
+     */
+    public Map<String, Integer> getCounts(GroupBy groupBy) {
+        if (groupBy == null) {
+            throw new IllegalArgumentException("Group-by attribute cannot be null");
+        }
+
+        Map<String, int[]> folded = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, String> labels = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, Integer> labelCounts = new HashMap<>();
+        for (Map.Entry<String, int[]> entry : counts.get(groupBy).entrySet()) {
+            String value = entry.getKey();
+            int count = entry.getValue()[0];
+            folded.computeIfAbsent(value, key -> new int[1])[0] += count;
+            String label = labels.get(value);
+            if (label == null || count > labelCounts.get(label)
+                    || count == labelCounts.get(label) && value.compareTo(label) < 0) {
+                labels.put(value, value);
+                labelCounts.put(value, count);
+            }
+        }
+
+        List<Map.Entry<String, int[]>> entries = new ArrayList<>(folded.entrySet());
+        entries.sort((a, b) -> a.getValue()[0] != b.getValue()[0]
+                ? Integer.compare(b.getValue()[0], a.getValue()[0])
+                : String.CASE_INSENSITIVE_ORDER.compare(a.getKey(), b.getKey()));
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (Map.Entry<String, int[]> entry : entries) {
+            result.put(labels.get(entry.getKey()), entry.getValue()[0]);
+        }
+        return result;
+    }
+
+    /**
+     * Adds to the counter of one value, dropping it once nothing is counted under it.
+     *
+     * @param values the counters of an attribute
+     * @param value  the value, ignored if null
+     * @param delta  the amount to add
+     */
+    private static void adjust(Map<String, int[]> values, String value, int delta) {
+        if (value == null) {
+            return;
+        }
+        int[] counter = values.get(value);
+        if (counter == null) {
+            if (delta <= 0) {
+                return;
+            }
+            counter = new int[1];
+            values.put(value, counter);
+        }
+        counter[0] += delta;
+        if (counter[0] <= 0) {
+            values.remove(value);
+        }
+    }
+}
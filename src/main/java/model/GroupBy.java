@@ -0,0 +1,46 @@
+package model;
+
+/**
+ * Influencer attributes that catalogs can be grouped by for aggregation and facet counts.
+ */
+public enum GroupBy {
+    PLATFORM,
+    CATEGORY,
+    COUNTRY;
+
+    /**
+     * Gets the group key of an influencer.
+     *
+     * @param influencer the influencer
+     * @return the value of this attribute for the influencer
+     */
+    public String keyOf(Influencer influencer) {
+        switch (this) {
+            case PLATFORM:
+                return influencer.getPlatform();
+            case CATEGORY:
+                return influencer.getCategory();
+            default:
+                return influencer.getCountry();
+        }
+    }
+
+    /**
+     * Parses a group-by attribute name, ignoring case.
+     *
+     * @param name the attribute name, such as "platform"
+     * @return the matching attribute
+     * @throws IllegalArgumentException if the name is null or not an attribute
+     */
+    public static GroupBy fromName(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Group-by attribute cannot be null");
+        }
+        for (GroupBy groupBy : values()) {
+            if (groupBy.name().equalsIgnoreCase(name.trim())) {
+                return groupBy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown group-by attribute: " + name);
+    }
+}
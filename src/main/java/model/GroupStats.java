@@ -0,0 +1,215 @@
+package model;
+
+/**
+ * Follower and ad rate statistics for one group of influencers.
+ *
+ * <p>Statistics are accumulated in a single pass without keeping references to the influencers or
+ * copies of their values: count, sums, minimums and maximums are primitive fields, and percentiles
+ * come from a {@link QuantileSketch} per column, so a group takes the same memory however many rows
+ * it holds. Percentiles are therefore within the sketch's relative accuracy of the exact value,
+ * clamped to the exact minimum and maximum; the 100th percentile is the exact maximum. Partial results
+ * for separate slices of a catalog are merged by adding their fields and sketches, so an aggregation
+ * can be split across threads.</p>
+ */
+public final class GroupStats {
+    private final String key;
+    private int count;
+    private long followerSum;
+    private int followerMin;
+    private int followerMax;
+    private double adRateSum;
+    private double adRateMin;
+    private double adRateMax;
+    private final QuantileSketch followerSketch;
+    private final QuantileSketch adRateSketch;
+
+    /**
+     * Constructs empty statistics for a group.
+     *
+     * @param key the group key
+     */
+    GroupStats(String key) {
+        this.key = key;
+        this.followerMin = Integer.MAX_VALUE;
+        this.followerMax = Integer.MIN_VALUE;
+        this.adRateMin = Double.POSITIVE_INFINITY;
+        this.adRateMax = Double.NEGATIVE_INFINITY;
+        this.followerSketch = new QuantileSketch();
+        this.adRateSketch = new QuantileSketch();
+    }
+
+    /**
+     * Adds one influencer's values.
+     *
+     * @param followers the follower count
+     * @param adRate    the ad rate
+     */
+    void add(int followers, double adRate) {
+        followerSketch.add(followers);
+        adRateSketch.add(adRate);
+        count++;
+
+        followerSum += followers;
+        followerMin = Math.min(followerMin, followers);
+        followerMax = Math.max(followerMax, followers);
+        adRateSum += adRate;
+        adRateMin = Math.min(adRateMin, adRate);
+        adRateMax = Math.max(adRateMax, adRate);
+    }
+
+    /**
+     * Adds the values accumulated by another partial result for the same group.
+     *
+     * @param other the other partial result
+     */
+    void merge(GroupStats other) {
+        if (other.count == 0) {
+            return;
+        }
+        followerSketch.merge(other.followerSketch);
+        adRateSketch.merge(other.adRateSketch);
+        count += other.count;
+
+        followerSum += other.followerSum;
+        followerMin = Math.min(followerMin, other.followerMin);
+        followerMax = Math.max(followerMax, other.followerMax);
+        adRateSum += other.adRateSum;
+        adRateMin = Math.min(adRateMin, other.adRateMin);
+        adRateMax = Math.max(adRateMax, other.adRateMax);
+    }
+
+    /**
+     * Gets the group key.
+     *
+     * @return the key, which may be null for influencers without a value
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the number of influencers in the group.
+     *
+     * @return the count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the total follower count of the group.
+     *
+     * @return the sum of follower counts
+     */
+    public long getFollowerSum() {
+        return followerSum;
+    }
+
+    /**
+     * Gets the average follower count.
+     *
+     * @return the average, or 0 for an empty group
+     */
+    public double getFollowerAverage() {
+        return count == 0 ? 0.0 : (double) followerSum / count;
+    }
+
+    /**
+     * Gets the smallest follower count.
+     *
+     * @return the minimum, or 0 for an empty group
+     */
+    public int getFollowerMin() {
+        return count == 0 ? 0 : followerMin;
+    }
+
+    /**
+     * Gets the largest follower count.
+     *
+     * @return the maximum, or 0 for an empty group
+     */
+    public int getFollowerMax() {
+        return count == 0 ? 0 : followerMax;
+    }
+
+    /**
+     * Gets an approximate follower count percentile using the nearest-rank method.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the follower count at that percentile, within the sketch's relative accuracy,
+     *         or 0 for an empty group
+     * @throws IllegalArgumentException if the percentile is outside 0 to 100
+     */
+    public int getFollowerPercentile(double percentile) {
+        double value = followerSketch.getValueAtPercentile(percentile);
+        if (count == 0) {
+            return 0;
+        }
+        if (percentile == 100.0) {
+            return followerMax;
+        }
+        return (int) Math.max(followerMin, Math.min(followerMax, Math.round(value)));
+    }
+
+    /**
+     * Gets the total of the ad rates in the group.
+     *
+     * @return the sum of ad rates
+     */
+    public double getAdRateSum() {
+        return adRateSum;
+    }
+
+    /**
+     * Gets the average ad rate.
+     *
+     * @return the average, or 0 for an empty group
+     */
+    public double getAdRateAverage() {
+        return count == 0 ? 0.0 : adRateSum / count;
+    }
+
+    /**
+     * Gets the smallest ad rate.
+     *
+     * @return the minimum, or 0 for an empty group
+     */
+    public double getAdRateMin() {
+        return count == 0 ? 0.0 : adRateMin;
+    }
+
+    /**
+     * Gets the largest ad rate.
+     *
+     * @return the maximum, or 0 for an empty group
+     */
+    public double getAdRateMax() {
+        return count == 0 ? 0.0 : adRateMax;
+    }
+
+    /**
+     * Gets an approximate ad rate percentile using the nearest-rank method.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the ad rate at that percentile, within the sketch's relative accuracy,
+     *         or 0 for an empty group
+     * @throws IllegalArgumentException if the percentile is outside 0 to 100
+     */
+    public double getAdRatePercentile(double percentile) {
+        double value = adRateSketch.getValueAtPercentile(percentile);
+        if (count == 0) {
+            return 0.0;
+        }
+        if (percentile == 100.0) {
+            return adRateMax;
+        }
+        return Math.max(adRateMin, Math.min(adRateMax, value));
+    }
+
+    @Override
+    public String toString() {
+        return "GroupStats{key='" + key + "', count=" + count
+                + ", followers avg=" + String.format("%.1f", getFollowerAverage())
+                + ", adRate avg=" + String.format("%.2f", getAdRateAverage()) + "}";
+    }
+}
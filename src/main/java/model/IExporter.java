@@ -14,4 +14,11 @@ public interface IExporter {
      * @return true if the export was successful, false otherwise
      */
     boolean export(List<Influencer> data, String filePath);
-}
+
+    /**
+     * Gets the throughput report of the last export run by this exporter.
+     *
+     * @return the report, or null if no export has run yet
+     */
+    TransferReport getLastReport();
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package model;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +25,24 @@ public interface IFavorites<T> {
      */
     void removeItem(T item);
 
+    /**
+     * Adds several items to the favorites collection as one change.
+     * Items that are already favorites are skipped.
+     *
+     * @param items the items to add
+     * @return the number of items that were added
+     */
+    int addItems(Collection<? extends T> items);
+
+    /**
+     * Removes several items from the favorites collection as one change.
+     * Items that are not favorites are skipped.
+     *
+     * @param items the items to remove
+     * @return the number of items that were removed
+     */
+    int removeItems(Collection<? extends T> items);
+
     /**
      * Gets all items in the favorites collection.
      *
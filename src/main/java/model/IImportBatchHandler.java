@@ -0,0 +1,20 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Callback interface for receiving parsed influencers in batches while an import is in progress.
+ * Used by importers that stream records instead of returning the whole file as one list.
+ */
+@FunctionalInterface
+public interface IImportBatchHandler {
+
+    /**
+     * Handles a batch of freshly parsed influencers.
+     *
+     * @param batch    the influencers parsed since the previous batch
+     * @param progress the fraction of the input consumed so far, between 0.0 and 1.0
+     * @return true to keep importing, false to stop the import early
+     */
+    boolean onBatch(List<Influencer> batch, double progress);
+}
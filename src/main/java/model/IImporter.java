@@ -25,4 +25,28 @@ public interface IImporter {
      */
     List<Influencer> importFromFile(String filePath);
 
+    /**
+     * Imports influencer data from a file path, handing parsed records to the handler in batches.
+     * Parsing stops early if the handler returns false.
+     *
+     * @param filePath  the path to the file containing the data
+     * @param batchSize the maximum number of influencers per batch
+     * @param handler   the handler receiving each batch
+     * @return true if the whole file was imported, false if the handler stopped the import
+     */
+    boolean importInBatches(String filePath, int batchSize, IImportBatchHandler handler);
+
+    /**
+     * Gets the throughput report of the last import run by this importer.
+     *
+     * @return the report, or null if no import has run yet
+     */
+    TransferReport getLastReport();
+
+    /**
+     * Gets the rows rejected by the last import run by this importer.
+     *
+     * @return the rejected rows, or null if no import has run yet
+     */
+    ImportErrors getLastErrors();
 }
\ No newline at end of file
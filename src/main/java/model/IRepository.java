@@ -1,5 +1,6 @@
 package model;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,6 +19,15 @@ public interface IRepository<T> extends ISearchable<T>, ISortable<T>, IFilterabl
      */
     void save(T entity);
 
+    /**
+     * Saves a batch of entities to the repository in one operation.
+     * The result is the same as saving each entity in turn, but the work of
+     * deduplicating and indexing is done once for the whole batch.
+     *
+     * @param entities the entities to save
+     */
+    void saveAll(Collection<? extends T> entities);
+
     /**
      * Deletes an entity from the repository.
      *
@@ -0,0 +1,16 @@
+package model;
+
+/**
+ * Callback interface notified when a user's subscription status changes.
+ * Used by {@link UserManager} to keep its subscriber index current.
+ */
+@FunctionalInterface
+public interface ISubscriptionListener {
+
+    /**
+     * Handles a change in a user's subscription status.
+     *
+     * @param user the user whose subscription changed
+     */
+    void onSubscriptionChanged(User user);
+}
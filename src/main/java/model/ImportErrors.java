@@ -0,0 +1,233 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bounded collection of the rows an import rejected.
+ *
+ * <p>Every rejection is counted by reason, but only the first few are kept with their line number
+ * and text, in preallocated arrays, so a file full of bad rows costs a counter increment per row
+ * rather than a log line and a stack trace. Importers log the {@link #summary()} once when the
+ * import finishes.</p>
+ */
+public class ImportErrors {
+
+    /**
+     * Why a row was rejected.
+     */
+    public enum Reason {
+        TOO_FEW_FIELDS("not enough fields"),
+        MISSING_FIELD("missing required field"),
+        INVALID_NUMBER("invalid number"),
+        MALFORMED("malformed row");
+
+        private final String description;
+
+        Reason(String description) {
+            this.description = description;
+        }
+
+        /**
+         * Gets a short description of the reason.
+         *
+         * @return the description
+         */
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * A rejected row kept as a sample.
+     */
+    public static final class RejectedRow {
+        private final long line;
+        private final Reason reason;
+        private final String row;
+
+        private RejectedRow(long line, Reason reason, String row) {
+            this.line = line;
+            this.reason = reason;
+            this.row = row;
+        }
+
+        /**
+         * Gets the line the row starts on.
+         *
+         * @return the 1-based line number
+         */
+        public long getLine() {
+            return line;
+        }
+
+        /**
+         * Gets why the row was rejected.
+         *
+         * @return the reason
+         */
+        public Reason getReason() {
+            return reason;
+        }
+
+        /**
+         * Gets the text of the row.
+         *
+         * @return the row text
+         */
+        public String getRow() {
+            return row;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + reason.getDescription() + ": " + abbreviate(row);
+        }
+    }
+
+    /** Default number of rejected rows kept as samples. */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    private static final int MAX_ROW_LENGTH = 200;
+
+    private final long[] lines;
+    private final Reason[] reasons;
+    private final String[] rows;
+    private final long[] reasonCounts;
+    private int sampleCount;
+    private long total;
+
+    /**
+     * Constructs an ImportErrors keeping up to {@link #DEFAULT_CAPACITY} samples.
+     */
+    public ImportErrors() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an ImportErrors.
+     *
+     * @param capacity the maximum number of rejected rows kept as samples
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ImportErrors(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        this.lines = new long[capacity];
+        this.reasons = new Reason[capacity];
+        this.rows = new String[capacity];
+        this.reasonCounts = new long[Reason.values().length];
+    }
+
+    /**
+     * Records a rejected row. The row is kept as a sample only while there is room.
+     *
+     * @param line   the 1-based line number the row starts on
+     * @param reason why the row was rejected
+     * @param row    the text of the row
+     * @throws IllegalArgumentException if the reason is null
+     */
+    public synchronized void reject(long line, Reason reason, String row) {
+        if (reason == null) {
+            throw new IllegalArgumentException("Reason cannot be null");
+        }
+        total++;
+        reasonCounts[reason.ordinal()]++;
+        if (sampleCount < lines.length) {
+            lines[sampleCount] = line;
+            reasons[sampleCount] = reason;
+            rows[sampleCount] = row;
+            sampleCount++;
+        }
+    }
+
+    /**
+     * Gets the number of rejected rows, including those not kept as samples.
+     *
+     * @return the total count
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the number of rows rejected for a reason.
+     *
+     * @param reason the reason
+     * @return the count
+     */
+    public synchronized long getCount(Reason reason) {
+        return reason == null ? 0L : reasonCounts[reason.ordinal()];
+    }
+
+    /**
+     * Checks whether any row was rejected.
+     *
+     * @return true if there were no rejections
+     */
+    public synchronized boolean isEmpty() {
+        return total == 0;
+    }
+
+    /**
+     * Gets the rejected rows kept as samples, in the order they were rejected.
+     *
+     * @return an unmodifiable list of at most the capacity rows
+     */
+    public synchronized List<RejectedRow> getSamples() {
+        List<RejectedRow> samples = new ArrayList<>(sampleCount);
+        for (int i = 0; i < sampleCount; i++) {
+            samples.add(new RejectedRow(lines[i], reasons[i], rows[i]));
+        }
+        return Collections.unmodifiableList(samples);
+    }
+
+    /**
+     * Formats the counts by reason followed by the sampled rows, one per line.
+     *
+     * @return the summary, or an empty string if nothing was rejected
+     */
+    public synchronized String summary() {
+        if (total == 0) {
+            return "";
+        }
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("Rejected ").append(total).append(total == 1 ? " row" : " rows").append(" (");
+        String separator = "";
+        for (Reason reason : Reason.values()) {
+            long count = reasonCounts[reason.ordinal()];
+            if (count > 0) {
+                builder.append(separator).append(count).append(' ').append(reason.getDescription());
+                separator = ", ";
+            }
+        }
+        builder.append(')');
+        if (sampleCount < total) {
+            builder.append(", first ").append(sampleCount).append(" shown");
+        }
+        for (RejectedRow row : getSamples()) {
+            builder.append(System.lineSeparator()).append("  ").append(row);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Shortens rows for display, collapsing the line breaks of multi-line records.
+     *
+     * @param row the row text
+     * @return the row on one line, cut to a fixed length
+     */
+    private static String abbreviate(String row) {
+        if (row == null) {
+            return null;
+        }
+        String compact = row.strip().replaceAll("\\s+", " ");
+        if (compact.length() <= MAX_ROW_LENGTH) {
+            return compact;
+        }
+        return compact.substring(0, MAX_ROW_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,271 @@
+package model;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Background job that imports influencer data without blocking the caller.
+ *
+ * <p>The job streams parsed batches from an {@link IImporter} into a private staging catalog,
+ * seeded with a copy of the current catalog. Progress can be polled or observed through a
+ * listener, and the job can be cancelled between batches. The live catalog is never touched
+ * while the job runs; when the job completes, the staging catalog is handed to the completion
+ * handler so the caller can swap it in as a single reference assignment.</p>
+ */
+public class ImportJob {
+
+    /**
+     * Lifecycle states of an import job.
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    /** Default number of rows handed to the staging catalog at a time. */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final IImporter importer;
+    private final String filePath;
+    private final List<Influencer> baseline;
+    private final CatalogIds ids;
+    private final int batchSize;
+    private final CountDownLatch finished;
+    private Consumer<ImportProgress> progressListener;
+    private Consumer<InfluencerRepository> completionHandler;
+    private volatile Status status;
+    private volatile boolean cancelRequested;
+    private volatile long rowsImported;
+    private volatile double fractionComplete;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile Throwable failure;
+    private volatile InfluencerRepository result;
+
+    /**
+     * Constructs an ImportJob.
+     *
+     * @param importer  the importer used to parse the file
+     * @param filePath  the path of the file to import
+     * @param baseline  the current catalog contents the imported rows are merged into
+     * @param batchSize the maximum number of rows per batch
+     * @throws IllegalArgumentException if the importer or baseline is null or the batch size is not positive
+     */
+    public ImportJob(IImporter importer, String filePath, List<Influencer> baseline, int batchSize) {
+        this(importer, filePath, baseline, new CatalogIds(), batchSize);
+    }
+
+    /**
+     * Constructs an ImportJob whose staging catalog shares an ID registry with the live catalog,
+     * so IDs taken from the live catalog still resolve once the staging catalog replaces it.
+     *
+     * @param importer  the importer used to parse the file
+     * @param filePath  the path of the file to import
+     * @param baseline  the current catalog contents the imported rows are merged into
+     * @param ids       the ID registry of the live catalog
+     * @param batchSize the maximum number of rows per batch
+     * @throws IllegalArgumentException if the importer, baseline or registry is null or the batch
+     *                                  size is not positive
+     */
+    public ImportJob(IImporter importer, String filePath, List<Influencer> baseline, CatalogIds ids, int batchSize) {
+        if (importer == null) {
+            throw new IllegalArgumentException("Importer cannot be null");
+        }
+        if (baseline == null) {
+            throw new IllegalArgumentException("Baseline cannot be null");
+        }
+        if (ids == null) {
+            throw new IllegalArgumentException("ID registry cannot be null");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.importer = importer;
+        this.filePath = filePath;
+        this.baseline = baseline;
+        this.ids = ids;
+        this.batchSize = batchSize;
+        this.finished = new CountDownLatch(1);
+        this.status = Status.PENDING;
+    }
+
+    /**
+     * Sets the listener notified after every batch and once more when the job finishes.
+     * Must be called before {@link #start()}.
+     *
+     * @param progressListener the listener, or null for none
+     */
+    public void setProgressListener(Consumer<ImportProgress> progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Sets the handler that receives the fully populated staging catalog when the job completes.
+     * It runs before the job is marked completed, and the job fails if it throws. It is not called
+     * if the job is cancelled or fails. Must be called before {@link #start()}.
+     *
+     * @param completionHandler the handler, or null for none
+     */
+    public void setCompletionHandler(Consumer<InfluencerRepository> completionHandler) {
+        this.completionHandler = completionHandler;
+    }
+
+    /**
+     * Starts the job on a background daemon thread.
+     *
+     * @return this job, for chaining
+     * @throws IllegalStateException if the job was already started
+     */
+    public synchronized ImportJob start() {
+        if (status != Status.PENDING) {
+            throw new IllegalStateException("Import job already started");
+        }
+        status = Status.RUNNING;
+        startNanos = System.nanoTime();
+
+        Thread worker = new Thread(this::run, "import-job");
+        worker.setDaemon(true);
+        worker.start();
+        return this;
+    }
+
+    /**
+     * Requests cancellation. The job stops before loading the next batch and the
+     * staging catalog is discarded.
+     */
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    /**
+     * Waits for the job to finish.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout argument
+     * @return true if the job finished, false if the timeout elapsed first
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+
+    /**
+     * Gets a snapshot of the current progress.
+     *
+     * @return the current progress
+     */
+    public ImportProgress getProgress() {
+        long end = status == Status.RUNNING || status == Status.PENDING ? System.nanoTime() : endNanos;
+        long elapsed = startNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+        return new ImportProgress(status, rowsImported, fractionComplete, elapsed);
+    }
+
+    /**
+     * Gets the status of the job.
+     *
+     * @return the job status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Checks whether the job has finished, successfully or not.
+     *
+     * @return true if the job is no longer running
+     */
+    public boolean isDone() {
+        return finished.getCount() == 0;
+    }
+
+    /**
+     * Gets the error that made the job fail.
+     *
+     * @return the failure cause, or null if the job did not fail
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Gets the populated staging catalog.
+     *
+     * @return the new catalog, or null if the job has not completed successfully
+     */
+    public InfluencerRepository getResult() {
+        return result;
+    }
+
+    /**
+     * Gets the throughput report of the import. Time spent loading batches into the staging
+     * catalog is reported as the index phase.
+     *
+     * @return the report, or null if the job has not finished or its importer produced none
+     */
+    public TransferReport getReport() {
+        return isDone() ? importer.getLastReport() : null;
+    }
+
+    /**
+     * Runs the import on the worker thread.
+     */
+    private void run() {
+        InfluencerRepository staging = new InfluencerRepository(ids);
+        try {
+            staging.saveAll(baseline);
+
+            boolean completed = !cancelRequested && importer.importInBatches(filePath, batchSize, (batch, progress) -> {
+                if (cancelRequested) {
+                    return false;
+                }
+                staging.saveAll(batch);
+                rowsImported += batch.size();
+                fractionComplete = progress;
+                notifyProgress();
+                return true;
+            });
+
+            if (completed && !cancelRequested) {
+                fractionComplete = 1.0;
+                // Hand over the catalog first, so a failed swap is reported as a failed job
+                if (completionHandler != null) {
+                    completionHandler.accept(staging);
+                }
+                result = staging;
+                finish(Status.COMPLETED);
+            } else {
+                finish(Status.CANCELLED);
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+            finish(Status.FAILED);
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    /**
+     * Records the final status of the job and notifies the progress listener.
+     *
+     * @param finalStatus the status the job ended with
+     */
+    private void finish(Status finalStatus) {
+        endNanos = System.nanoTime();
+        status = finalStatus;
+        notifyProgress();
+    }
+
+    /**
+     * Notifies the progress listener, if any, with the current progress.
+     */
+    private void notifyProgress() {
+        if (progressListener != null) {
+            progressListener.accept(getProgress());
+        }
+    }
+}
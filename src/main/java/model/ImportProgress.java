@@ -0,0 +1,89 @@
+package model;
+
+/**
+ * Immutable snapshot of the progress of an {@link ImportJob}.
+ */
+public class ImportProgress {
+    private final ImportJob.Status status;
+    private final long rowsImported;
+    private final double fractionComplete;
+    private final long elapsedMillis;
+
+    /**
+     * Constructs an ImportProgress snapshot.
+     *
+     * @param status           the status of the job when the snapshot was taken
+     * @param rowsImported     the number of rows loaded into the staging catalog so far
+     * @param fractionComplete the fraction of the input consumed so far, between 0.0 and 1.0
+     * @param elapsedMillis    the time the job has been running, in milliseconds
+     */
+    public ImportProgress(ImportJob.Status status, long rowsImported, double fractionComplete, long elapsedMillis) {
+        this.status = status;
+        this.rowsImported = rowsImported;
+        this.fractionComplete = fractionComplete;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the status of the job.
+     *
+     * @return the job status
+     */
+    public ImportJob.Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the number of rows loaded so far.
+     *
+     * @return the number of imported rows
+     */
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    /**
+     * Gets the fraction of the input consumed so far.
+     *
+     * @return a value between 0.0 and 1.0
+     */
+    public double getFractionComplete() {
+        return fractionComplete;
+    }
+
+    /**
+     * Gets the progress as a percentage.
+     *
+     * @return a value between 0 and 100
+     */
+    public double getPercentComplete() {
+        return fractionComplete * 100.0;
+    }
+
+    /**
+     * Gets the time the job has been running.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Gets the average import throughput so far.
+     *
+     * @return the number of rows imported per second, or 0 if no time has elapsed
+     */
+    public double getRowsPerSecond() {
+        if (elapsedMillis <= 0) {
+            return 0.0;
+        }
+        return rowsImported * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d rows (%.1f%%, %.0f rows/sec)",
+                status, rowsImported, getPercentComplete(), getRowsPerSecond());
+    }
+}
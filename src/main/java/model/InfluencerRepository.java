@@ -1,21 +1,86 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Repository implementation for managing Influencer entities.
+ * Influencers are unique by name; saving an influencer with an existing name replaces the old entry.
+ *
+ * <p>Each influencer name also has a stable integer ID, assigned by the repository's
+ * {@link CatalogIds} registry the first time the name is seen. A catalog built to replace this one,
+ * such as a freshly imported one, is given the same registry, so an ID taken from one still resolves
+ * in the other. This lets favorites be kept as compact ID sets and resolved against the live
+ * catalog.</p>
+ *
+ * <p>Platform, category and country {@link FacetCounts} and follower and ad rate
+ * {@link SegmentSketches} are kept up to date as influencers are saved and deleted, so the number of
+ * results each filter would return and the distribution of every segment are available without a
+ * scan.</p>
+ *
+ * <p>Replacing or deleting an influencer leaves an empty slot behind instead of shifting the rest of
+ * the catalog, so saves and batched imports cost O(1) per influencer. Empty slots are compacted away
+ * once they outnumber the influencers, or before the next read.</p>
  */
 public class InfluencerRepository implements IRepository<Influencer> {
-    private List<Influencer> influencers;
+    private ArrayList<Influencer> influencers;
+    private Map<String, Integer> nameIndex;
+    private int emptySlots;
+    private final CatalogIds ids;
+    private final FacetCounts facets;
+    private final SegmentSketches sketches;
 
     /**
      * Constructs a new InfluencerRepository with an empty list of influencers.
      */
     public InfluencerRepository() {
+        this(QuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Constructs a new InfluencerRepository with an empty list of influencers and follower and ad
+     * rate sketches of the given accuracy.
+     *
+     * @param sketchAccuracy the relative accuracy of the segment sketches, between 0 and 1
+     * @throws IllegalArgumentException if the accuracy is not between 0 and 1
+     */
+    public InfluencerRepository(double sketchAccuracy) {
+        this(new CatalogIds(), sketchAccuracy);
+    }
+
+    /**
+     * Constructs a new InfluencerRepository with an empty list of influencers that shares an ID
+     * registry with another catalog, typically the one it will replace.
+     *
+     * @param ids the ID registry
+     * @throws IllegalArgumentException if the registry is null
+     */
+    public InfluencerRepository(CatalogIds ids) {
+        this(ids, QuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Constructs a new InfluencerRepository with an empty list of influencers, the given ID
+     * registry and follower and ad rate sketches of the given accuracy.
+     *
+     * @param ids            the ID registry
+     * @param sketchAccuracy the relative accuracy of the segment sketches, between 0 and 1
+     * @throws IllegalArgumentException if the registry is null or the accuracy is not between 0 and 1
+     */
+    public InfluencerRepository(CatalogIds ids, double sketchAccuracy) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ID registry cannot be null");
+        }
+        this.ids = ids;
         this.influencers = new ArrayList<>();
+        this.nameIndex = new HashMap<>();
+        this.facets = new FacetCounts();
+        this.sketches = new SegmentSketches(sketchAccuracy);
     }
 
     @Override
@@ -24,11 +89,34 @@ public class InfluencerRepository implements IRepository<Influencer> {
             throw new IllegalArgumentException("Entity cannot be null");
         }
 
-        // Remove existing influencer with same name if exists
-        influencers.removeIf(i -> i.getName().equals(entity.getName()));
+        put(entity);
+        compactIfSparse();
+    }
 
-        // Add the new/updated influencer
-        influencers.add(entity);
+    /**
+     * Saves a batch of influencers. Each influencer is appended in place and indexed as it goes,
+     * with later entries winning over earlier ones of the same name, so a batch of B influencers
+     * costs O(B) however large the catalog already is.
+     *
+     * @param entities the influencers to save
+     * @throws IllegalArgumentException if the collection or any of its elements is null
+     */
+    @Override
+    public void saveAll(Collection<? extends Influencer> entities) {
+        if (entities == null) {
+            throw new IllegalArgumentException("Entities cannot be null");
+        }
+        for (Influencer entity : entities) {
+            if (entity == null) {
+                throw new IllegalArgumentException("Entity cannot be null");
+            }
+        }
+
+        influencers.ensureCapacity(influencers.size() + entities.size());
+        for (Influencer entity : entities) {
+            put(entity);
+        }
+        compactIfSparse();
     }
 
     @Override
@@ -37,43 +125,49 @@ public class InfluencerRepository implements IRepository<Influencer> {
             throw new IllegalArgumentException("Entity cannot be null");
         }
 
-        influencers.remove(entity);
+        Integer position = nameIndex.get(entity.getName());
+        if (position != null && influencers.get(position).equals(entity)) {
+            untrack(influencers.set(position, null));
+            nameIndex.remove(entity.getName());
+            emptySlots++;
+            compactIfSparse();
+        }
     }
 
     @Override
     public List<Influencer> findAll() {
-        return new ArrayList<>(influencers);
+        return new ArrayList<>(live());
     }
 
     @Override
     public List<Influencer> searchByName(String name) {
         if (name == null || name.isEmpty()) {
-            return new ArrayList<>(influencers);
+            return new ArrayList<>(live());
         }
 
         String searchName = name.toLowerCase();
-        return influencers.stream()
+        return live().stream()
                 .filter(i -> i.getName().toLowerCase().contains(searchName))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Influencer> filterByPlatform(String platform) {
-        return influencers.stream()
+        return live().stream()
                 .filter(i -> i.getPlatform().equalsIgnoreCase(platform))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Influencer> filterByCategory(String category) {
-        return influencers.stream()
+        return live().stream()
                 .filter(i -> i.getCategory().equalsIgnoreCase(category))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Influencer> filterByFollowerRange(int min, int max) {
-        return influencers.stream()
+        return live().stream()
                 .filter(i -> {
                     int followers = i.getFollowers();
                     return followers >= min && (max == 0 || followers <= max);
@@ -83,29 +177,171 @@ public class InfluencerRepository implements IRepository<Influencer> {
 
     @Override
     public List<Influencer> filterByCountry(String country) {
-        return influencers.stream()
+        return live().stream()
                 .filter(i -> i.getCountry().equalsIgnoreCase(country))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Influencer> sortByName() {
-        return influencers.stream()
+        return live().stream()
                 .sorted(Comparator.comparing(Influencer::getName))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Influencer> sortByFollowers() {
-        return influencers.stream()
+        return live().stream()
                 .sorted(Comparator.comparingInt(Influencer::getFollowers).reversed())
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Influencer> sortByAdRate() {
-        return influencers.stream()
+        return live().stream()
                 .sorted(Comparator.comparingDouble(Influencer::getAdRate).reversed())
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Groups the catalog by an attribute and computes follower and ad rate statistics per group.
+     * The catalog is scanned once, in parallel for large catalogs, without copying it.
+     *
+     * @param groupBy the attribute to group by
+     * @return the aggregation
+     * @throws IllegalArgumentException if the attribute is null
+     */
+    public Aggregation aggregate(GroupBy groupBy) {
+        return Aggregation.of(live(), groupBy);
+    }
+
+    /**
+     * Ranks the catalog by a score formula and returns the K best influencers.
+     *
+     * @param formula the formula to score influencers by
+     * @param k       the maximum number of results
+     * @return the best influencers with their scores, highest score first
+     * @throws IllegalArgumentException if the formula is null or K is not positive
+     */
+    public List<ScoredInfluencer> rank(ScoreFormula formula, int k) {
+        return Ranking.top(live(), formula, k);
+    }
+
+    /**
+     * Gets the number of influencers for each value of an attribute, as maintained on save and delete.
+     *
+     * @param groupBy the attribute
+     * @return the counts by value, largest first
+     * @throws IllegalArgumentException if the attribute is null
+     */
+    public Map<String, Integer> getFacetCounts(GroupBy groupBy) {
+        return facets.getCounts(groupBy);
+    }
+
+    /**
+     * Gets the follower and ad rate sketches of the catalog and its segments, as maintained on save
+     * and delete.
+     *
+     * @return the segment sketches
+     */
+    public SegmentSketches getSketches() {
+        return sketches;
+    }
+
+    /**
+     * Gets the registry assigning this catalog's stable IDs. Catalogs that replace this one should
+     * be built with the same registry.
+     *
+     * @return the ID registry
+     */
+    public CatalogIds getIds() {
+        return ids;
+    }
+
+    /**
+     * Finds an influencer by its stable ID.
+     *
+     * @param id the influencer ID
+     * @return the influencer with that ID in this repository, or null if there is none
+     */
+    public Influencer findById(int id) {
+        if (id < 0 || id >= ids.size()) {
+            return null;
+        }
+        Integer position = nameIndex.get(ids.nameOf(id));
+        return position == null ? null : influencers.get(position);
+    }
+
+    /**
+     * Adds an influencer to the facet counts and segment sketches.
+     *
+     * @param influencer the influencer entering the catalog
+     */
+    private void track(Influencer influencer) {
+        facets.add(influencer);
+        sketches.add(influencer);
+    }
+
+    /**
+     * Removes an influencer from the facet counts and segment sketches.
+     *
+     * @param influencer the influencer leaving the catalog
+     */
+    private void untrack(Influencer influencer) {
+        facets.remove(influencer);
+        sketches.remove(influencer);
+    }
+
+    /**
+     * Adds an influencer at the end of the catalog, leaving an empty slot where an influencer of the
+     * same name used to be.
+     *
+     * @param entity the influencer to add
+     */
+    private void put(Influencer entity) {
+        Integer existing = nameIndex.put(entity.getName(), influencers.size());
+        if (existing != null) {
+            untrack(influencers.set(existing, null));
+            emptySlots++;
+        }
+        track(entity);
+        influencers.add(entity);
+    }
+
+    /**
+     * Gets the influencers in catalog order, first compacting away any empty slots.
+     *
+     * @return the live list of influencers
+     */
+    private List<Influencer> live() {
+        if (emptySlots > 0) {
+            compact();
+        }
+        return influencers;
+    }
+
+    /**
+     * Compacts the catalog once empty slots outnumber influencers, which keeps the cost of
+     * compaction amortized O(1) per save or delete.
+     */
+    private void compactIfSparse() {
+        if (emptySlots > influencers.size() - emptySlots) {
+            compact();
+        }
+    }
+
+    /**
+     * Removes the empty slots and reindexes the remaining influencers.
+     */
+    private void compact() {
+        ArrayList<Influencer> compacted = new ArrayList<>(influencers.size() - emptySlots);
+        for (Influencer influencer : influencers) {
+            if (influencer != null) {
+                nameIndex.put(influencer.getName(), compacted.size());
+                compacted.add(influencer);
+            }
+        }
+        influencers = compacted;
+        emptySlots = 0;
+    }
 }
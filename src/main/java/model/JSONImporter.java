@@ -24,44 +24,90 @@ import java.util.regex.Pattern;
  */
 public class JSONImporter extends AbstractImporter {
 
+    private static final Pattern JSON_OBJECT_PATTERN = Pattern.compile("\\{[^\\{\\}]*\\}");
+
     /**
      * Parses the content of a JSON file into a list of Influencer objects.
      * Uses regex to find and parse individual JSON objects.
      *
      * @param content the JSON content to parse
+     * @param errors  the rejected rows of the running import
      * @return a list of parsed Influencer objects
      * @throws IllegalArgumentException if content is null
      */
     @Override
-    protected List<Influencer> parseData(String content) {
+    protected List<Influencer> parseData(String content, ImportErrors errors) {
         List<Influencer> influencers = new ArrayList<>();
 
+        parseInBatches(content, Integer.MAX_VALUE, (batch, progress) -> {
+            influencers.addAll(batch);
+            return true;
+        }, errors);
+
+        return influencers;
+    }
+
+    /**
+     * Parses the content of a JSON file object by object, handing influencers to the handler
+     * every time a batch fills up. Progress is reported as the fraction of characters consumed.
+     *
+     * @param content   the JSON content to parse
+     * @param batchSize the maximum number of influencers per batch
+     * @param handler   the handler receiving each batch
+     * @param errors    the rejected rows of the running import
+     * @return true if all batches were handed over, false if the handler stopped the import
+     */
+    @Override
+    protected boolean parseInBatches(String content, int batchSize, IImportBatchHandler handler,
+                                     ImportErrors errors) {
         if (content == null || content.isEmpty()) {
-            return influencers;
+            return true;
         }
 
         // Simple JSON parsing using regex for demonstration
         // For production code, consider using a proper JSON library like Jackson
 
         // Find each JSON object
-        String jsonObjectPattern = "\\{[^\\{\\}]*\\}";
-        Pattern pattern = Pattern.compile(jsonObjectPattern);
-        Matcher matcher = pattern.matcher(content);
+        Matcher matcher = JSON_OBJECT_PATTERN.matcher(content);
+
+        // Line numbers are only worked out for rejected objects, scanning forward from the last one
+        int scannedTo = 0;
+        long line = 1;
 
+        List<Influencer> batch = new ArrayList<>();
         while (matcher.find()) {
             String jsonObject = matcher.group();
+            ImportErrors.Reason rejection;
             try {
                 Influencer influencer = parseJSONObject(jsonObject);
+                rejection = influencer == null ? ImportErrors.Reason.MISSING_FIELD : null;
                 if (influencer != null) {
-                    influencers.add(influencer);
+                    batch.add(influencer);
                 }
-            } catch (Exception e) {
-                System.err.println("Error parsing JSON object: " + jsonObject);
-                e.printStackTrace();
+            } catch (NumberFormatException e) {
+                rejection = ImportErrors.Reason.INVALID_NUMBER;
+            } catch (RuntimeException e) {
+                rejection = ImportErrors.Reason.MALFORMED;
+            }
+
+            if (rejection != null) {
+                for (; scannedTo < matcher.start(); scannedTo++) {
+                    if (content.charAt(scannedTo) == '\n') {
+                        line++;
+                    }
+                }
+                rejectRow(errors, line, rejection, jsonObject);
+            }
+
+            if (batch.size() >= batchSize) {
+                if (!handler.onBatch(batch, (double) matcher.end() / content.length())) {
+                    return false;
+                }
+                batch = new ArrayList<>();
             }
         }
 
-        return influencers;
+        return batch.isEmpty() || handler.onBatch(batch, 1.0);
     }
 
     /**
@@ -69,9 +115,8 @@ public class JSONImporter extends AbstractImporter {
      * Extracts and validates all required fields.
      *
      * @param jsonObject the JSON object string to parse
-     * @return the parsed Influencer object, or null if parsing fails
-     * @throws NumberFormatException if numeric fields cannot be parsed
-     * @throws IllegalArgumentException if required fields are missing
+     * @return the parsed Influencer object, or null if a required field is missing
+     * @throws NumberFormatException if numeric fields cannot be parsed or the ad rate is not finite
      */
     private Influencer parseJSONObject(String jsonObject) {
         // Extract each field using regex
@@ -85,20 +130,16 @@ public class JSONImporter extends AbstractImporter {
         // Validate fields
         if (name == null || platform == null || category == null ||
                 followerCountStr == null || country == null || adRateStr == null) {
-            System.err.println("Missing required fields in JSON object: " + jsonObject);
             return null;
         }
 
-        try {
-            int followerCount = Integer.parseInt(followerCountStr);
-            double adRate = Double.parseDouble(adRateStr);
-
-            return new Influencer(name, platform, category, followerCount, adRate, country);
-        } catch (NumberFormatException e) {
-            System.err.println("Error parsing numbers in JSON object: " + jsonObject);
-            e.printStackTrace();
-            return null;
+        int followerCount = Integer.parseInt(followerCountStr);
+        double adRate = Double.parseDouble(adRateStr);
+        if (!Double.isFinite(adRate)) {
+            throw new NumberFormatException("Ad rate must be finite: " + adRateStr);
         }
+
+        return new Influencer(name, platform, category, followerCount, adRate, country);
     }
 
     /**
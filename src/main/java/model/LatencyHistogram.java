@@ -0,0 +1,156 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free histogram of latencies in nanoseconds.
+ *
+ * <p>Values are counted in log-linear buckets in the style of HdrHistogram: each power-of-two range
+ * is split into 64 equal sub-buckets, so any recorded value is reported within about 1.6% of its
+ * true value while the whole range of a {@code long} fits in a few thousand counters. Recording is
+ * a handful of atomic increments with no allocation, so it is safe to call on every request from
+ * any thread. Percentiles are computed from the counters on demand and report the highest value
+ * that falls in the matching bucket.</p>
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1;
+    private static final int BUCKET_COUNT = 64 - SUB_BUCKET_BITS;
+    private static final int COUNTS_LENGTH = (BUCKET_COUNT + 1) << SUB_BUCKET_HALF_BITS;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong totalNanos;
+    private final AtomicLong minNanos;
+    private final AtomicLong maxNanos;
+
+    /**
+     * Constructs an empty LatencyHistogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(COUNTS_LENGTH);
+        this.totalCount = new AtomicLong();
+        this.totalNanos = new AtomicLong();
+        this.minNanos = new AtomicLong(Long.MAX_VALUE);
+        this.maxNanos = new AtomicLong();
+    }
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values, which a non-monotonic clock can produce,
+     *              are recorded as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        minNanos.accumulateAndGet(value, Math::min);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Gets the smallest recorded latency.
+     *
+     * @return the minimum in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMin() {
+        return getCount() == 0 ? 0L : minNanos.get();
+    }
+
+    /**
+     * Gets the largest recorded latency.
+     *
+     * @return the maximum in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Gets the mean of the recorded latencies.
+     *
+     * @return the mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0.0 : (double) totalNanos.get() / count;
+    }
+
+    /**
+     * Gets the latency at or below which the given percentage of recorded latencies fall.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the latency in nanoseconds, or 0 if nothing was recorded
+     * @throws IllegalArgumentException if the percentile is outside 0 to 100
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0 || Double.isNaN(percentile)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+
+        long count = getCount();
+        if (count == 0) {
+            return 0L;
+        }
+        long target = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueAt(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Clears all recorded latencies.
+     */
+    public void reset() {
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            counts.set(i, 0L);
+        }
+        totalCount.set(0L);
+        totalNanos.set(0L);
+        minNanos.set(Long.MAX_VALUE);
+        maxNanos.set(0L);
+    }
+
+    /**
+     * Finds the counter for a value. Values below 128 get a counter each; above that, the bucket is
+     * chosen by the position of the highest set bit and the sub-bucket by the next six bits.
+     *
+     * @param value the non-negative value
+     * @return the counter index
+     */
+    private static int indexOf(long value) {
+        int bucket = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_HALF_BITS);
+        int subBucket = (int) (value >>> bucket);
+        return (bucket << SUB_BUCKET_HALF_BITS) + subBucket;
+    }
+
+    /**
+     * Gets the highest value that maps to a counter.
+     *
+     * @param index the counter index
+     * @return the highest value counted by it
+     */
+    private static long highestValueAt(int index) {
+        int bucket = Math.max(0, (index >> SUB_BUCKET_HALF_BITS) - 1);
+        long subBucket = index - ((long) bucket << SUB_BUCKET_HALF_BITS);
+        long next = (subBucket + 1) << bucket;
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+}
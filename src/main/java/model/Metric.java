@@ -0,0 +1,71 @@
+package model;
+
+/**
+ * Built-in {@link ScoreTerm score terms} over influencer fields.
+ */
+public enum Metric implements ScoreTerm {
+    /** The follower count. */
+    FOLLOWERS("followers"),
+    /** The ad rate in dollars. */
+    AD_RATE("adRate"),
+    /** Followers per dollar of ad rate. Ad rates below one dollar count as one dollar. */
+    FOLLOWERS_PER_DOLLAR("followersPerDollar"),
+    /** The natural logarithm of one plus the follower count, which rewards reach with diminishing returns. */
+    LOG_FOLLOWERS("logFollowers");
+
+    private final String name;
+
+    Metric(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void accumulate(int[] followers, double[] adRates, int length, double weight, double[] scores) {
+        switch (this) {
+            case FOLLOWERS:
+                for (int i = 0; i < length; i++) {
+                    scores[i] += weight * followers[i];
+                }
+                break;
+            case AD_RATE:
+                for (int i = 0; i < length; i++) {
+                    scores[i] += weight * adRates[i];
+                }
+                break;
+            case FOLLOWERS_PER_DOLLAR:
+                for (int i = 0; i < length; i++) {
+                    scores[i] += weight * followers[i] / Math.max(adRates[i], 1.0);
+                }
+                break;
+            default:
+                for (int i = 0; i < length; i++) {
+                    scores[i] += weight * Math.log1p(followers[i]);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Parses a metric name, ignoring case.
+     *
+     * @param name the metric name, such as "followersPerDollar"
+     * @return the matching metric
+     * @throws IllegalArgumentException if the name is null or not a metric
+     */
+    public static Metric fromName(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Metric name cannot be null");
+        }
+        for (Metric metric : values()) {
+            if (metric.name.equalsIgnoreCase(name.trim())) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Unknown metric: " + name);
+    }
+}
@@ -0,0 +1,162 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms, counts and error rates.
+ *
+ * <p>Each operation name gets its own {@link LatencyHistogram} and error counter the first time it
+ * is recorded. While the registry is disabled, {@link #record(String, long, boolean)} returns
+ * immediately and callers can skip reading the clock by checking {@link #isEnabled()} first, so
+ * leaving the instrumentation in place costs one volatile read per operation.</p>
+ */
+public class MetricsRegistry {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<String, LatencyHistogram> latencies;
+    private final Map<String, LongAdder> errors;
+    private volatile boolean enabled;
+
+    /**
+     * Constructs a MetricsRegistry.
+     *
+     * @param enabled whether operations are recorded from the start
+     */
+    public MetricsRegistry(boolean enabled) {
+        this.latencies = new ConcurrentHashMap<>();
+        this.errors = new ConcurrentHashMap<>();
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether operations are being recorded.
+     *
+     * @return true if recording is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off. Recorded metrics are kept either way.
+     *
+     * @param enabled whether operations should be recorded
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Records one completed operation. Does nothing while recording is disabled.
+     *
+     * @param operation the operation name
+     * @param nanos     how long the operation took, in nanoseconds
+     * @param failed    whether the operation failed
+     * @throws IllegalArgumentException if the operation name is null
+     */
+    public void record(String operation, long nanos, boolean failed) {
+        if (!enabled) {
+            return;
+        }
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null");
+        }
+
+        latencies.computeIfAbsent(operation, name -> new LatencyHistogram()).record(nanos);
+        if (failed) {
+            errors.computeIfAbsent(operation, name -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Gets the names of all recorded operations, sorted alphabetically.
+     *
+     * @return the operation names
+     */
+    public List<String> getOperations() {
+        List<String> operations = new ArrayList<>(latencies.keySet());
+        Collections.sort(operations);
+        return operations;
+    }
+
+    /**
+     * Gets the latency histogram of an operation.
+     *
+     * @param operation the operation name
+     * @return the histogram, or null if the operation was never recorded
+     */
+    public LatencyHistogram getHistogram(String operation) {
+        return operation == null ? null : latencies.get(operation);
+    }
+
+    /**
+     * Gets the number of times an operation was recorded.
+     *
+     * @param operation the operation name
+     * @return the count, or 0 if the operation was never recorded
+     */
+    public long getCount(String operation) {
+        LatencyHistogram histogram = getHistogram(operation);
+        return histogram == null ? 0L : histogram.getCount();
+    }
+
+    /**
+     * Gets the number of times an operation failed.
+     *
+     * @param operation the operation name
+     * @return the error count
+     */
+    public long getErrorCount(String operation) {
+        LongAdder count = operation == null ? null : errors.get(operation);
+        return count == null ? 0L : count.sum();
+    }
+
+    /**
+     * Gets the fraction of recorded operations that failed.
+     *
+     * @param operation the operation name
+     * @return the error rate from 0 to 1, or 0 if the operation was never recorded
+     */
+    public double getErrorRate(String operation) {
+        long count = getCount(operation);
+        return count == 0 ? 0.0 : (double) getErrorCount(operation) / count;
+    }
+
+    /**
+     * Clears all recorded metrics.
+     */
+    public void reset() {
+        latencies.clear();
+        errors.clear();
+    }
+
+    /**
+     * Formats the recorded metrics as a table with one row per operation and latencies in milliseconds.
+     *
+     * @return the formatted report
+     */
+    public String report() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%-24s %8s %8s %7s %10s %10s %10s %10s %10s%n",
+                "Operation", "Count", "Errors", "Error%", "Mean ms", "p50 ms", "p90 ms", "p99 ms", "Max ms"));
+        for (String operation : getOperations()) {
+            LatencyHistogram histogram = latencies.get(operation);
+            builder.append(String.format("%-24s %8d %8d %6.1f%% %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                    operation,
+                    histogram.getCount(),
+                    getErrorCount(operation),
+                    getErrorRate(operation) * 100.0,
+                    histogram.getMean() / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(50.0) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(90.0) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.0) / NANOS_PER_MILLI,
+                    histogram.getMax() / NANOS_PER_MILLI));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,775 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Repository implementation that keeps influencer data outside the Java heap.
+ *
+ * <p>Rows are stored column by column in direct buffers: fixed-width int columns for the string
+ * offsets, name hashes and follower counts, a double column for ad rates and a byte column marking
+ * live rows. Strings live in a separate direct buffer as length-prefixed UTF-8 entries addressed by
+ * offset. Platform, category and country values repeat heavily, so each distinct value is stored only
+ * once and rows share its offset. A linear-probing hash table of row numbers, also off-heap, finds
+ * rows by name.</p>
+ *
+ * <p>{@link Influencer} objects are only created when results are returned from the public methods.
+ * Like {@link InfluencerRepository}, influencers are unique by name and saving an existing name moves
+ * the updated influencer to the end. Replaced and deleted rows are reclaimed by compacting the buffers
+ * once they outnumber the live rows. Each column is limited to {@code Integer.MAX_VALUE} bytes.
+ * Platform, category and country facet counts and segment sketches are kept on the heap and
+ * updated on save and delete.</p>
+ */
+public class OffHeapInfluencerRepository implements IRepository<Influencer> {
+    private static final int INITIAL_ROWS = 1024;
+    private static final int INITIAL_STRING_BYTES = 64 * 1024;
+    private static final int MAX_BUFFER_BYTES = Integer.MAX_VALUE - 8;
+    private static final int NULL_STRING = -1;
+    private static final int EMPTY_SLOT = 0;
+
+    private IntBuffer names;
+    private IntBuffer platforms;
+    private IntBuffer categories;
+    private IntBuffer countries;
+    private IntBuffer nameHashes;
+    private IntBuffer followers;
+    private DoubleBuffer adRates;
+    private ByteBuffer live;
+    private ByteBuffer strings;
+    private IntBuffer nameTable;
+    private int rowCapacity;
+    private int rowCount;
+    private int liveCount;
+    private int stringBytes;
+    private Map<String, Integer> sharedOffsets;
+    private Map<Integer, String> sharedValues;
+    private final FacetCounts facets;
+    private final SegmentSketches sketches;
+
+    /**
+     * Constructs a new, empty OffHeapInfluencerRepository.
+     */
+    public OffHeapInfluencerRepository() {
+        this(QuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Constructs a new, empty OffHeapInfluencerRepository with follower and ad rate sketches of the
+     * given accuracy.
+     *
+     * @param sketchAccuracy the relative accuracy of the segment sketches, between 0 and 1
+     * @throws IllegalArgumentException if the accuracy is not between 0 and 1
+     */
+    public OffHeapInfluencerRepository(double sketchAccuracy) {
+        this.facets = new FacetCounts();
+        this.sketches = new SegmentSketches(sketchAccuracy);
+        allocate(INITIAL_ROWS, INITIAL_STRING_BYTES);
+    }
+
+    @Override
+    public void save(Influencer entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("Entity cannot be null");
+        }
+
+        byte[] nameBytes = encode(entity.getName());
+        int hash = Objects.hashCode(entity.getName());
+        if ((liveCount + 1) * 2 > nameTable.capacity()) {
+            rebuildNameTable(nameTable.capacity() * 2);
+        }
+
+        int slot = findSlot(nameBytes, hash);
+        if (slot >= 0) {
+            // Replace the existing influencer with the same name and move it to the end
+            int oldRow = nameTable.get(slot) - 1;
+            live.put(oldRow, (byte) 0);
+            liveCount--;
+            String oldPlatform = readSharedString(platforms.get(oldRow));
+            String oldCategory = readSharedString(categories.get(oldRow));
+            String oldCountry = readSharedString(countries.get(oldRow));
+            facets.adjust(oldPlatform, oldCategory, oldCountry, -1);
+            sketches.adjust(oldPlatform, oldCategory, oldCountry, followers.get(oldRow), adRates.get(oldRow), false);
+        } else {
+            slot = -slot - 1;
+        }
+
+        int row = appendRow(entity, nameBytes, hash);
+        nameTable.put(slot, row + 1);
+        liveCount++;
+        facets.add(entity);
+        sketches.add(entity);
+        compactIfSparse();
+    }
+
+    /**
+     * Saves a batch of influencers. Each row is appended once and located by name through the
+     * hash table, so the batch is deduplicated in a single hashed pass.
+     *
+     * @param entities the influencers to save
+     * @throws IllegalArgumentException if the collection or any of its elements is null
+     */
+    @Override
+    public void saveAll(Collection<? extends Influencer> entities) {
+        if (entities == null) {
+            throw new IllegalArgumentException("Entities cannot be null");
+        }
+        for (Influencer entity : entities) {
+            if (entity == null) {
+                throw new IllegalArgumentException("Entity cannot be null");
+            }
+        }
+
+        ensureRowCapacity(rowCount + entities.size());
+        for (Influencer entity : entities) {
+            save(entity);
+        }
+    }
+
+    @Override
+    public void delete(Influencer entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("Entity cannot be null");
+        }
+
+        int slot = findSlot(encode(entity.getName()), Objects.hashCode(entity.getName()));
+        if (slot < 0) {
+            return;
+        }
+
+        int row = nameTable.get(slot) - 1;
+        if (materialize(row).equals(entity)) {
+            live.put(row, (byte) 0);
+            liveCount--;
+            removeSlot(slot);
+            facets.remove(entity);
+            sketches.remove(entity);
+            compactIfSparse();
+        }
+    }
+
+    @Override
+    public List<Influencer> findAll() {
+        List<Influencer> result = new ArrayList<>(liveCount);
+        for (int row = 0; row < rowCount; row++) {
+            if (live.get(row) != 0) {
+                result.add(materialize(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of influencers in the repository.
+     *
+     * @return the number of live rows
+     */
+    public int size() {
+        return liveCount;
+    }
+
+    @Override
+    public List<Influencer> searchByName(String name) {
+        if (name == null || name.isEmpty()) {
+            return findAll();
+        }
+
+        String searchName = name.toLowerCase();
+        List<Influencer> result = new ArrayList<>();
+        for (int row = 0; row < rowCount; row++) {
+            if (live.get(row) != 0) {
+                String rowName = readString(names.get(row));
+                if (rowName.toLowerCase().contains(searchName)) {
+                    result.add(materialize(row));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Influencer> filterByPlatform(String platform) {
+        return filterByOffset(platforms, matchingOffsets(platform));
+    }
+
+    @Override
+    public List<Influencer> filterByCategory(String category) {
+        return filterByOffset(categories, matchingOffsets(category));
+    }
+
+    @Override
+    public List<Influencer> filterByFollowerRange(int min, int max) {
+        List<Influencer> result = new ArrayList<>();
+        for (int row = 0; row < rowCount; row++) {
+            int count = followers.get(row);
+            if (live.get(row) != 0 && count >= min && (max == 0 || count <= max)) {
+                result.add(materialize(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Influencer> filterByCountry(String country) {
+        return filterByOffset(countries, matchingOffsets(country));
+    }
+
+    @Override
+    public List<Influencer> sortByName() {
+        int[] rows = liveRows();
+        String[] rowNames = new String[rowCount];
+        for (int row : rows) {
+            rowNames[row] = readString(names.get(row));
+        }
+        return materializeSorted(rows, Comparator.comparing(row -> rowNames[row]));
+    }
+
+    @Override
+    public List<Influencer> sortByFollowers() {
+        return materializeSorted(liveRows(),
+                Comparator.comparingInt((Integer row) -> followers.get(row)).reversed());
+    }
+
+    @Override
+    public List<Influencer> sortByAdRate() {
+        return materializeSorted(liveRows(),
+                Comparator.comparingDouble((Integer row) -> adRates.get(row)).reversed());
+    }
+
+    /**
+     * Groups the catalog by an attribute and computes follower and ad rate statistics per group.
+     * Rows are read straight from the key, follower and ad rate columns without materializing
+     * influencers, and large catalogs are scanned in parallel over ranges of rows.
+     *
+     * @param groupBy the attribute to group by
+     * @return the aggregation
+     * @throws IllegalArgumentException if the attribute is null
+     */
+    public Aggregation aggregate(GroupBy groupBy) {
+        if (groupBy == null) {
+            throw new IllegalArgumentException("Group-by attribute cannot be null");
+        }
+
+        IntBuffer keys = groupBy == GroupBy.PLATFORM ? platforms
+                : groupBy == GroupBy.CATEGORY ? categories
+                : countries;
+        IntStream rows = IntStream.range(0, rowCount);
+        if (rowCount >= Aggregation.PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        Aggregation.Accumulator accumulator = rows.collect(Aggregation.Accumulator::new, (acc, row) -> {
+            if (live.get(row) != 0) {
+                acc.add(readSharedString(keys.get(row)), followers.get(row), adRates.get(row));
+            }
+        }, Aggregation.Accumulator::merge);
+        return accumulator.finish(groupBy);
+    }
+
+    /**
+     * Ranks the catalog by a score formula and returns the K best influencers. The follower and ad
+     * rate columns are copied out in bulk and scored in one pass; only the winning rows are
+     * materialized.
+     *
+     * @param formula the formula to score influencers by
+     * @param k       the maximum number of results
+     * @return the best influencers with their scores, highest score first
+     * @throws IllegalArgumentException if the formula is null or K is not positive
+     */
+    public List<ScoredInfluencer> rank(ScoreFormula formula, int k) {
+        if (formula == null) {
+            throw new IllegalArgumentException("Formula cannot be null");
+        }
+
+        int[] followerColumn = new int[rowCount];
+        double[] adRateColumn = new double[rowCount];
+        followers.get(0, followerColumn);
+        adRates.get(0, adRateColumn);
+        double[] scores = formula.evaluate(followerColumn, adRateColumn, rowCount);
+
+        int[] best = Ranking.topRows(scores, rowCount, k, row -> live.get(row) != 0);
+        List<ScoredInfluencer> results = new ArrayList<>(best.length);
+        for (int row : best) {
+            results.add(new ScoredInfluencer(materialize(row), scores[row]));
+        }
+        return results;
+    }
+
+    /**
+     * Gets the number of influencers for each value of an attribute, as maintained on save and delete.
+     *
+     * @param groupBy the attribute
+     * @return the counts by value, largest first
+     * @throws IllegalArgumentException if the attribute is null
+     */
+    public Map<String, Integer> getFacetCounts(GroupBy groupBy) {
+        return facets.getCounts(groupBy);
+    }
+
+    /**
+     * Gets the follower and ad rate sketches of the catalog and its segments, as maintained on save
+     * and delete.
+     *
+     * @return the segment sketches
+     */
+    public SegmentSketches getSketches() {
+        return sketches;
+    }
+
+    /**
+     * Collects live rows whose string column points at one of the given offsets.
+     *
+     * @param column  the string offset column to test
+     * @param offsets the accepted offsets
+     * @return the matching influencers in storage order
+     */
+    private List<Influencer> filterByOffset(IntBuffer column, Set<Integer> offsets) {
+        List<Influencer> result = new ArrayList<>();
+        if (offsets.isEmpty()) {
+            return result;
+        }
+        for (int row = 0; row < rowCount; row++) {
+            if (live.get(row) != 0 && offsets.contains(column.get(row))) {
+                result.add(materialize(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the offsets of all shared string values equal to the given value, ignoring case.
+     *
+     * @param value the value to look for
+     * @return the offsets of the matching values
+     */
+    private Set<Integer> matchingOffsets(String value) {
+        Set<Integer> offsets = new HashSet<>();
+        if (value == null) {
+            return offsets;
+        }
+        for (Map.Entry<String, Integer> entry : sharedOffsets.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(value)) {
+                offsets.add(entry.getValue());
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * Gets the numbers of all live rows in storage order.
+     *
+     * @return the live row numbers
+     */
+    private int[] liveRows() {
+        int[] rows = new int[liveCount];
+        int next = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (live.get(row) != 0) {
+                rows[next++] = row;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Sorts row numbers with a stable sort and materializes the rows in that order.
+     *
+     * @param rows       the row numbers to sort
+     * @param comparator the ordering of row numbers
+     * @return the sorted influencers
+     */
+    private List<Influencer> materializeSorted(int[] rows, Comparator<Integer> comparator) {
+        Integer[] boxed = Arrays.stream(rows).boxed().toArray(Integer[]::new);
+        Arrays.sort(boxed, comparator);
+
+        List<Influencer> result = new ArrayList<>(boxed.length);
+        for (Integer row : boxed) {
+            result.add(materialize(row));
+        }
+        return result;
+    }
+
+    /**
+     * Creates an Influencer object from a stored row.
+     *
+     * @param row the row number
+     * @return the influencer stored in that row
+     */
+    private Influencer materialize(int row) {
+        return new Influencer(
+                readString(names.get(row)),
+                readSharedString(platforms.get(row)),
+                readSharedString(categories.get(row)),
+                followers.get(row),
+                adRates.get(row),
+                readSharedString(countries.get(row)));
+    }
+
+    /**
+     * Appends a row for the influencer.
+     *
+     * @param entity    the influencer to store
+     * @param nameBytes the UTF-8 encoded name, or null for a null name
+     * @param hash      the hash of the name
+     * @return the number of the new row
+     */
+    private int appendRow(Influencer entity, byte[] nameBytes, int hash) {
+        ensureRowCapacity(rowCount + 1);
+        int row = rowCount++;
+        names.put(row, appendString(nameBytes));
+        platforms.put(row, sharedOffset(entity.getPlatform()));
+        categories.put(row, sharedOffset(entity.getCategory()));
+        countries.put(row, sharedOffset(entity.getCountry()));
+        nameHashes.put(row, hash);
+        followers.put(row, entity.getFollowers());
+        adRates.put(row, entity.getAdRate());
+        live.put(row, (byte) 1);
+        return row;
+    }
+
+    /**
+     * Gets the offset of a frequently repeated value, storing it on first use.
+     *
+     * @param value the value to store
+     * @return the offset of the value in the string area
+     */
+    private int sharedOffset(String value) {
+        if (value == null) {
+            return NULL_STRING;
+        }
+        Integer offset = sharedOffsets.get(value);
+        if (offset == null) {
+            offset = appendString(encode(value));
+            sharedOffsets.put(value, offset);
+            sharedValues.put(offset, value);
+        }
+        return offset;
+    }
+
+    /**
+     * Reads a shared value without decoding it again.
+     *
+     * @param offset the offset of the value
+     * @return the value, or null for a null offset
+     */
+    private String readSharedString(int offset) {
+        return offset == NULL_STRING ? null : sharedValues.get(offset);
+    }
+
+    /**
+     * Appends a length-prefixed string to the string area.
+     *
+     * @param bytes the UTF-8 bytes to append, or null for a null string
+     * @return the offset of the string
+     */
+    private int appendString(byte[] bytes) {
+        if (bytes == null) {
+            return NULL_STRING;
+        }
+        ensureStringCapacity((long) stringBytes + Integer.BYTES + bytes.length);
+        int offset = stringBytes;
+        strings.putInt(offset, bytes.length);
+        ByteBuffer target = strings.duplicate();
+        target.position(offset + Integer.BYTES);
+        target.put(bytes);
+        stringBytes += Integer.BYTES + bytes.length;
+        return offset;
+    }
+
+    /**
+     * Decodes a string from the string area.
+     *
+     * @param offset the offset of the string
+     * @return the decoded string, or null for a null offset
+     */
+    private String readString(int offset) {
+        byte[] bytes = readBytes(strings, offset);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies the bytes of a length-prefixed string out of a string area.
+     *
+     * @param area   the string area to read from
+     * @param offset the offset of the string
+     * @return the UTF-8 bytes of the string, or null for a null offset
+     */
+    private static byte[] readBytes(ByteBuffer area, int offset) {
+        if (offset == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[area.getInt(offset)];
+        ByteBuffer source = area.duplicate();
+        source.position(offset + Integer.BYTES);
+        source.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Checks whether the string at an offset has exactly the given bytes.
+     *
+     * @param offset the offset of the stored string
+     * @param bytes  the bytes to compare against, or null for a null string
+     * @return true if the stored string matches
+     */
+    private boolean stringEquals(int offset, byte[] bytes) {
+        if (offset == NULL_STRING || bytes == null) {
+            return offset == NULL_STRING && bytes == null;
+        }
+        if (strings.getInt(offset) != bytes.length) {
+            return false;
+        }
+        int start = offset + Integer.BYTES;
+        for (int i = 0; i < bytes.length; i++) {
+            if (strings.get(start + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Looks up a name in the hash table.
+     *
+     * @param nameBytes the UTF-8 encoded name, or null for a null name
+     * @param hash      the hash of the name
+     * @return the slot holding the name, or {@code -(insertion slot) - 1} if the name is absent
+     */
+    private int findSlot(byte[] nameBytes, int hash) {
+        int mask = nameTable.capacity() - 1;
+        int slot = spread(hash) & mask;
+        while (true) {
+            int entry = nameTable.get(slot);
+            if (entry == EMPTY_SLOT) {
+                return -slot - 1;
+            }
+            int row = entry - 1;
+            if (nameHashes.get(row) == hash && stringEquals(names.get(row), nameBytes)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Empties a slot of the hash table, shifting later entries of the same probe run back
+     * so that lookups never stop early at the hole.
+     *
+     * @param slot the slot to empty
+     */
+    private void removeSlot(int slot) {
+        int mask = nameTable.capacity() - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (nameTable.get(next) != EMPTY_SLOT) {
+            int entry = nameTable.get(next);
+            int home = spread(nameHashes.get(entry - 1)) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                nameTable.put(hole, entry);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        nameTable.put(hole, EMPTY_SLOT);
+    }
+
+    /**
+     * Rebuilds the hash table from the live rows.
+     *
+     * @param capacity the new number of slots, a power of two
+     */
+    private void rebuildNameTable(int capacity) {
+        nameTable = newIntColumn(capacity);
+        int mask = capacity - 1;
+        for (int row = 0; row < rowCount; row++) {
+            if (live.get(row) != 0) {
+                int slot = spread(nameHashes.get(row)) & mask;
+                while (nameTable.get(slot) != EMPTY_SLOT) {
+                    slot = (slot + 1) & mask;
+                }
+                nameTable.put(slot, row + 1);
+            }
+        }
+    }
+
+    /**
+     * Compacts the buffers once replaced and deleted rows outnumber the live rows.
+     */
+    private void compactIfSparse() {
+        if (rowCount - liveCount > liveCount && rowCount > INITIAL_ROWS) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites all buffers with only the live rows, reclaiming the space of replaced and deleted rows.
+     */
+    private void compact() {
+        int[] rows = liveRows();
+        IntBuffer oldNames = names;
+        IntBuffer oldHashes = nameHashes;
+        IntBuffer oldFollowers = followers;
+        DoubleBuffer oldAdRates = adRates;
+        IntBuffer oldPlatforms = platforms;
+        IntBuffer oldCategories = categories;
+        IntBuffer oldCountries = countries;
+        ByteBuffer oldStrings = strings;
+        Map<Integer, String> oldShared = sharedValues;
+
+        allocate(Math.max(INITIAL_ROWS, rows.length * 2), Math.max(INITIAL_STRING_BYTES, stringBytes / 2));
+        for (int oldRow : rows) {
+            int row = rowCount++;
+            names.put(row, appendString(readBytes(oldStrings, oldNames.get(oldRow))));
+            platforms.put(row, sharedOffset(oldShared.get(oldPlatforms.get(oldRow))));
+            categories.put(row, sharedOffset(oldShared.get(oldCategories.get(oldRow))));
+            countries.put(row, sharedOffset(oldShared.get(oldCountries.get(oldRow))));
+            nameHashes.put(row, oldHashes.get(oldRow));
+            followers.put(row, oldFollowers.get(oldRow));
+            adRates.put(row, oldAdRates.get(oldRow));
+            live.put(row, (byte) 1);
+        }
+        liveCount = rows.length;
+        rebuildNameTable(nameTable.capacity());
+    }
+
+    /**
+     * Replaces all storage with empty buffers of the given sizes.
+     *
+     * @param rows        the initial row capacity
+     * @param stringArea  the initial size of the string area in bytes
+     */
+    private void allocate(int rows, int stringArea) {
+        rowCapacity = rows;
+        names = newIntColumn(rows);
+        platforms = newIntColumn(rows);
+        categories = newIntColumn(rows);
+        countries = newIntColumn(rows);
+        nameHashes = newIntColumn(rows);
+        followers = newIntColumn(rows);
+        adRates = ByteBuffer.allocateDirect(rows * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        live = ByteBuffer.allocateDirect(rows);
+        strings = ByteBuffer.allocateDirect(stringArea);
+        nameTable = newIntColumn(Integer.highestOneBit(rows) * 2);
+        rowCount = 0;
+        liveCount = 0;
+        stringBytes = 0;
+        sharedOffsets = new HashMap<>();
+        sharedValues = new HashMap<>();
+    }
+
+    /**
+     * Grows the row columns so they can hold at least the given number of rows.
+     *
+     * @param required the number of rows needed
+     */
+    private void ensureRowCapacity(int required) {
+        if (required <= rowCapacity) {
+            return;
+        }
+        long grown = Math.max(required, (long) rowCapacity * 2);
+        int capacity = (int) Math.min(grown, MAX_BUFFER_BYTES / Double.BYTES);
+        if (capacity < required) {
+            throw new IllegalStateException("Repository row capacity exceeded");
+        }
+
+        names = copyIntColumn(names, capacity);
+        platforms = copyIntColumn(platforms, capacity);
+        categories = copyIntColumn(categories, capacity);
+        countries = copyIntColumn(countries, capacity);
+        nameHashes = copyIntColumn(nameHashes, capacity);
+        followers = copyIntColumn(followers, capacity);
+
+        DoubleBuffer grownAdRates = ByteBuffer.allocateDirect(capacity * Double.BYTES)
+                .order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        DoubleBuffer oldAdRates = adRates.duplicate();
+        oldAdRates.clear();
+        grownAdRates.put(oldAdRates);
+        adRates = grownAdRates;
+
+        ByteBuffer grownLive = ByteBuffer.allocateDirect(capacity);
+        ByteBuffer oldLive = live.duplicate();
+        oldLive.clear();
+        grownLive.put(oldLive);
+        live = grownLive;
+
+        rowCapacity = capacity;
+    }
+
+    /**
+     * Grows the string area so it can hold at least the given number of bytes.
+     *
+     * @param required the number of bytes needed
+     */
+    private void ensureStringCapacity(long required) {
+        if (required <= strings.capacity()) {
+            return;
+        }
+        if (required > MAX_BUFFER_BYTES) {
+            throw new IllegalStateException("Repository string area exceeded");
+        }
+        int capacity = (int) Math.min(Math.max(required, (long) strings.capacity() * 2), MAX_BUFFER_BYTES);
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        ByteBuffer old = strings.duplicate();
+        old.position(0).limit(stringBytes);
+        grown.put(old);
+        strings = grown;
+    }
+
+    /**
+     * Allocates a zero-filled off-heap int column.
+     *
+     * @param capacity the number of values
+     * @return the new column
+     */
+    private static IntBuffer newIntColumn(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /**
+     * Copies an int column into a larger one.
+     *
+     * @param column   the column to copy
+     * @param capacity the capacity of the new column
+     * @return the new column
+     */
+    private static IntBuffer copyIntColumn(IntBuffer column, int capacity) {
+        IntBuffer grown = newIntColumn(capacity);
+        IntBuffer old = column.duplicate();
+        old.clear();
+        grown.put(old);
+        return grown;
+    }
+
+    /**
+     * Encodes a string as UTF-8.
+     *
+     * @param value the string to encode
+     * @return the encoded bytes, or null for a null string
+     */
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Spreads the bits of a hash code so that similar names do not cluster in the table.
+     *
+     * @param hash the hash code
+     * @return the spread hash
+     */
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
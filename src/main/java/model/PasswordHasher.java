@@ -0,0 +1,258 @@
+package model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.KeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Salted password hashing with PBKDF2 and a tunable work factor.
+ *
+ * <p>Hashes are stored as {@code pbkdf2$<iterations>$<salt>$<hash>} with Base64 salt and hash,
+ * so the iteration count can be raised later without invalidating existing hashes. Hashing and
+ * verification run on a small bounded worker pool; when the pool and its queue are full, new
+ * requests are rejected instead of piling up behind expensive key derivations. Successful
+ * verifications are remembered in a bounded cache keyed by a SHA-256 digest of the stored hash
+ * and the password, so repeated logins skip the key derivation.</p>
+ */
+public class PasswordHasher {
+
+    /** Default number of PBKDF2 iterations. */
+    public static final int DEFAULT_ITERATIONS = 120_000;
+
+    private static final String PREFIX = "pbkdf2";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int CACHE_CAPACITY = 1024;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private final int iterations;
+    private final SecureRandom random;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, Boolean> verifiedCache;
+
+    /**
+     * Constructs a PasswordHasher with the default iteration count and one worker per processor.
+     */
+    public PasswordHasher() {
+        this(DEFAULT_ITERATIONS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a PasswordHasher.
+     *
+     * @param iterations    the PBKDF2 iteration count used for new hashes
+     * @param workerThreads the maximum number of hashes computed at the same time
+     * @throws IllegalArgumentException if either value is not positive
+     */
+    public PasswordHasher(int iterations, int workerThreads) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Iterations must be positive");
+        }
+        if (workerThreads <= 0) {
+            throw new IllegalArgumentException("Worker threads must be positive");
+        }
+        this.iterations = iterations;
+        this.random = new SecureRandom();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.workers.allowCoreThreadTimeOut(true);
+        this.verifiedCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > CACHE_CAPACITY;
+            }
+        };
+    }
+
+    /**
+     * Gets the iteration count used for new hashes.
+     *
+     * @return the iteration count
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Checks whether a stored value is a hash produced by this class.
+     *
+     * @param stored the stored password value
+     * @return true if the value is a PBKDF2 hash, false if it is null or a legacy plaintext password
+     */
+    public static boolean isHash(String stored) {
+        return stored != null && stored.startsWith(PREFIX + "$") && stored.split("\\$").length == 4;
+    }
+
+    /**
+     * Hashes a password with a fresh random salt.
+     *
+     * @param password the password to hash
+     * @return the encoded hash
+     * @throws IllegalArgumentException if the password is null
+     * @throws IllegalStateException if the worker pool is saturated
+     */
+    public String hash(String password) {
+        if (password == null) {
+            throw new IllegalArgumentException("Password cannot be null");
+        }
+
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = submit(() -> derive(password, salt, iterations));
+        Base64.Encoder encoder = Base64.getEncoder();
+        return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Checks a password against a stored hash.
+     *
+     * @param password the password to check
+     * @param stored   the stored hash
+     * @return true if the password matches, false if it does not, the hash is malformed,
+     *         or the worker pool is saturated
+     */
+    public boolean verify(String password, String stored) {
+        if (password == null || !isHash(stored)) {
+            return false;
+        }
+
+        String cacheKey = cacheKey(password, stored);
+        synchronized (verifiedCache) {
+            if (verifiedCache.containsKey(cacheKey)) {
+                return true;
+            }
+        }
+
+        String[] parts = stored.split("\\$");
+        byte[] expected;
+        byte[] salt;
+        int storedIterations;
+        try {
+            storedIterations = Integer.parseInt(parts[1]);
+            salt = Base64.getDecoder().decode(parts[2]);
+            expected = Base64.getDecoder().decode(parts[3]);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (storedIterations <= 0) {
+            return false;
+        }
+
+        byte[] actual;
+        try {
+            actual = submit(() -> derive(password, salt, storedIterations));
+        } catch (IllegalStateException e) {
+            System.err.println("Password verification failed: " + e.getMessage());
+            return false;
+        }
+
+        boolean matches = MessageDigest.isEqual(expected, actual);
+        if (matches) {
+            synchronized (verifiedCache) {
+                verifiedCache.put(cacheKey, Boolean.TRUE);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Checks whether a stored hash was computed with fewer iterations than currently configured.
+     *
+     * @param stored the stored hash
+     * @return true if the hash should be recomputed at the current cost
+     */
+    public boolean needsRehash(String stored) {
+        if (!isHash(stored)) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(stored.split("\\$")[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Stops the worker pool. Hashes already queued are still computed.
+     */
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Runs a key derivation on the worker pool and waits for its result.
+     *
+     * @param task the derivation to run
+     * @return the derived key
+     * @throws IllegalStateException if the pool is saturated or the derivation fails
+     */
+    private byte[] submit(Callable<byte[]> task) {
+        try {
+            return workers.submit(task).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Too many password checks in progress", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Error hashing password", e);
+        }
+    }
+
+    /**
+     * Derives a PBKDF2 key.
+     *
+     * @param password   the password
+     * @param salt       the salt
+     * @param iterations the iteration count
+     * @return the derived key
+     * @throws GeneralSecurityException if the algorithm is not available
+     */
+    private static byte[] derive(String password, byte[] salt, int iterations) throws GeneralSecurityException {
+        KeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+    }
+
+    /**
+     * Builds the verification cache key, so that plaintext passwords are never kept in memory.
+     *
+     * @param password the password
+     * @param stored   the stored hash
+     * @return the Base64 SHA-256 digest of the stored hash and password
+     */
+    private static String cacheKey(String password, String stored) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(stored.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package model;
+
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Influencer repository whose contents survive restarts and crashes.
+ *
+ * <p>Every save and delete is appended to a {@link CatalogWriteAheadLog} before it is applied in
+ * memory, so a mutation costs one small append instead of rewriting the catalog. Once the log holds
+ * enough records it is compacted: the whole catalog is written as a {@link CatalogSnapshot} and the
+ * log is truncated. Opening the repository loads the latest snapshot and replays the log on top.</p>
+ *
+ * <p>The whole catalog can also be replaced, for example by a finished import, through
+ * {@link #replaceWith(Collection)}. The replacement is written to a new generation of snapshot and
+ * log files off to the side, and a small {@code CURRENT} file naming the generation is switched
+ * atomically once those files are on disk, so a crash leaves either the old catalog or the new one.
+ * Files of older generations are removed the next time the directory is opened.</p>
+ */
+public class PersistentInfluencerRepository extends InfluencerRepository implements Closeable {
+    /** Default number of logged records that triggers a compaction. */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 10000;
+
+    private static final String FILE_PREFIX = "catalog";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String LOG_SUFFIX = ".wal";
+    private static final String CURRENT_FILE = "CURRENT";
+
+    private final Path directory;
+    private final long generation;
+    private final CatalogSnapshot snapshot;
+    private final CatalogWriteAheadLog log;
+    private final int compactionThreshold;
+
+    /**
+     * Opens the repository stored in the given directory with the default compaction threshold.
+     *
+     * @param directory the directory holding the snapshot and log files
+     * @throws IOException if the stored catalog cannot be read
+     */
+    public PersistentInfluencerRepository(Path directory) throws IOException {
+        this(directory, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Opens the repository stored in the given directory, recovering any previously saved contents.
+     *
+     * @param directory           the directory holding the snapshot and log files
+     * @param compactionThreshold the number of logged records that triggers a compaction
+     * @throws IOException if the stored catalog cannot be read
+     * @throws IllegalArgumentException if the directory is null or the threshold is not positive
+     */
+    public PersistentInfluencerRepository(Path directory, int compactionThreshold) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Compaction threshold must be positive");
+        }
+        this.directory = directory;
+        this.generation = readGeneration(directory);
+        this.compactionThreshold = compactionThreshold;
+        this.snapshot = new CatalogSnapshot(snapshotPath(directory, generation));
+        this.log = new CatalogWriteAheadLog(logPath(directory, generation));
+        recover();
+        deleteOtherGenerations();
+    }
+
+    /**
+     * Creates the next generation of a repository holding exactly the given influencers.
+     * The snapshot and an empty log are on disk before the generation becomes current.
+     *
+     * @param ids                 the ID registry shared with the repository being replaced
+     * @param directory           the directory holding the snapshot and log files
+     * @param generation          the generation to create
+     * @param compactionThreshold the number of logged records that triggers a compaction
+     * @param contents            the influencers of the new catalog
+     * @throws IOException if the files cannot be written
+     */
+    private PersistentInfluencerRepository(CatalogIds ids, Path directory, long generation, int compactionThreshold,
+                                           Collection<? extends Influencer> contents) throws IOException {
+        super(ids);
+        this.directory = directory;
+        this.generation = generation;
+        this.compactionThreshold = compactionThreshold;
+        this.snapshot = new CatalogSnapshot(snapshotPath(directory, generation));
+        super.saveAll(contents);
+        snapshot.write(findAll(), null);
+        this.log = new CatalogWriteAheadLog(logPath(directory, generation));
+        try {
+            log.truncate();
+            writeGeneration(directory, generation);
+        } catch (IOException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a repository in the same directory that holds exactly the given influencers, and
+     * makes it the one opened on the next start. The new repository shares this one's ID registry.
+     * This repository is left as it was; the caller
+     * swaps the returned repository in and then closes this one, whose files are removed the next
+     * time the directory is opened.
+     *
+     * @param contents the influencers of the new catalog
+     * @return the new repository
+     * @throws IOException if the new catalog cannot be written
+     * @throws IllegalArgumentException if the collection or any of its elements is null
+     */
+    public PersistentInfluencerRepository replaceWith(Collection<? extends Influencer> contents) throws IOException {
+        if (contents == null) {
+            throw new IllegalArgumentException("Entities cannot be null");
+        }
+        for (Influencer entity : contents) {
+            if (entity == null) {
+                throw new IllegalArgumentException("Entity cannot be null");
+            }
+        }
+        return new PersistentInfluencerRepository(getIds(), directory, generation + 1, compactionThreshold, contents);
+    }
+
+    @Override
+    public void save(Influencer entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("Entity cannot be null");
+        }
+
+        try {
+            log.appendSave(entity);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing catalog log", e);
+        }
+        super.save(entity);
+        compactIfNeeded();
+    }
+
+    /**
+     * Saves a batch of influencers. Batches at least as large as the compaction threshold are
+     * applied in memory and captured by a compaction straight away instead of being logged row by row.
+     *
+     * @param entities the influencers to save
+     * @throws IllegalArgumentException if the collection or any of its elements is null
+     */
+    @Override
+    public void saveAll(Collection<? extends Influencer> entities) {
+        if (entities == null) {
+            throw new IllegalArgumentException("Entities cannot be null");
+        }
+        for (Influencer entity : entities) {
+            if (entity == null) {
+                throw new IllegalArgumentException("Entity cannot be null");
+            }
+        }
+
+        if (entities.size() >= compactionThreshold) {
+            super.saveAll(entities);
+            compact();
+            return;
+        }
+
+        try {
+            log.appendSaves(entities);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing catalog log", e);
+        }
+        super.saveAll(entities);
+        compactIfNeeded();
+    }
+
+    @Override
+    public void delete(Influencer entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("Entity cannot be null");
+        }
+
+        try {
+            log.appendDelete(entity);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing catalog log", e);
+        }
+        super.delete(entity);
+        compactIfNeeded();
+    }
+
+    /**
+     * Writes the whole catalog to the snapshot and truncates the log.
+     * If the process dies between the two steps, the old log is replayed over the new
+     * snapshot on the next start, which is harmless because saves and deletes are idempotent.
+     *
+     * @throws RuntimeException if the snapshot cannot be written
+     */
+    public void compact() {
+        try {
+            snapshot.write(findAll(), null);
+            log.truncate();
+        } catch (IOException e) {
+            throw new RuntimeException("Error compacting catalog", e);
+        }
+    }
+
+    /**
+     * Closes the underlying log. The repository must not be modified afterwards.
+     *
+     * @throws IOException if the log cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    /**
+     * Compacts the log once it holds at least the threshold number of records.
+     */
+    private void compactIfNeeded() {
+        if (log.getRecordCount() >= compactionThreshold) {
+            compact();
+        }
+    }
+
+    /**
+     * Restores the contents from the snapshot and the log. Runs of logged saves are
+     * applied as batches so replay does not pay for indexing row by row.
+     *
+     * @throws IOException if the snapshot or log cannot be read
+     */
+    private void recover() throws IOException {
+        if (Files.exists(snapshot.getSnapshotPath())) {
+            super.saveAll(snapshot.read());
+        }
+
+        List<Influencer> pendingSaves = new ArrayList<>();
+        log.replay(new CatalogWriteAheadLog.IReplayHandler() {
+            @Override
+            public void onSave(Influencer influencer) {
+                pendingSaves.add(influencer);
+            }
+
+            @Override
+            public void onDelete(Influencer influencer) {
+                PersistentInfluencerRepository.super.saveAll(pendingSaves);
+                pendingSaves.clear();
+                PersistentInfluencerRepository.super.delete(influencer);
+            }
+        });
+        super.saveAll(pendingSaves);
+    }
+
+    /**
+     * Removes the snapshot and log files of every generation other than this one.
+     */
+    private void deleteOtherGenerations() {
+        Path currentSnapshot = snapshot.getSnapshotPath().getFileName();
+        Path currentLog = logPath(directory, generation).getFileName();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                boolean catalogFile = name.endsWith(SNAPSHOT_SUFFIX) || name.endsWith(LOG_SUFFIX);
+                if (catalogFile && !file.getFileName().equals(currentSnapshot)
+                        && !file.getFileName().equals(currentLog)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to remove old catalog files: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the path of a generation's snapshot. Generation 0 uses the original file name.
+     *
+     * @param directory  the catalog directory
+     * @param generation the generation
+     * @return the snapshot path
+     */
+    private static Path snapshotPath(Path directory, long generation) {
+        return directory.resolve(fileName(generation) + SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Gets the path of a generation's log. Generation 0 uses the original file name.
+     *
+     * @param directory  the catalog directory
+     * @param generation the generation
+     * @return the log path
+     */
+    private static Path logPath(Path directory, long generation) {
+        return directory.resolve(fileName(generation) + LOG_SUFFIX);
+    }
+
+    /**
+     * Gets the base file name of a generation.
+     *
+     * @param generation the generation
+     * @return the base name
+     */
+    private static String fileName(long generation) {
+        return generation == 0 ? FILE_PREFIX : FILE_PREFIX + "-" + generation;
+    }
+
+    /**
+     * Reads the current generation of a directory.
+     *
+     * @param directory the catalog directory
+     * @return the generation, or 0 if none has been recorded
+     * @throws IOException if the generation file cannot be read or is malformed
+     */
+    private static long readGeneration(Path directory) throws IOException {
+        Path current = directory.resolve(CURRENT_FILE);
+        if (!Files.exists(current)) {
+            return 0;
+        }
+        String text = new String(Files.readAllBytes(current), StandardCharsets.UTF_8).trim();
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed catalog generation: " + text, e);
+        }
+    }
+
+    /**
+     * Makes a generation current by atomically replacing the generation file.
+     *
+     * @param directory  the catalog directory
+     * @param generation the generation
+     * @throws IOException if the generation file cannot be written
+     */
+    private static void writeGeneration(Path directory, long generation) throws IOException {
+        Path current = directory.resolve(CURRENT_FILE);
+        Path temp = directory.resolve(CURRENT_FILE + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+            out.write(Long.toString(generation).getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        }
+        Files.move(temp, current, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
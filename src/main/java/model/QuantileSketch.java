@@ -0,0 +1,343 @@
+package model;
+
+/**
+ * Mergeable sketch of a distribution of non-negative values, answering percentile queries within a
+ * fixed relative error.
+ *
+ * <p>Values are counted in logarithmic buckets in the style of DDSketch: with a relative accuracy of
+ * {@code a}, bucket {@code i} covers the values in {@code (g^(i-1), g^i]} where
+ * {@code g = (1 + a) / (1 - a)}, and is reported as a single value within {@code a} of every value
+ * it covers. The number of buckets depends only on the range of the values and the accuracy, not on
+ * how many values were added, so memory and query time stay constant as a catalog grows. Unlike
+ * t-digest or KLL, a bucketed sketch can forget a value exactly by decrementing its bucket, which
+ * lets repositories keep sketches up to date through updates and deletes. Sketches with the same
+ * accuracy merge by adding their buckets.</p>
+ *
+ * <p>Values at or below {@value #MIN_INDEXABLE_VALUE}, including negative values, are counted
+ * together and reported as 0. Infinities and NaN are counted together in an overflow bucket,
+ * reported as positive infinity and left out of the mean, so a dirty value cannot blow up the
+ * bucket array. Sketches are not thread-safe.</p>
+ */
+public class QuantileSketch {
+    /** Relative accuracy used when none is given: percentiles are within 1% of a true value. */
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    /** Values at or below this are counted as zero. */
+    public static final double MIN_INDEXABLE_VALUE = 1e-6;
+
+    private static final int INITIAL_BUCKETS = 64;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private long[] counts;
+    private int offset;
+    private long zeroCount;
+    private long overflowCount;
+    private long count;
+    private double sum;
+
+    /**
+     * Constructs an empty sketch with the {@link #DEFAULT_RELATIVE_ACCURACY default accuracy}.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Constructs an empty sketch.
+     *
+     * @param relativeAccuracy the largest relative error of a reported percentile, between 0 and 1
+     * @throws IllegalArgumentException if the accuracy is not between 0 and 1
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0.0 && relativeAccuracy < 1.0)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1.0 + relativeAccuracy) / (1.0 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.counts = new long[0];
+    }
+
+    /**
+     * Gets the relative accuracy of the sketch.
+     *
+     * @return the largest relative error of a reported percentile
+     */
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value
+     */
+    public void add(double value) {
+        if (isOverflow(value)) {
+            overflowCount++;
+            count++;
+            return;
+        }
+        if (value > MIN_INDEXABLE_VALUE) {
+            int index = indexOf(value);
+            ensureBucket(index);
+            counts[index - offset]++;
+        } else {
+            zeroCount++;
+        }
+        count++;
+        sum += value;
+    }
+
+    /**
+     * Removes a value added earlier.
+     *
+     * @param value the value
+     * @return true if a value in the same bucket was counted and has been removed
+     */
+    public boolean remove(double value) {
+        if (isOverflow(value)) {
+            if (overflowCount == 0) {
+                return false;
+            }
+            overflowCount--;
+            count--;
+            return true;
+        }
+        if (value > MIN_INDEXABLE_VALUE) {
+            int bucket = indexOf(value) - offset;
+            if (bucket < 0 || bucket >= counts.length || counts[bucket] == 0) {
+                return false;
+            }
+            counts[bucket]--;
+        } else if (zeroCount > 0) {
+            zeroCount--;
+        } else {
+            return false;
+        }
+        count--;
+        sum = count == overflowCount ? 0.0 : sum - value;
+        return true;
+    }
+
+    /**
+     * Adds all values counted by another sketch.
+     *
+     * @param other the sketch to merge
+     * @throws IllegalArgumentException if the other sketch is null or has a different accuracy
+     */
+    public void merge(QuantileSketch other) {
+        if (other == null || Double.compare(other.relativeAccuracy, relativeAccuracy) != 0) {
+            throw new IllegalArgumentException("Only sketches with the same accuracy can be merged");
+        }
+
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                first = first < 0 ? i : first;
+                last = i;
+            }
+        }
+        if (first >= 0) {
+            ensureBucket(other.offset + first);
+            ensureBucket(other.offset + last);
+            for (int i = first; i <= last; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        overflowCount += other.overflowCount;
+        count += other.count;
+        sum += other.sum;
+    }
+
+    /**
+     * Creates an independent copy of the sketch.
+     *
+     * @return the copy
+     */
+    public QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(relativeAccuracy);
+        copy.counts = counts.clone();
+        copy.offset = offset;
+        copy.zeroCount = zeroCount;
+        copy.overflowCount = overflowCount;
+        copy.count = count;
+        copy.sum = sum;
+        return copy;
+    }
+
+    /**
+     * Gets the number of values in the sketch.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Checks whether the sketch holds no values.
+     *
+     * @return true if the sketch is empty
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Gets the exact mean of the finite values in the sketch.
+     *
+     * @return the mean, or 0 for a sketch without finite values
+     */
+    public double getMean() {
+        long finite = count - overflowCount;
+        return finite == 0 ? 0.0 : sum / finite;
+    }
+
+    /**
+     * Gets a percentile using the nearest-rank method. The result is within the relative accuracy
+     * of the value of that rank.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the value at that percentile, or 0 for an empty sketch
+     * @throws IllegalArgumentException if the percentile is outside 0 to 100
+     */
+    public double getValueAtPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0 || Double.isNaN(percentile)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0.0;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = zeroCount;
+        if (seen >= rank) {
+            return 0.0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return valueOf(offset + i);
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Gets the approximate number of values at or below a value. Values in the same bucket as the
+     * given value are included.
+     *
+     * @param value the value
+     * @return the count
+     */
+    public long getCountAtOrBelow(double value) {
+        long total = zeroCount;
+        if (value <= MIN_INDEXABLE_VALUE) {
+            return total;
+        }
+        if (isOverflow(value)) {
+            return count;
+        }
+
+        int last = Math.min(counts.length - 1, indexOf(value) - offset);
+        for (int i = 0; i <= last; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    /**
+     * Counts the values falling between consecutive bounds. Bin {@code k} counts the values above
+     * {@code upperBounds[k - 1]} and at or below {@code upperBounds[k]}; the extra last bin counts
+     * the values above the last bound.
+     *
+     * @param upperBounds the upper bound of each bin, in ascending order
+     * @return the approximate counts, one more than there are bounds
+     * @throws IllegalArgumentException if the bounds are null or not ascending
+     */
+    public long[] histogram(double... upperBounds) {
+        if (upperBounds == null) {
+            throw new IllegalArgumentException("Bounds cannot be null");
+        }
+
+        long[] bins = new long[upperBounds.length + 1];
+        long previous = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            if (i > 0 && !(upperBounds[i] > upperBounds[i - 1])) {
+                throw new IllegalArgumentException("Bounds must be in ascending order");
+            }
+            long atOrBelow = getCountAtOrBelow(upperBounds[i]);
+            bins[i] = atOrBelow - previous;
+            previous = atOrBelow;
+        }
+        bins[upperBounds.length] = count - previous;
+        return bins;
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileSketch{count=" + count
+                + ", p50=" + String.format("%.2f", getValueAtPercentile(50.0))
+                + ", p99=" + String.format("%.2f", getValueAtPercentile(99.0)) + "}";
+    }
+
+    /**
+     * Checks whether a value belongs in the overflow bucket rather than an indexed one.
+     *
+     * @param value the value
+     * @return true for infinities and NaN
+     */
+    private static boolean isOverflow(double value) {
+        return !Double.isFinite(value);
+    }
+
+    /**
+     * Finds the bucket of a value.
+     *
+     * @param value a finite value above {@link #MIN_INDEXABLE_VALUE}
+     * @return the bucket index
+     */
+    private int indexOf(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * Gets the value reported for a bucket: the point within the relative accuracy of both ends.
+     *
+     * @param index the bucket index
+     * @return the representative value
+     */
+    private double valueOf(int index) {
+        return 2.0 * Math.pow(gamma, index) / (gamma + 1.0);
+    }
+
+    /**
+     * Grows the bucket array so that it covers a bucket index.
+     *
+     * @param index the bucket index
+     */
+    private void ensureBucket(int index) {
+        if (counts.length == 0) {
+            counts = new long[INITIAL_BUCKETS];
+            offset = index - INITIAL_BUCKETS / 2;
+            return;
+        }
+        if (index >= offset && index < offset + counts.length) {
+            return;
+        }
+
+        int low = Math.min(offset, index);
+        int high = Math.max(offset + counts.length - 1, index);
+        int length = Math.max(high - low + 1, counts.length * 2);
+        int newOffset = index < offset ? high - length + 1 : low;
+        long[] grown = new long[length];
+        System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+        counts = grown;
+        offset = newOffset;
+    }
+}
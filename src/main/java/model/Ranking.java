@@ -0,0 +1,153 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Ranks influencers by a {@link ScoreFormula} and keeps the best K.
+ *
+ * <p>Rows are first copied into follower and ad rate columns and scored in one columnar pass. The
+ * best K rows are then selected with a bounded min-heap of row numbers and scores held in primitive
+ * arrays, which costs O(n log K) and allocates nothing per row. Only the K winners are turned back
+ * into results. Rows with equal scores keep their catalog order, and rows scoring NaN are never
+ * ranked.</p>
+ */
+public final class Ranking {
+
+    private Ranking() {
+    }
+
+    /**
+     * Gets the K highest-scoring influencers of a collection.
+     *
+     * @param influencers the candidates
+     * @param formula     the formula to score them by
+     * @param k           the maximum number of results
+     * @return the best influencers with their scores, highest score first
+     * @throws IllegalArgumentException if the candidates or formula are null or K is not positive
+     */
+    public static List<ScoredInfluencer> top(Collection<? extends Influencer> influencers, ScoreFormula formula,
+                                             int k) {
+        if (influencers == null || formula == null) {
+            throw new IllegalArgumentException("Influencers and formula cannot be null");
+        }
+
+        List<Influencer> rows = new ArrayList<>(influencers);
+        int[] followers = new int[rows.size()];
+        double[] adRates = new double[rows.size()];
+        for (int i = 0; i < followers.length; i++) {
+            Influencer influencer = rows.get(i);
+            followers[i] = influencer.getFollowers();
+            adRates[i] = influencer.getAdRate();
+        }
+
+        double[] scores = formula.evaluate(followers, adRates, followers.length);
+        int[] best = topRows(scores, scores.length, k, null);
+        List<ScoredInfluencer> results = new ArrayList<>(best.length);
+        for (int row : best) {
+            results.add(new ScoredInfluencer(rows.get(row), scores[row]));
+        }
+        return results;
+    }
+
+    /**
+     * Selects the rows with the K highest scores.
+     *
+     * @param scores  the score of each row
+     * @param length  the number of rows
+     * @param k       the maximum number of rows to select
+     * @param include which rows may be selected, or null for all rows
+     * @return the selected row numbers, highest score first and ties in row order
+     * @throws IllegalArgumentException if K is not positive
+     */
+    static int[] topRows(double[] scores, int length, int k, IntPredicate include) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("K must be positive");
+        }
+
+        int capacity = Math.min(k, length);
+        int[] heapRows = new int[capacity];
+        double[] heapScores = new double[capacity];
+        int size = 0;
+        for (int row = 0; row < length; row++) {
+            double score = scores[row];
+            if (Double.isNaN(score) || include != null && !include.test(row)) {
+                continue;
+            }
+            if (size < capacity) {
+                heapRows[size] = row;
+                heapScores[size] = score;
+                siftUp(heapRows, heapScores, size++);
+            } else if (score > heapScores[0]) {
+                // Later rows only displace the worst kept row on a strictly higher score
+                heapRows[0] = row;
+                heapScores[0] = score;
+                siftDown(heapRows, heapScores, size);
+            }
+        }
+
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = heapRows[0];
+            heapRows[0] = heapRows[i];
+            heapScores[0] = heapScores[i];
+            siftDown(heapRows, heapScores, i);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether one heap entry ranks below another: a lower score, or an equal score and a
+     * later row.
+     */
+    private static boolean worse(int[] rows, double[] scores, int a, int b) {
+        return scores[a] < scores[b] || scores[a] == scores[b] && rows[a] > rows[b];
+    }
+
+    /**
+     * Moves a new entry up the min-heap until its parent ranks below it.
+     */
+    private static void siftUp(int[] rows, double[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!worse(rows, scores, index, parent)) {
+                return;
+            }
+            swap(rows, scores, index, parent);
+            index = parent;
+        }
+    }
+
+    /**
+     * Moves the root of the min-heap down until both children rank above it.
+     */
+    private static void siftDown(int[] rows, double[] scores, int size) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int child = left + 1 < size && worse(rows, scores, left + 1, left) ? left + 1 : left;
+            if (!worse(rows, scores, child, index)) {
+                return;
+            }
+            swap(rows, scores, index, child);
+            index = child;
+        }
+    }
+
+    /**
+     * Swaps two heap entries.
+     */
+    private static void swap(int[] rows, double[] scores, int a, int b) {
+        int row = rows[a];
+        rows[a] = rows[b];
+        rows[b] = row;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
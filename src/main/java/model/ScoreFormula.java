@@ -0,0 +1,204 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable weighted sum of {@link ScoreTerm score terms}, such as
+ * {@code followersPerDollar + 0.001*followers}.
+ *
+ * <p>A formula scores a whole batch of rows at once: each term adds its weighted values to a score
+ * array in one pass over the follower and ad rate columns, so scoring costs a few primitive loops
+ * regardless of how many terms are combined.</p>
+ */
+public final class ScoreFormula {
+    private static final Pattern NUMBER = Pattern.compile("(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+    private static final Pattern NAME = Pattern.compile("[A-Za-z]+");
+
+    private final List<ScoreTerm> terms;
+    private final double[] weights;
+
+    /**
+     * Constructs a formula from terms and their weights.
+     *
+     * @param terms   the terms
+     * @param weights the weight of each term
+     */
+    private ScoreFormula(List<ScoreTerm> terms, double[] weights) {
+        this.terms = Collections.unmodifiableList(terms);
+        this.weights = weights;
+    }
+
+    /**
+     * Creates a formula with a single weighted term.
+     *
+     * @param term   the term
+     * @param weight the weight of the term
+     * @return the formula
+     * @throws IllegalArgumentException if the term is null or the weight is not finite
+     */
+    public static ScoreFormula of(ScoreTerm term, double weight) {
+        return new ScoreFormula(new ArrayList<>(), new double[0]).plus(term, weight);
+    }
+
+    /**
+     * Parses a formula such as {@code "2*followersPerDollar + 0.5*logFollowers - 0.01*adRate"}. Each
+     * term names one {@link Metric}, optionally multiplied by numbers on either side.
+     *
+     * @param expression the formula
+     * @return the parsed formula
+     * @throws IllegalArgumentException if the expression is null, empty or malformed
+     */
+    public static ScoreFormula parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Formula cannot be empty");
+        }
+
+        String text = expression.replaceAll("\\s+", "");
+        ScoreFormula formula = new ScoreFormula(new ArrayList<>(), new double[0]);
+        Matcher number = NUMBER.matcher(text);
+        Matcher name = NAME.matcher(text);
+        int position = 0;
+        while (position < text.length()) {
+            double weight = 1.0;
+            char sign = text.charAt(position);
+            if (sign == '+' || sign == '-') {
+                weight = sign == '-' ? -1.0 : 1.0;
+                position++;
+            } else if (position > 0) {
+                throw new IllegalArgumentException("Expected + or - at position " + position + " in: " + expression);
+            }
+
+            Metric metric = null;
+            while (true) {
+                if (name.region(position, text.length()).lookingAt()) {
+                    if (metric != null) {
+                        throw new IllegalArgumentException("Terms can only name one metric in: " + expression);
+                    }
+                    metric = Metric.fromName(name.group());
+                    position = name.end();
+                } else if (number.region(position, text.length()).lookingAt()) {
+                    weight *= Double.parseDouble(number.group());
+                    position = number.end();
+                } else {
+                    throw new IllegalArgumentException("Unexpected input at position " + position + " in: " + expression);
+                }
+                if (position < text.length() && text.charAt(position) == '*') {
+                    position++;
+                } else {
+                    break;
+                }
+            }
+            if (metric == null) {
+                throw new IllegalArgumentException("Every term must name a metric in: " + expression);
+            }
+            formula = formula.plus(metric, weight);
+        }
+        return formula;
+    }
+
+    /**
+     * Creates a formula with one more weighted term.
+     *
+     * @param term   the term to add
+     * @param weight the weight of the term
+     * @return a new formula; this one is unchanged
+     * @throws IllegalArgumentException if the term is null or the weight is not finite
+     */
+    public ScoreFormula plus(ScoreTerm term, double weight) {
+        if (term == null) {
+            throw new IllegalArgumentException("Term cannot be null");
+        }
+        if (!Double.isFinite(weight)) {
+            throw new IllegalArgumentException("Weight must be a finite number");
+        }
+
+        List<ScoreTerm> combined = new ArrayList<>(terms);
+        combined.add(term);
+        double[] combinedWeights = Arrays.copyOf(weights, weights.length + 1);
+        combinedWeights[weights.length] = weight;
+        return new ScoreFormula(combined, combinedWeights);
+    }
+
+    /**
+     * Gets the terms of the formula.
+     *
+     * @return an unmodifiable list of terms
+     */
+    public List<ScoreTerm> getTerms() {
+        return terms;
+    }
+
+    /**
+     * Gets the weight of a term.
+     *
+     * @param index the position of the term
+     * @return the weight
+     */
+    public double getWeight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Scores a batch of rows given as columns.
+     *
+     * @param followers the follower count of each row
+     * @param adRates   the ad rate of each row
+     * @param length    the number of rows to score
+     * @return the score of each row
+     * @throws IllegalArgumentException if a column is null or shorter than the length
+     */
+    public double[] evaluate(int[] followers, double[] adRates, int length) {
+        if (followers == null || adRates == null || length < 0
+                || followers.length < length || adRates.length < length) {
+            throw new IllegalArgumentException("Columns must hold at least " + length + " rows");
+        }
+
+        double[] scores = new double[length];
+        for (int t = 0; t < terms.size(); t++) {
+            terms.get(t).accumulate(followers, adRates, length, weights[t], scores);
+        }
+        return scores;
+    }
+
+    /**
+     * Scores a single influencer.
+     *
+     * @param influencer the influencer
+     * @return the score
+     */
+    public double score(Influencer influencer) {
+        return evaluate(new int[] {influencer.getFollowers()}, new double[] {influencer.getAdRate()}, 1)[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int t = 0; t < terms.size(); t++) {
+            double weight = weights[t];
+            if (t > 0) {
+                builder.append(weight < 0 ? " - " : " + ");
+            } else if (weight < 0) {
+                builder.append('-');
+            }
+            builder.append(formatWeight(Math.abs(weight))).append('*').append(terms.get(t).getName());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Formats a weight without trailing zeros.
+     *
+     * @param weight the weight
+     * @return the formatted weight
+     */
+    private static String formatWeight(double weight) {
+        return weight == Math.rint(weight) && weight < 1e15
+                ? String.valueOf((long) weight)
+                : String.valueOf(weight);
+    }
+}
@@ -0,0 +1,30 @@
+package model;
+
+/**
+ * One term of a {@link ScoreFormula}: a value computed from an influencer's follower count and ad
+ * rate.
+ *
+ * <p>Terms are evaluated a column at a time rather than an influencer at a time, so an
+ * implementation is a single tight loop over primitive arrays that the JIT compiler can unroll and
+ * vectorize. {@link Metric} provides the built-in terms; callers can plug in their own.</p>
+ */
+public interface ScoreTerm {
+
+    /**
+     * Gets the name of the term, as used in formulas.
+     *
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Adds the weighted value of the term for every row to the row's score.
+     *
+     * @param followers the follower count of each row
+     * @param adRates   the ad rate of each row
+     * @param length    the number of rows to evaluate
+     * @param weight    the weight of the term
+     * @param scores    the scores to add to, one per row
+     */
+    void accumulate(int[] followers, double[] adRates, int length, double weight, double[] scores);
+}
@@ -0,0 +1,43 @@
+package model;
+
+/**
+ * An influencer together with the score a {@link ScoreFormula} gave it.
+ */
+public final class ScoredInfluencer {
+    private final Influencer influencer;
+    private final double score;
+
+    /**
+     * Constructs a ScoredInfluencer.
+     *
+     * @param influencer the influencer
+     * @param score      its score
+     */
+    public ScoredInfluencer(Influencer influencer, double score) {
+        this.influencer = influencer;
+        this.score = score;
+    }
+
+    /**
+     * Gets the influencer.
+     *
+     * @return the influencer
+     */
+    public Influencer getInfluencer() {
+        return influencer;
+    }
+
+    /**
+     * Gets the score.
+     *
+     * @return the score
+     */
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return influencer.getName() + " (" + String.format("%.2f", score) + ")";
+    }
+}
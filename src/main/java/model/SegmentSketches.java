@@ -0,0 +1,200 @@
+package model;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Follower and ad rate {@link QuantileSketch sketches} for the whole catalog and for every platform,
+ * category and country segment.
+ *
+ * <p>Repositories add and remove influencers as they are saved and deleted, so the distribution of
+ * any segment is available without sorting it. Sketches are kept per exact value and merged when a
+ * segment is queried, so that values differing only in case are combined the way the repository
+ * filters combine them. Queries return copies that callers are free to merge or modify.</p>
+ */
+public class SegmentSketches {
+    private static final int FOLLOWERS = 0;
+    private static final int AD_RATES = 1;
+
+    private final double relativeAccuracy;
+    private final QuantileSketch followers;
+    private final QuantileSketch adRates;
+    private final Map<GroupBy, Map<String, QuantileSketch[]>> segments;
+
+    /**
+     * Constructs empty SegmentSketches.
+     *
+     * @param relativeAccuracy the relative accuracy of every sketch, between 0 and 1
+     * @throws IllegalArgumentException if the accuracy is not between 0 and 1
+     */
+    public SegmentSketches(double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+        this.followers = new QuantileSketch(relativeAccuracy);
+        this.adRates = new QuantileSketch(relativeAccuracy);
+        this.segments = new EnumMap<>(GroupBy.class);
+        for (GroupBy groupBy : GroupBy.values()) {
+            segments.put(groupBy, new HashMap<>());
+        }
+    }
+
+    /**
+     * Gets the relative accuracy of the sketches.
+     *
+     * @return the largest relative error of a reported percentile
+     */
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Adds an influencer to the catalog sketches and those of its segments.
+     *
+     * @param influencer the influencer
+     */
+    void add(Influencer influencer) {
+        adjust(influencer.getPlatform(), influencer.getCategory(), influencer.getCountry(),
+                influencer.getFollowers(), influencer.getAdRate(), true);
+    }
+
+    /**
+     * Removes an influencer added earlier.
+     *
+     * @param influencer the influencer
+     */
+    void remove(Influencer influencer) {
+        adjust(influencer.getPlatform(), influencer.getCategory(), influencer.getCountry(),
+                influencer.getFollowers(), influencer.getAdRate(), false);
+    }
+
+    /**
+     * Adds or removes one row given by its column values.
+     *
+     * @param platform  the platform, or null if the row has none
+     * @param category  the category, or null if the row has none
+     * @param country   the country, or null if the row has none
+     * @param followers the follower count
+     * @param adRate    the ad rate
+     * @param add       true to add the row, false to remove it
+     */
+    void adjust(String platform, String category, String country, int followers, double adRate, boolean add) {
+        update(this.followers, followers, add);
+        update(this.adRates, adRate, add);
+        adjust(segments.get(GroupBy.PLATFORM), platform, followers, adRate, add);
+        adjust(segments.get(GroupBy.CATEGORY), category, followers, adRate, add);
+        adjust(segments.get(GroupBy.COUNTRY), country, followers, adRate, add);
+    }
+
+    /**
+     * Gets the follower distribution of the whole catalog.
+     *
+     * @return a copy of the sketch
+     */
+    public QuantileSketch getFollowers() {
+        return followers.copy();
+    }
+
+    /**
+     * Gets the ad rate distribution of the whole catalog.
+     *
+     * @return a copy of the sketch
+     */
+    public QuantileSketch getAdRates() {
+        return adRates.copy();
+    }
+
+    /**
+     * Gets the follower distribution of one segment, ignoring case.
+     *
+     * @param groupBy the attribute defining the segment
+     * @param value   the value of the segment
+     * @return a new sketch, empty if no influencer has that value
+     * @throws IllegalArgumentException if the attribute is null
+     */
+    public QuantileSketch getFollowers(GroupBy groupBy, String value) {
+        return segment(groupBy, value, FOLLOWERS);
+    }
+
+    /**
+     * Gets the ad rate distribution of one segment, ignoring case.
+     *
+     * @param groupBy the attribute defining the segment
+     * @param value   the value of the segment
+     * @return a new sketch, empty if no influencer has that value
+     * @throws IllegalArgumentException if the attribute is null
+     */
+    public QuantileSketch getAdRates(GroupBy groupBy, String value) {
+        return segment(groupBy, value, AD_RATES);
+    }
+
+    /**
+     * Merges the sketches of every exact value matching a segment.
+     *
+     * @param groupBy the attribute defining the segment
+     * @param value   the value of the segment
+     * @param column  which of the follower and ad rate sketches to merge
+     * @return the merged sketch
+     */
+    private QuantileSketch segment(GroupBy groupBy, String value, int column) {
+        if (groupBy == null) {
+            throw new IllegalArgumentException("Group-by attribute cannot be null");
+        }
+
+        QuantileSketch merged = new QuantileSketch(relativeAccuracy);
+        if (value == null) {
+            return merged;
+        }
+        for (Map.Entry<String, QuantileSketch[]> entry : segments.get(groupBy).entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(value)) {
+                merged.merge(entry.getValue()[column]);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Adds or removes a row in the sketches of one segment, dropping the segment once it is empty.
+     *
+     * @param values    the sketches of an attribute by value
+     * @param value     the value, ignored if null
+     * @param followers the follower count
+     * @param adRate    the ad rate
+     * @param add       true to add the row, false to remove it
+     */
+    private void adjust(Map<String, QuantileSketch[]> values, String value, int followers, double adRate,
+                        boolean add) {
+        if (value == null) {
+            return;
+        }
+        QuantileSketch[] sketches = values.get(value);
+        if (sketches == null) {
+            if (!add) {
+                return;
+            }
+            sketches = new QuantileSketch[] {
+                new QuantileSketch(relativeAccuracy), new QuantileSketch(relativeAccuracy)
+            };
+            values.put(value, sketches);
+        }
+        update(sketches[FOLLOWERS], followers, add);
+        update(sketches[AD_RATES], adRate, add);
+        if (sketches[FOLLOWERS].isEmpty()) {
+            values.remove(value);
+        }
+    }
+
+    /**
+     * Adds a value to a sketch or removes it.
+     *
+     * @param sketch the sketch
+     * @param value  the value
+     * @param add    true to add the value, false to remove it
+     */
+    private static void update(QuantileSketch sketch, double value, boolean add) {
+        if (add) {
+            sketch.add(value);
+        } else {
+            sketch.remove(value);
+        }
+    }
+}
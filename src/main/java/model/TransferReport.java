@@ -0,0 +1,273 @@
+package model;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput report for one import or export.
+ *
+ * <p>A report counts the bytes moved, the records transferred and the rows rejected, and splits the
+ * elapsed time into phases: reading the file, parsing it, indexing the parsed rows into a catalog,
+ * formatting rows for export and writing the file. Importers and exporters fill it in as they run
+ * and keep the report of their last transfer; callers that index the rows themselves add that phase
+ * afterwards. {@link #toString()} gives a one-line summary for the log and {@link #toJson()} a
+ * single-line JSON object for scripts that track nightly ingest.</p>
+ */
+public class TransferReport {
+
+    /**
+     * Phases a transfer spends its time in.
+     */
+    public enum Phase {
+        READ,
+        PARSE,
+        INDEX,
+        FORMAT,
+        WRITE
+    }
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private final String operation;
+    private final String source;
+    private final String path;
+    private final Map<Phase, Long> phaseNanos;
+    private long bytes;
+    private long records;
+    private long errors;
+
+    /**
+     * Constructs an empty TransferReport.
+     *
+     * @param operation the kind of transfer, such as "import" or "export"
+     * @param source    the importer or exporter performing it
+     * @param path      the file being read or written
+     * @throws IllegalArgumentException if the operation is null
+     */
+    public TransferReport(String operation, String source, String path) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null");
+        }
+        this.operation = operation;
+        this.source = source;
+        this.path = path;
+        this.phaseNanos = new EnumMap<>(Phase.class);
+    }
+
+    /**
+     * Gets the kind of transfer.
+     *
+     * @return the operation
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Gets the importer or exporter that performed the transfer.
+     *
+     * @return the source name
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the file that was read or written.
+     *
+     * @return the file path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Adds to the number of bytes read or written.
+     *
+     * @param count the number of bytes
+     */
+    public synchronized void addBytes(long count) {
+        bytes += count;
+    }
+
+    /**
+     * Adds to the number of records transferred.
+     *
+     * @param count the number of records
+     */
+    public synchronized void addRecords(long count) {
+        records += count;
+    }
+
+    /**
+     * Adds to the number of rows that could not be transferred.
+     *
+     * @param count the number of rejected rows
+     */
+    public synchronized void addErrors(long count) {
+        errors += count;
+    }
+
+    /**
+     * Adds time spent in a phase.
+     *
+     * @param phase the phase
+     * @param nanos the time in nanoseconds
+     * @throws IllegalArgumentException if the phase is null
+     */
+    public synchronized void addPhaseNanos(Phase phase, long nanos) {
+        if (phase == null) {
+            throw new IllegalArgumentException("Phase cannot be null");
+        }
+        phaseNanos.merge(phase, Math.max(0L, nanos), Long::sum);
+    }
+
+    /**
+     * Gets the number of bytes read or written.
+     *
+     * @return the byte count
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Gets the number of records transferred.
+     *
+     * @return the record count
+     */
+    public synchronized long getRecords() {
+        return records;
+    }
+
+    /**
+     * Gets the number of rows that could not be transferred.
+     *
+     * @return the error count
+     */
+    public synchronized long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the time spent in a phase.
+     *
+     * @param phase the phase
+     * @return the time in nanoseconds, or 0 if the transfer never entered the phase
+     */
+    public synchronized long getPhaseNanos(Phase phase) {
+        return phaseNanos.getOrDefault(phase, 0L);
+    }
+
+    /**
+     * Gets the total time spent across all phases.
+     *
+     * @return the time in nanoseconds
+     */
+    public synchronized long getTotalNanos() {
+        long total = 0;
+        for (long nanos : phaseNanos.values()) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the transfer rate in records per second over the timed phases.
+     *
+     * @return the rate, or 0 if no time was recorded
+     */
+    public synchronized double getRecordsPerSecond() {
+        long total = getTotalNanos();
+        return total == 0 ? 0.0 : records * NANOS_PER_SECOND / total;
+    }
+
+    /**
+     * Formats the report as a single-line JSON object. Phase times are in milliseconds.
+     *
+     * @return the JSON summary
+     */
+    public synchronized String toJson() {
+        StringBuilder builder = new StringBuilder("{");
+        builder.append("\"operation\": \"").append(escape(operation)).append("\", ");
+        builder.append("\"source\": ").append(quote(source)).append(", ");
+        builder.append("\"path\": ").append(quote(path)).append(", ");
+        builder.append("\"bytes\": ").append(bytes).append(", ");
+        builder.append("\"records\": ").append(records).append(", ");
+        builder.append("\"errors\": ").append(errors).append(", ");
+        builder.append("\"recordsPerSecond\": ").append(String.format(Locale.ROOT, "%.1f", getRecordsPerSecond()));
+        builder.append(", \"totalMs\": ").append(millis(getTotalNanos()));
+        for (Phase phase : Phase.values()) {
+            if (phaseNanos.containsKey(phase)) {
+                builder.append(", \"").append(phase.name().toLowerCase(Locale.ROOT)).append("Ms\": ")
+                        .append(millis(phaseNanos.get(phase)));
+            }
+        }
+        builder.append("}");
+        return builder.toString();
+    }
+
+    /**
+     * Formats the report as a one-line human-readable summary.
+     *
+     * @return the summary
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.ROOT, "%s %s: %d records, %d errors, %.2f MB in %.3f s (%.0f records/s)",
+                operation, path, records, errors, bytes / BYTES_PER_MB,
+                getTotalNanos() / NANOS_PER_SECOND, getRecordsPerSecond()));
+        String separator = " - ";
+        for (Map.Entry<Phase, Long> entry : phaseNanos.entrySet()) {
+            builder.append(separator).append(entry.getKey().name().toLowerCase(Locale.ROOT)).append(' ')
+                    .append(millis(entry.getValue())).append(" ms");
+            separator = ", ";
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Formats nanoseconds as milliseconds with three decimals.
+     *
+     * @param nanos the time in nanoseconds
+     * @return the formatted milliseconds
+     */
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Quotes a string as a JSON value.
+     *
+     * @param value the value, possibly null
+     * @return the quoted and escaped value, or null
+     */
+    private static String quote(String value) {
+        return value == null ? "null" : "\"" + escape(value) + "\"";
+    }
+
+    /**
+     * Escapes special characters for inclusion in a JSON string.
+     *
+     * @param value the value to escape
+     * @return the escaped value
+     */
+    private static String escape(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
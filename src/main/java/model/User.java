@@ -12,6 +12,7 @@ public class User implements Serializable {
     private String password;
     private boolean isSubscribed;
     private UserFavorites favorites;
+    private transient ISubscriptionListener subscriptionListener;
 
     /**
      * Constructs a User with the specified username and password.
@@ -36,7 +37,7 @@ public class User implements Serializable {
     }
 
     /**
-     * Gets the password of the user.
+     * Gets the password of the user. Once the user is registered this is the password hash.
      *
      * @return the password of the user
      */
@@ -44,6 +45,15 @@ public class User implements Serializable {
         return password;
     }
 
+    /**
+     * Replaces the stored password, used by {@link UserManager} to store a hash instead of plaintext.
+     *
+     * @param password the new password value
+     */
+    void setPassword(String password) {
+        this.password = password;
+    }
+
     /**
      * Checks if the user is subscribed to premium features.
      *
@@ -57,14 +67,39 @@ public class User implements Serializable {
      * Subscribes the user to premium features.
      */
     public void subscribe() {
-        this.isSubscribed = true;
+        setSubscribed(true);
     }
 
     /**
      * Unsubscribes the user from premium features.
      */
     public void unsubscribe() {
-        this.isSubscribed = false;
+        setSubscribed(false);
+    }
+
+    /**
+     * Sets the listener notified when the subscription status changes.
+     *
+     * @param subscriptionListener the listener, or null for none
+     */
+    void setSubscriptionListener(ISubscriptionListener subscriptionListener) {
+        this.subscriptionListener = subscriptionListener;
+    }
+
+    /**
+     * Updates the subscription status and notifies the listener if it changed.
+     *
+     * @param subscribed the new subscription status
+     */
+    private void setSubscribed(boolean subscribed) {
+        if (this.isSubscribed == subscribed) {
+            return;
+        }
+        this.isSubscribed = subscribed;
+        ISubscriptionListener listener = subscriptionListener;
+        if (listener != null) {
+            listener.onSubscriptionChanged(this);
+        }
     }
 
     public UserFavorites getFavorites() {
@@ -2,94 +2,197 @@ package model;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * UserFavorites class manages a user's favorite influencers.
  * Implements the IFavorites interface for Influencer objects.
  * Handles saving and loading favorites from a file.
+ *
+ * <p>Favorites are stored as a sorted array of the catalog's stable influencer IDs (see
+ * {@link CatalogIds}) rather than as copies of the influencers, and are resolved against the live
+ * catalog whenever they are read. Favorites therefore always show the current catalog data, take
+ * one int per favorite however large the catalog is, and are listed in catalog ID order. Batch
+ * adds and removes sort their IDs once and merge them into the array in a single pass. A favorite
+ * whose influencer is not in the catalog is kept but hidden until it reappears. When no catalog is
+ * given, the favorites keep their own private catalog of the influencers added to them.</p>
+ *
+ * <p>The favorites file is not read until the favorites are first used, so creating a
+ * UserFavorites at login costs the same however many favorites the user has. Instances are
+ * thread-safe, so one instance can be shared by several sessions of the same user.</p>
+ *
+ * <p>The favorites file is an append-only log: each change appends one add ({@code +,...}) or
+ * remove ({@code -,...}) record instead of rewriting the file, and loading replays the records
+ * in order. Records are matched to the catalog by name. When superseded records make up most of
+ * the log, it is compacted into one plain line per favorite.</p>
  */
 public class UserFavorites implements IFavorites<Influencer> {
     private String username;
-    private List<Influencer> favorites;
+    private final Supplier<InfluencerRepository> catalog;
+    private final boolean ownsCatalog;
+    private int[] favoriteIds;
+    private int favoriteCount;
+    private boolean loaded;
+    private long logRecords;
     private static final String FAVORITES_DIR = "src/main/resources/data/favorites/";
+    private static final String ADD = "+";
+    private static final String REMOVE = "-";
+    private static final int MIN_COMPACTION_RECORDS = 64;
 
     /**
-     * Constructs a UserFavorites object for the specified user.
+     * Constructs a UserFavorites object for the specified user, backed by a private catalog
+     * that holds the influencers added to these favorites.
      *
      * @param user the user whose favorites will be managed
      * @throws IllegalArgumentException if user is null
      */
     public UserFavorites(User user) {
+        this(user, privateCatalog(), true);
+    }
+
+    /**
+     * Constructs a UserFavorites object for the specified user, resolved against a live catalog.
+     * The supplier is consulted on every read, so favorites follow the catalog when it is replaced.
+     *
+     * @param user    the user whose favorites will be managed
+     * @param catalog supplies the current catalog
+     * @throws IllegalArgumentException if user or catalog is null
+     */
+    public UserFavorites(User user, Supplier<InfluencerRepository> catalog) {
+        this(user, catalog, false);
+    }
+
+    private UserFavorites(User user, Supplier<InfluencerRepository> catalog, boolean ownsCatalog) {
         if (user == null) {
             throw new IllegalArgumentException("User cannot be null");
         }
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog cannot be null");
+        }
         this.username = user.getUsername();
-        this.favorites = new ArrayList<>();
-        loadFavorites();
+        this.catalog = catalog;
+        this.ownsCatalog = ownsCatalog;
+        this.favoriteIds = new int[0];
     }
 
     @Override
-    public void addItem(Influencer item) {
+    public synchronized void addItem(Influencer item) {
         if (item == null) {
             throw new IllegalArgumentException("Cannot add null influencer");
         }
-        if (!contains(item)) {
-            favorites.add(item);
-            saveFavorites();
+        ensureLoaded();
+        if (add(item)) {
+            appendRecords(ADD, List.of(item));
         }
     }
 
     @Override
-    public void removeItem(Influencer item) {
+    public synchronized void removeItem(Influencer item) {
         if (item == null) {
             throw new IllegalArgumentException("Cannot remove null influencer");
         }
-        if (contains(item)) {
-            favorites.removeIf(fav ->
-                    fav.getName().equals(item.getName()) &&
-                            fav.getPlatform().equals(item.getPlatform()) &&
-                            fav.getCategory().equals(item.getCategory()) &&
-                            fav.getFollowers() == item.getFollowers() &&
-                            fav.getAdRate() == item.getAdRate() &&
-                            fav.getCountry().equals(item.getCountry())
-            );
-            saveFavorites();
+        ensureLoaded();
+        if (remove(item)) {
+            appendRecords(REMOVE, List.of(item));
+        }
+    }
+
+    @Override
+    public synchronized int addItems(Collection<? extends Influencer> items) {
+        if (items == null || items.stream().anyMatch(item -> item == null)) {
+            throw new IllegalArgumentException("Cannot add null influencer");
+        }
+        ensureLoaded();
+        InfluencerRepository current = catalog.get();
+        List<Influencer> added = new ArrayList<>();
+        Set<Integer> addedIds = new HashSet<>();
+        for (Influencer item : items) {
+            int id = current.getIds().idOf(item.getName());
+            boolean isFavorite = indexOf(id) >= 0 || addedIds.contains(id);
+            saveToOwnCatalog(current, item, id, isFavorite);
+            if (!isFavorite) {
+                addedIds.add(id);
+                added.add(item);
+            }
+        }
+        if (!added.isEmpty()) {
+            insertIds(toSortedArray(addedIds));
+            appendRecords(ADD, added);
+        }
+        return added.size();
+    }
+
+    @Override
+    public synchronized int removeItems(Collection<? extends Influencer> items) {
+        if (items == null || items.stream().anyMatch(item -> item == null)) {
+            throw new IllegalArgumentException("Cannot remove null influencer");
+        }
+        ensureLoaded();
+        InfluencerRepository current = catalog.get();
+        List<Influencer> removed = new ArrayList<>();
+        Set<Integer> removedIds = new HashSet<>();
+        for (Influencer item : items) {
+            int id = current.getIds().findId(item.getName());
+            if (id >= 0 && indexOf(id) >= 0 && removedIds.add(id)) {
+                deleteFromOwnCatalog(current, id);
+                removed.add(item);
+            }
         }
+        if (!removed.isEmpty()) {
+            deleteIds(toSortedArray(removedIds));
+            appendRecords(REMOVE, removed);
+        }
+        return removed.size();
     }
 
+    /**
+     * Gets all favorites that are currently in the catalog, in catalog ID order.
+     *
+     * @return a list of all favorite influencers
+     */
     @Override
-    public List<Influencer> getAllItems() {
-        return new ArrayList<>(favorites);
+    public synchronized List<Influencer> getAllItems() {
+        ensureLoaded();
+        InfluencerRepository current = catalog.get();
+        List<Influencer> items = new ArrayList<>(favoriteCount);
+        for (int i = 0; i < favoriteCount; i++) {
+            Influencer influencer = current.findById(favoriteIds[i]);
+            if (influencer != null) {
+                items.add(influencer);
+            }
+        }
+        return items;
     }
 
     @Override
-    public boolean contains(Influencer item) {
+    public synchronized boolean contains(Influencer item) {
+        ensureLoaded();
         if (item == null) {
             return false;
         }
-        return favorites.stream().anyMatch(fav ->
-                fav.getName().equals(item.getName()) &&
-                        fav.getPlatform().equals(item.getPlatform()) &&
-                        fav.getCategory().equals(item.getCategory()) &&
-                        fav.getFollowers() == item.getFollowers() &&
-                        fav.getAdRate() == item.getAdRate() &&
-                        fav.getCountry().equals(item.getCountry())
-        );
+        int id = catalog.get().getIds().findId(item.getName());
+        return id >= 0 && indexOf(id) >= 0;
     }
 
     @Override
-    public List<Influencer> searchByName(String name) {
+    public synchronized List<Influencer> searchByName(String name) {
+        ensureLoaded();
         if (name == null || name.trim().isEmpty()) {
             return new ArrayList<>();
         }
         String searchTerm = name.toLowerCase().trim();
         List<Influencer> results = new ArrayList<>();
-        for (Influencer influencer : favorites) {
+        for (Influencer influencer : getAllItems()) {
             if (influencer.getName().toLowerCase().contains(searchTerm)) {
                 results.add(influencer);
             }
@@ -98,62 +201,343 @@ public class UserFavorites implements IFavorites<Influencer> {
     }
 
     /**
-     * Loads favorites from a file.
-     * The file is expected to be in the format: name,platform,category,followers,adRate,country
+     * Checks whether the favorites file has been read yet.
+     *
+     * @return true once the favorites have been loaded
+     */
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Loads the favorites file on first use.
+     */
+    private void ensureLoaded() {
+        if (!loaded) {
+            loaded = true;
+            loadFavorites();
+        }
+    }
+
+    /**
+     * Loads favorites from the favorites log by replaying its records in order.
+     * Lines in the legacy format name,platform,category,followers,adRate,country are treated as adds,
+     * so files written by older versions and compacted files load the same way. An add record may
+     * also hold just the name of a favorite that was not in the catalog when the log was compacted.
+     * The records are replayed into a hash set, which is sorted once at the end.
      */
     private void loadFavorites() {
-        Path filePath = Paths.get(FAVORITES_DIR + username + ".txt");
-        if (Files.exists(filePath)) {
-            try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    try {
-                        String[] parts = line.split(",");
-                        if (parts.length == 6) {
-                            String name = parts[0].trim();
-                            String platform = parts[1].trim();
-                            String category = parts[2].trim();
-                            int followers = Integer.parseInt(parts[3].trim());
-                            double adRate = Double.parseDouble(parts[4].trim());
-                            String country = parts[5].trim();
-                            Influencer influencer = new Influencer(name, platform, category, followers, adRate, country);
-                            if (!favorites.contains(influencer)) {
-                                favorites.add(influencer);
-                            }
+        Path filePath = getFavoritesPath();
+        if (!Files.exists(filePath)) {
+            return;
+        }
+
+        InfluencerRepository current = catalog.get();
+        Set<Integer> replayed = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(filePath)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    String[] parts = line.split(",");
+                    if (parts.length == 6 || (parts.length == 7 && ADD.equals(parts[0]))) {
+                        Influencer item = parseInfluencer(parts, parts.length - 6);
+                        int id = current.getIds().idOf(item.getName());
+                        saveToOwnCatalog(current, item, id, replayed.contains(id));
+                        replayed.add(id);
+                        logRecords++;
+                    } else if ((parts.length == 7 || parts.length == 2)
+                            && (ADD.equals(parts[0]) || REMOVE.equals(parts[0]))) {
+                        int id = current.getIds().idOf(parts[1].trim());
+                        if (REMOVE.equals(parts[0])) {
+                            replayed.remove(id);
+                        } else {
+                            replayed.add(id);
                         }
-                    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
-                        System.err.println("Error parsing line: " + line);
+                        logRecords++;
                     }
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    System.err.println("Error parsing line: " + line);
                 }
-            } catch (IOException e) {
-                System.err.println("Error loading favorites: " + e.getMessage());
             }
+        } catch (IOException e) {
+            System.err.println("Error loading favorites: " + e.getMessage());
         }
+        favoriteIds = toSortedArray(replayed);
+        favoriteCount = favoriteIds.length;
+    }
+
+    /**
+     * Parses the six influencer fields starting at the given index.
+     *
+     * @param parts  the comma-separated fields of a line
+     * @param offset the index of the name field
+     * @return the parsed influencer
+     */
+    private static Influencer parseInfluencer(String[] parts, int offset) {
+        String name = parts[offset].trim();
+        String platform = parts[offset + 1].trim();
+        String category = parts[offset + 2].trim();
+        int followers = Integer.parseInt(parts[offset + 3].trim());
+        double adRate = Double.parseDouble(parts[offset + 4].trim());
+        String country = parts[offset + 5].trim();
+        return new Influencer(name, platform, category, followers, adRate, country);
     }
 
     /**
-     * Saves favorites to a file in the format: name,platform,category,followers,adRate,country
+     * Appends add or remove records to the favorites log in a single buffered write.
+     * Once the log holds many more records than there are favorites, it is compacted.
+     *
+     * @param op      the record type, {@link #ADD} or {@link #REMOVE}
+     * @param changed the influencers that were added or removed
      */
-    private void saveFavorites() {
-        Path filePath = Paths.get(FAVORITES_DIR + username + ".txt");
+    private void appendRecords(String op, List<Influencer> changed) {
+        Path filePath = getFavoritesPath();
         try {
             Files.createDirectories(filePath.getParent());
-            try (BufferedWriter writer = Files.newBufferedWriter(filePath)) {
-                for (Influencer influencer : favorites) {
-                    writer.write(String.format("%s,%s,%s,%d,%.2f,%s%n",
-                            influencer.getName(),
-                            influencer.getPlatform(),
-                            influencer.getCategory(),
-                            influencer.getFollowers(),
-                            influencer.getAdRate(),
-                            influencer.getCountry()));
+            try (BufferedWriter writer = Files.newBufferedWriter(filePath,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Influencer influencer : changed) {
+                    writer.write(op);
+                    writer.write(',');
+                    writer.write(formatLine(influencer));
                 }
             }
+            logRecords += changed.size();
         } catch (IOException e) {
             System.err.println("Error saving favorites: " + e.getMessage());
+            return;
+        }
+
+        if (logRecords > MIN_COMPACTION_RECORDS && logRecords > 2L * favoriteCount) {
+            compact();
         }
     }
 
+    /**
+     * Rewrites the favorites log with one line per current favorite, in the format:
+     * name,platform,category,followers,adRate,country
+     * Favorites that are not in the catalog are written as name-only add records.
+     */
+    private void compact() {
+        Path filePath = getFavoritesPath();
+        Path tempPath = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(filePath.getParent());
+            InfluencerRepository current = catalog.get();
+            try (BufferedWriter writer = Files.newBufferedWriter(tempPath)) {
+                for (int i = 0; i < favoriteCount; i++) {
+                    Influencer influencer = current.findById(favoriteIds[i]);
+                    if (influencer != null) {
+                        writer.write(formatLine(influencer));
+                    } else {
+                        writer.write(ADD + "," + current.getIds().nameOf(favoriteIds[i]) + System.lineSeparator());
+                    }
+                }
+            }
+            Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logRecords = favoriteCount;
+        } catch (IOException e) {
+            System.err.println("Error compacting favorites: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Formats an influencer as one line: name,platform,category,followers,adRate,country
+     *
+     * @param influencer the influencer to format
+     * @return the formatted line, including the line separator
+     */
+    private static String formatLine(Influencer influencer) {
+        return String.format("%s,%s,%s,%d,%.2f,%s%n",
+                influencer.getName(),
+                influencer.getPlatform(),
+                influencer.getCategory(),
+                influencer.getFollowers(),
+                influencer.getAdRate(),
+                influencer.getCountry());
+    }
+
+    /**
+     * Gets the path of this user's favorites log.
+     *
+     * @return the favorites file path
+     */
+    private Path getFavoritesPath() {
+        return Paths.get(FAVORITES_DIR + username + ".txt");
+    }
+
+    /**
+     * Marks an influencer as a favorite, saving it to the private catalog if these favorites own one.
+     *
+     * @param item the influencer to add
+     * @return true if it was not already a favorite
+     */
+    private boolean add(Influencer item) {
+        InfluencerRepository current = catalog.get();
+        int id = current.getIds().idOf(item.getName());
+        boolean isFavorite = indexOf(id) >= 0;
+        saveToOwnCatalog(current, item, id, isFavorite);
+        return !isFavorite && setId(id);
+    }
+
+    /**
+     * Unmarks an influencer as a favorite.
+     *
+     * @param item the influencer to remove
+     * @return true if it was a favorite
+     */
+    private boolean remove(Influencer item) {
+        InfluencerRepository current = catalog.get();
+        int id = current.getIds().findId(item.getName());
+        if (id < 0 || !clearId(id)) {
+            return false;
+        }
+        deleteFromOwnCatalog(current, id);
+        return true;
+    }
+
+    /**
+     * Saves an influencer to the private catalog, if these favorites own one, unless it is already
+     * a favorite that the catalog holds.
+     *
+     * @param current    the current catalog
+     * @param item       the influencer being added
+     * @param id         the influencer's ID
+     * @param isFavorite whether the influencer is already a favorite
+     */
+    private void saveToOwnCatalog(InfluencerRepository current, Influencer item, int id, boolean isFavorite) {
+        if (ownsCatalog && (!isFavorite || current.findById(id) == null)) {
+            current.save(item);
+        }
+    }
+
+    /**
+     * Deletes an influencer from the private catalog, if these favorites own one.
+     *
+     * @param current the current catalog
+     * @param id      the influencer's ID
+     */
+    private void deleteFromOwnCatalog(InfluencerRepository current, int id) {
+        if (ownsCatalog) {
+            Influencer stored = current.findById(id);
+            if (stored != null) {
+                current.delete(stored);
+            }
+        }
+    }
+
+    /**
+     * Finds an ID in the sorted favorite IDs.
+     *
+     * @param id the influencer ID
+     * @return the index of the ID, or a negative value as returned by {@link Arrays#binarySearch}
+     */
+    private int indexOf(int id) {
+        return Arrays.binarySearch(favoriteIds, 0, favoriteCount, id);
+    }
+
+    /**
+     * Inserts an ID into the sorted favorite IDs, growing the array when it is full.
+     *
+     * @param id the influencer ID
+     * @return true if the ID was not already present
+     */
+    private boolean setId(int id) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        if (favoriteCount == favoriteIds.length) {
+            favoriteIds = Arrays.copyOf(favoriteIds, Math.max(8, favoriteCount * 2));
+        }
+        System.arraycopy(favoriteIds, insertAt, favoriteIds, insertAt + 1, favoriteCount - insertAt);
+        favoriteIds[insertAt] = id;
+        favoriteCount++;
+        return true;
+    }
+
+    /**
+     * Removes an ID from the sorted favorite IDs.
+     *
+     * @param id the influencer ID
+     * @return true if the ID was present
+     */
+    private boolean clearId(int id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(favoriteIds, index + 1, favoriteIds, index, favoriteCount - index - 1);
+        favoriteCount--;
+        return true;
+    }
+
+    /**
+     * Merges IDs that are not yet favorites into the sorted favorite IDs in one pass.
+     *
+     * @param added the IDs to add, sorted and without duplicates
+     */
+    private void insertIds(int[] added) {
+        int[] merged = new int[Math.max(8, favoriteCount + added.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < favoriteCount || j < added.length) {
+            if (j == added.length || (i < favoriteCount && favoriteIds[i] < added[j])) {
+                merged[k++] = favoriteIds[i++];
+            } else {
+                merged[k++] = added[j++];
+            }
+        }
+        favoriteIds = merged;
+        favoriteCount = k;
+    }
+
+    /**
+     * Removes favorite IDs from the sorted favorite IDs in one pass.
+     *
+     * @param removed the IDs to remove, sorted, without duplicates and all present
+     */
+    private void deleteIds(int[] removed) {
+        int j = 0;
+        int k = 0;
+        for (int i = 0; i < favoriteCount; i++) {
+            if (j < removed.length && favoriteIds[i] == removed[j]) {
+                j++;
+            } else {
+                favoriteIds[k++] = favoriteIds[i];
+            }
+        }
+        favoriteCount = k;
+    }
+
+    /**
+     * Sorts a set of IDs into an array.
+     *
+     * @param ids the IDs
+     * @return the IDs in ascending order
+     */
+    private static int[] toSortedArray(Set<Integer> ids) {
+        int[] sorted = new int[ids.size()];
+        int i = 0;
+        for (int id : ids) {
+            sorted[i++] = id;
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Creates the supplier of a private catalog for favorites that are not tied to a live one.
+     *
+     * @return a supplier that always returns the same new, empty catalog
+     */
+    private static Supplier<InfluencerRepository> privateCatalog() {
+        InfluencerRepository privateCatalog = new InfluencerRepository();
+        return () -> privateCatalog;
+    }
+
     /**
      * Gets the username of the user associated with these favorites.
      *
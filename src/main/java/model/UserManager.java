@@ -2,7 +2,10 @@ package model;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -10,37 +13,134 @@ import java.nio.file.Paths;
 
 /**
  * Manager for user-related operations such as registration, authentication, and subscription.
+ * Users are persisted through a {@link UserStore}, so registering a user appends a single record
+ * instead of rewriting every account. Lookups go through a concurrent hash index keyed by username,
+ * so login and registration cost does not grow with the number of users.
+ *
+ * <p>The manager is safe to share between concurrent sessions. Mutations take one of a fixed set of
+ * locks chosen by username, so registrations of different users rarely contend, while lookups read
+ * the index without locking. Concurrent saves are group-committed by the store and share one sync.</p>
+ *
+ * <p>Passwords are stored as salted PBKDF2 hashes produced by a {@link PasswordHasher}. Plaintext
+ * passwords saved by older versions, and hashes computed at a lower cost, are rehashed the next
+ * time the user logs in.</p>
+ *
+ * <p>Subscribed users are also kept in a separate index that managed users update through a
+ * subscription listener, so listing or counting subscribers does not scan every account.
+ * Subscription changes are persisted as they happen.</p>
  */
 public class UserManager {
 
-    private List<User> users;
-    private static final String USERS_FILE = "data/users.ser";
+    private final Map<String, User> users;
+    private final Map<String, User> subscribers;
+    private final Lock[] locks;
+    private final PasswordHasher hasher;
+    private final UserStore store;
+    private final Path usersFile;
+    private final Path legacyUsersFile;
+    private static final String DEFAULT_DATA_DIRECTORY = "data";
+    private static final String USERS_FILE = "users.db";
+    private static final String LEGACY_USERS_FILE = "users.ser";
+    private static final int LOCK_STRIPES = 32;
 
     /**
-     * Constructs a new UserManager with an empty list of users.
+     * Constructs a new UserManager and loads the stored users.
+     *
+     * @throws IllegalStateException if the user store cannot be opened
      */
     public UserManager() {
-        this.users = new ArrayList<>();
+        this(new PasswordHasher());
+    }
+
+    /**
+     * Constructs a new UserManager with the given password hasher and loads the stored users.
+     *
+     * @param hasher the hasher used for new and legacy passwords
+     * @throws IllegalArgumentException if hasher is null
+     * @throws IllegalStateException if the user store cannot be opened
+     */
+    public UserManager(PasswordHasher hasher) {
+        this(Paths.get(DEFAULT_DATA_DIRECTORY), hasher);
+    }
+
+    /**
+     * Constructs a new UserManager that keeps its users in the given directory and loads them.
+     *
+     * @param dataDirectory the directory holding the user store
+     * @throws IllegalArgumentException if dataDirectory is null
+     * @throws IllegalStateException if the user store cannot be opened
+     */
+    public UserManager(Path dataDirectory) {
+        this(dataDirectory, new PasswordHasher());
+    }
+
+    /**
+     * Constructs a new UserManager that keeps its users in the given directory, with the given
+     * password hasher, and loads them.
+     *
+     * @param dataDirectory the directory holding the user store
+     * @param hasher        the hasher used for new and legacy passwords
+     * @throws IllegalArgumentException if dataDirectory or hasher is null
+     * @throws IllegalStateException if the user store cannot be opened
+     */
+    public UserManager(Path dataDirectory, PasswordHasher hasher) {
+        if (dataDirectory == null) {
+            throw new IllegalArgumentException("Data directory cannot be null");
+        }
+        if (hasher == null) {
+            throw new IllegalArgumentException("Password hasher cannot be null");
+        }
+        this.usersFile = dataDirectory.resolve(USERS_FILE);
+        this.legacyUsersFile = dataDirectory.resolve(LEGACY_USERS_FILE);
+        this.hasher = hasher;
+        this.users = new ConcurrentHashMap<>();
+        this.subscribers = new ConcurrentHashMap<>();
+        this.locks = new Lock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.store = openStore();
         loadUsers();
     }
 
     /**
-     * Registers a new user in the system.
+     * Registers a new user in the system. The user's password is replaced by its hash.
      *
      * @param user the user to register
      * @throws IllegalArgumentException if user is null or if username already exists
+     * @throws IllegalStateException if the password cannot be hashed or the user cannot be saved
      */
     public void registerUser(User user) {
         if (user == null) {
             throw new IllegalArgumentException("User cannot be null");
         }
 
-        if (findUser(user.getUsername()) != null) {
+        if (user.getUsername() == null) {
+            throw new IllegalArgumentException("Username cannot be null");
+        }
+
+        if (users.containsKey(user.getUsername())) {
             throw new IllegalArgumentException("Username already exists");
         }
+        String hashed = user.getPassword() == null ? null : hasher.hash(user.getPassword());
 
-        users.add(user);
-        saveUsers();
+        Lock lock = lockFor(user.getUsername());
+        lock.lock();
+        try {
+            if (users.containsKey(user.getUsername())) {
+                throw new IllegalArgumentException("Username already exists");
+            }
+            user.setPassword(hashed);
+            try {
+                store.put(user);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to save user: " + e.getMessage(), e);
+            }
+            users.put(user.getUsername(), user);
+            track(user);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -55,10 +155,20 @@ public class UserManager {
             return null;
         }
 
-        return users.stream()
-                .filter(u -> u.getUsername().equals(username) && u.getPassword().equals(password))
-                .findFirst()
-                .orElse(null);
+        User user = users.get(username);
+        if (user == null || user.getPassword() == null) {
+            return null;
+        }
+
+        String stored = user.getPassword();
+        boolean legacy = !PasswordHasher.isHash(stored);
+        if (legacy ? !password.equals(stored) : !hasher.verify(password, stored)) {
+            return null;
+        }
+        if (legacy || hasher.needsRehash(stored)) {
+            rehash(user, stored, password);
+        }
+        return user;
     }
 
     /**
@@ -72,10 +182,7 @@ public class UserManager {
             return null;
         }
 
-        return users.stream()
-                .filter(u -> u.getUsername().equals(username))
-                .findFirst()
-                .orElse(null);
+        return users.get(username);
     }
 
     /**
@@ -84,48 +191,158 @@ public class UserManager {
      * @return a list of all users with an active subscription
      */
     public List<User> getSubscribedUsers() {
-        return users.stream()
-                .filter(User::isSubscribed)
-                .collect(Collectors.toList());
+        return new ArrayList<>(subscribers.values());
     }
 
     /**
-     * Saves all users to a file.
+     * Gets the number of subscribed users.
+     *
+     * @return the number of users with an active subscription
      */
-    private void saveUsers() {
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Starts following a managed user's subscription changes and indexes its current status.
+     *
+     * @param user the managed user
+     */
+    private void track(User user) {
+        user.setSubscriptionListener(this::onSubscriptionChanged);
+        updateSubscriberIndex(user);
+    }
+
+    /**
+     * Updates the subscriber index and persists the user after its subscription changed.
+     *
+     * @param user the user whose subscription changed
+     */
+    private void onSubscriptionChanged(User user) {
+        Lock lock = lockFor(user.getUsername());
+        lock.lock();
         try {
-            // Ensure directory exists
-            Path dir = Paths.get(USERS_FILE).getParent();
-            if (!Files.exists(dir)) {
-                Files.createDirectories(dir);
+            if (users.get(user.getUsername()) != user) {
+                return;
             }
+            updateSubscriberIndex(user);
+            saveUser(user);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds or removes a user from the subscriber index to match its current status.
+     *
+     * @param user the user to index
+     */
+    private void updateSubscriberIndex(User user) {
+        if (user.isSubscribed()) {
+            subscribers.put(user.getUsername(), user);
+        } else {
+            subscribers.remove(user.getUsername());
+        }
+    }
+
+    /**
+     * Replaces a legacy or outdated password with a hash at the current cost.
+     *
+     * @param user     the authenticated user
+     * @param stored   the password value the user was authenticated against
+     * @param password the plaintext password
+     */
+    private void rehash(User user, String stored, String password) {
+        String hashed;
+        try {
+            hashed = hasher.hash(password);
+        } catch (IllegalStateException e) {
+            System.err.println("Failed to rehash password: " + e.getMessage());
+            return;
+        }
 
-            // Save to file
-            try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(USERS_FILE))) {
-                out.writeObject(users);
+        Lock lock = lockFor(user.getUsername());
+        lock.lock();
+        try {
+            if (stored.equals(user.getPassword())) {
+                user.setPassword(hashed);
+                saveUser(user);
             }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the lock guarding mutations of the given username.
+     *
+     * @param username the username being changed
+     * @return the lock stripe for the username
+     */
+    private Lock lockFor(String username) {
+        return locks[(username.hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES];
+    }
+
+    /**
+     * Appends a single user to the user store.
+     *
+     * @param user the user to save
+     */
+    private void saveUser(User user) {
+        try {
+            store.put(user);
         } catch (IOException e) {
             System.err.println("Failed to save users: " + e.getMessage());
         }
     }
 
     /**
-     * Loads users from a file.
-     * If the file doesn't exist or there's an error reading it, starts with an empty list.
+     * Opens the user store.
+     *
+     * @return the store
+     * @throws IllegalStateException if the store cannot be opened
      */
-    private void loadUsers() {
+    private UserStore openStore() {
         try {
-            Path file = Paths.get(USERS_FILE);
-            if (Files.exists(file)) {
-                try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file.toFile()))) {
-                    @SuppressWarnings("unchecked")
-                    List<User> loadedUsers = (List<User>) in.readObject();
-                    users = loadedUsers;
+            return new UserStore(usersFile);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load users from " + usersFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads users from the user store.
+     * Users saved by older versions in a serialized list are migrated into the store the first time.
+     */
+    private void loadUsers() {
+        if (store.size() == 0) {
+            migrateLegacyUsers();
+        }
+        for (User user : store.getAll()) {
+            users.put(user.getUsername(), user);
+            track(user);
+        }
+    }
+
+    /**
+     * Copies users from the legacy serialized users file into the store, if that file exists.
+     * The legacy file is left in place and ignored once the store has users.
+     */
+    private void migrateLegacyUsers() {
+        if (!Files.exists(legacyUsersFile)) {
+            return;
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(legacyUsersFile.toFile()))) {
+            @SuppressWarnings("unchecked")
+            List<User> legacyUsers = (List<User>) in.readObject();
+            for (User user : legacyUsers) {
+                if (user != null && user.getUsername() != null) {
+                    store.put(user);
                 }
             }
-        } catch (IOException | ClassNotFoundException e) {
-            // If loading fails, start with empty list
-            this.users = new ArrayList<>();
+        } catch (ClassNotFoundException | IOException e) {
+            System.err.println("Failed to migrate legacy users: " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,389 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent store of user accounts backed by an append-only file.
+ *
+ * <p>Each call to {@link #put(User)} appends one small record holding the username, password and
+ * subscription flag, so the cost of saving a user does not depend on how many users exist. When
+ * the file is opened the records are replayed into a hash index keyed by username, with later
+ * records replacing earlier ones. Once superseded records make up most of the file, it is rewritten
+ * with one record per user.</p>
+ *
+ * <p>The file starts with a magic number and version, and each record is framed as an int payload
+ * length, an int CRC32 of the payload and the payload itself. Loading stops at the first truncated
+ * or corrupt record: everything before it is kept, the damaged file is copied aside with a
+ * {@code .corrupt} suffix, and the store is rewritten without the damaged part. A file without the
+ * header is treated the same way, as damaged from its first byte.</p>
+ *
+ * <p>Writes are group-committed: concurrent callers queue their records, and whichever caller gets
+ * to commit first writes every queued record and forces them to disk with a single sync. A call to
+ * {@code put} returns only after its own record is durable.</p>
+ */
+public class UserStore implements Closeable {
+    private static final int MAGIC = 0x55534552;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    // A length-prefixed username, a flag, a length-prefixed password and a flag
+    private static final int MAX_RECORD_BYTES = 2 * (2 + 65535 + 1);
+    private static final int MIN_COMPACTION_RECORDS = 64;
+    private static final int BUFFER_SIZE = 1 << 14;
+
+    private final Path storePath;
+    private final Map<String, User> users;
+    private final List<PendingWrite> pending;
+    private final Object commitLock;
+    private FileOutputStream fileOut;
+    private DataOutputStream out;
+    private long recordCount;
+    private long syncCount;
+
+    /**
+     * A record waiting to be committed, together with the outcome of its commit.
+     */
+    private static final class PendingWrite {
+        private final User user;
+        private final byte[] record;
+        private boolean done;
+        private IOException failure;
+
+        private PendingWrite(User user, byte[] record) {
+            this.user = user;
+            this.record = record;
+        }
+    }
+
+    /**
+     * Opens the store, creating the file and its directory if needed.
+     *
+     * @param storePath the path of the store file
+     * @throws IOException if the store cannot be read or opened for appending
+     * @throws IllegalArgumentException if the path is null
+     */
+    public UserStore(Path storePath) throws IOException {
+        if (storePath == null) {
+            throw new IllegalArgumentException("Store path cannot be null");
+        }
+        this.storePath = storePath;
+        this.users = new LinkedHashMap<>();
+        this.pending = new ArrayList<>();
+        this.commitLock = new Object();
+
+        Path parent = storePath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        load();
+        if (recordCount > MIN_COMPACTION_RECORDS && recordCount > 2L * users.size()) {
+            rewrite();
+        }
+        openForAppend();
+    }
+
+    /**
+     * Finds a user by username.
+     *
+     * @param username the username to look up
+     * @return the stored user, or null if there is none
+     */
+    public synchronized User get(String username) {
+        return users.get(username);
+    }
+
+    /**
+     * Gets all stored users in the order they were first saved.
+     *
+     * @return a list of all users
+     */
+    public synchronized List<User> getAll() {
+        return new ArrayList<>(users.values());
+    }
+
+    /**
+     * Gets the number of stored users.
+     *
+     * @return the number of users
+     */
+    public synchronized int size() {
+        return users.size();
+    }
+
+    /**
+     * Gets the number of times the store has been synced to disk, which is at most one per commit.
+     *
+     * @return the number of syncs
+     */
+    public synchronized long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * Saves a new user or the current state of an existing one by appending a single record.
+     * The record is committed together with any records queued by other threads, and this
+     * method returns once it has been synced to disk.
+     *
+     * @param user the user to save
+     * @throws IOException if the record cannot be written
+     * @throws IllegalArgumentException if the user or the username is null
+     */
+    public void put(User user) throws IOException {
+        if (user == null || user.getUsername() == null) {
+            throw new IllegalArgumentException("User and username cannot be null");
+        }
+
+        PendingWrite write = new PendingWrite(user, frame(user));
+        synchronized (this) {
+            pending.add(write);
+        }
+
+        synchronized (commitLock) {
+            if (!write.done) {
+                commitPending();
+            }
+        }
+        if (write.failure != null) {
+            throw write.failure;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (commitLock) {
+            commitPending();
+            out.close();
+        }
+    }
+
+    /**
+     * Writes every queued record, syncs once and publishes the users to the index.
+     * Must be called while holding the commit lock.
+     */
+    private void commitPending() {
+        List<PendingWrite> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        IOException failure = null;
+        try {
+            for (PendingWrite write : batch) {
+                out.write(write.record);
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        } catch (IOException e) {
+            failure = e;
+        }
+
+        synchronized (this) {
+            if (failure == null) {
+                syncCount++;
+                for (PendingWrite write : batch) {
+                    users.put(write.user.getUsername(), write.user);
+                }
+                recordCount += batch.size();
+            }
+        }
+        for (PendingWrite write : batch) {
+            write.failure = failure;
+            write.done = true;
+        }
+
+        if (failure == null && recordCount > MIN_COMPACTION_RECORDS && recordCount > 2L * users.size()) {
+            try {
+                out.close();
+                synchronized (this) {
+                    rewrite();
+                }
+                openForAppend();
+            } catch (IOException e) {
+                System.err.println("Failed to compact user store: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Replays the store file into the index. A truncated or corrupt record, typically left by a
+     * crash in the middle of a write, ends the replay; the damaged file is kept aside and the store
+     * is rewritten with the records read before it. A file without the store header is damaged
+     * as a whole, so none of it is read.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private void load() throws IOException {
+        if (!Files.exists(storePath) || Files.size(storePath) == 0) {
+            return;
+        }
+
+        boolean damaged;
+        long size = Files.size(storePath);
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(storePath), BUFFER_SIZE))) {
+            boolean framed = size >= HEADER_BYTES && in.readInt() == MAGIC && in.readInt() == VERSION;
+            damaged = !framed || loadFramed(in);
+        }
+
+        if (damaged) {
+            Path corruptPath = storePath.resolveSibling(storePath.getFileName() + ".corrupt");
+            Files.copy(storePath, corruptPath, StandardCopyOption.REPLACE_EXISTING);
+            System.err.println("User store " + storePath + " has a damaged record; kept " + users.size()
+                    + " users and saved the damaged file as " + corruptPath);
+            rewrite();
+        }
+    }
+
+    /**
+     * Reads framed records until the end of the file or the first truncated or corrupt record.
+     *
+     * @param in the stream positioned after the header
+     * @return true if a truncated or corrupt record was found
+     * @throws IOException if the file cannot be read
+     */
+    private boolean loadFramed(DataInputStream in) throws IOException {
+        while (true) {
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                return false;
+            }
+
+            try {
+                int checksum = in.readInt();
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    return true;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    return true;
+                }
+
+                User user = readRecord(new DataInputStream(new ByteArrayInputStream(payload)));
+                users.put(user.getUsername(), user);
+                recordCount++;
+            } catch (EOFException e) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Rewrites the store file with exactly one record per user.
+     *
+     * @throws IOException if the file cannot be rewritten
+     */
+    private void rewrite() throws IOException {
+        Path tempPath = storePath.resolveSibling(storePath.getFileName() + ".tmp");
+        FileOutputStream tempOut = new FileOutputStream(tempPath.toFile());
+        try (DataOutputStream rewritten = new DataOutputStream(new BufferedOutputStream(tempOut, BUFFER_SIZE))) {
+            rewritten.writeInt(MAGIC);
+            rewritten.writeInt(VERSION);
+            for (User user : users.values()) {
+                rewritten.write(frame(user));
+            }
+            rewritten.flush();
+            tempOut.getFD().sync();
+        }
+        Files.move(tempPath, storePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        recordCount = users.size();
+    }
+
+    /**
+     * Opens the store file for appending, writing the header if the file is new.
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    private void openForAppend() throws IOException {
+        fileOut = new FileOutputStream(storePath.toFile(), true);
+        out = new DataOutputStream(new BufferedOutputStream(fileOut, BUFFER_SIZE));
+        if (fileOut.getChannel().size() == 0) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.flush();
+            fileOut.getFD().sync();
+        }
+    }
+
+    /**
+     * Encodes one user as a framed record: payload length, CRC32 and payload.
+     *
+     * @param user the user to encode
+     * @return the framed record
+     * @throws IOException if encoding fails
+     */
+    private static byte[] frame(User user) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream payloadOut = new DataOutputStream(payload)) {
+            writeRecord(payloadOut, user);
+        }
+        byte[] bytes = payload.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        ByteArrayOutputStream record = new ByteArrayOutputStream(bytes.length + 2 * Integer.BYTES);
+        try (DataOutputStream recordOut = new DataOutputStream(record)) {
+            recordOut.writeInt(bytes.length);
+            recordOut.writeInt((int) crc.getValue());
+            recordOut.write(bytes);
+        }
+        return record.toByteArray();
+    }
+
+    /**
+     * Writes one user record.
+     *
+     * @param stream the stream to write to
+     * @param user   the user to write
+     * @throws IOException if writing fails
+     */
+    private static void writeRecord(DataOutputStream stream, User user) throws IOException {
+        stream.writeUTF(user.getUsername());
+        stream.writeBoolean(user.getPassword() != null);
+        if (user.getPassword() != null) {
+            stream.writeUTF(user.getPassword());
+        }
+        stream.writeBoolean(user.isSubscribed());
+    }
+
+    /**
+     * Reads one user record.
+     *
+     * @param in the stream to read from
+     * @return the user described by the record
+     * @throws IOException if reading fails, including {@link EOFException} at the end of the file
+     */
+    private static User readRecord(DataInputStream in) throws IOException {
+        String username = in.readUTF();
+        String password = in.readBoolean() ? in.readUTF() : null;
+        User user = new User(username, password);
+        if (in.readBoolean()) {
+            user.subscribe();
+        }
+        return user;
+    }
+}
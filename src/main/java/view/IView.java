@@ -1,9 +1,11 @@
 package view;
 
+import model.GroupBy;
 import model.Influencer;
 import model.User;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface for the application view component in the MVC architecture.
@@ -104,6 +106,16 @@ public interface IView {
      */
     boolean shouldShowAdRate();
 
+    /**
+     * Displays how many influencers have each value of an attribute, in the whole catalog and in
+     * the current results.
+     *
+     * @param groupBy       The attribute being counted
+     * @param catalogCounts The counts by value across the catalog
+     * @param resultCounts  The counts by value within the current results
+     */
+    void displayFacetCounts(GroupBy groupBy, Map<String, Integer> catalogCounts, Map<String, Integer> resultCounts);
+
     /**
      * Displays the user's favorite influencers.
      *
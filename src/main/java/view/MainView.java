@@ -1,12 +1,15 @@
 package view;
 
 import controller.MainController;
+import model.GroupBy;
 import model.Influencer;
 import model.User;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.TreeMap;
 
 /**
  * Main view implementation for the console-based user interface.
@@ -247,6 +250,33 @@ public class MainView implements IView {
     }
 
 
+    /**
+     * Displays facet counts as a table of values with their catalog and current result counts.
+     *
+     * @param groupBy       attribute being counted
+     * @param catalogCounts counts by value across the catalog
+     * @param resultCounts  counts by value within the current results
+     */
+    @Override
+    public void displayFacetCounts(GroupBy groupBy, Map<String, Integer> catalogCounts,
+                                   Map<String, Integer> resultCounts) {
+        String attribute = groupBy.name().charAt(0) + groupBy.name().substring(1).toLowerCase();
+        System.out.println("\n==== " + attribute + " Options ====");
+        if (catalogCounts.isEmpty()) {
+            System.out.println("No values to display.");
+            return;
+        }
+
+        System.out.printf("%-20s | %-8s | %s%n", attribute, "Catalog", "Current Results");
+        System.out.println("-".repeat(50));
+        Map<String, Integer> current = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        current.putAll(resultCounts);
+        for (Map.Entry<String, Integer> entry : catalogCounts.entrySet()) {
+            System.out.printf("%-20s | %-8d | %d%n", entry.getKey(), entry.getValue(),
+                    current.getOrDefault(entry.getKey(), 0));
+        }
+    }
+
     /**
      * Determines if ad rate information should be displayed.
      *
@@ -386,6 +416,7 @@ public class MainView implements IView {
         System.out.println("2. View Influencers");
         System.out.println("3. View Favorites");
         System.out.println("4. Logout");
+        System.out.println("5. Show Performance Metrics");
         System.out.print("Select an option: ");
     }
 
@@ -409,11 +440,14 @@ public class MainView implements IView {
         System.out.println("6. Sort by Name");
         System.out.println("7. Sort by Followers");
         System.out.println("8. Sort by Ad Rate");
-        System.out.println("9. Add to Favorites");
+        System.out.println("9. Add to Favorites (one or more IDs, or all)");
         System.out.println("10. Export Data");
         System.out.println("11. Import Data");
         System.out.println("12. Back to User Profile");
         System.out.println("13. Reset to All Influencers");
+        System.out.println("14. Show Statistics by Group");
+        System.out.println("15. Rank by Score Formula");
+        System.out.println("16. Plan Campaign within Budget (premium)");
         System.out.print("Select an option: ");
     }
 
@@ -430,7 +464,7 @@ public class MainView implements IView {
 
         System.out.println("\nOptions:");
         System.out.println("1. Search by Name");
-        System.out.println("2. Remove from Favorites");
+        System.out.println("2. Remove from Favorites (one or more IDs, or all)");
         System.out.println("3. Export Favorites");
         System.out.println("4. Back to User Profile");
         System.out.print("Select an option: ");
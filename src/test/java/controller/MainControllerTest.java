@@ -3,6 +3,7 @@ package controller;
 import model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -17,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,6 +34,9 @@ import static org.mockito.Mockito.*;
 public class MainControllerTest {
     private MainController controller;
 
+    @TempDir
+    Path tempDir;
+
     @Mock
     private MainView mockView;
 
@@ -54,7 +59,7 @@ public class MainControllerTest {
     public void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        controller = new MainController(mockView);
+        controller = new MainController(mockView, tempDir);
 
         // Load sample data for testing
         testInfluencers = new ArrayList<>();
@@ -349,8 +354,8 @@ public class MainControllerTest {
     private static class TestMainController extends MainController {
         private final IExporter testExporter;
 
-        public TestMainController(MainView view, IExporter exporter) {
-            super(view);
+        public TestMainController(MainView view, Path dataDirectory, IExporter exporter) {
+            super(view, dataDirectory);
             this.testExporter = exporter;
         }
 
@@ -381,7 +386,7 @@ public class MainControllerTest {
         IExporter failingExporter = mock(IExporter.class);
         when(failingExporter.export(anyList(), anyString())).thenReturn(false);
 
-        TestMainController testController = new TestMainController(mockView, failingExporter);
+        TestMainController testController = new TestMainController(mockView, tempDir, failingExporter);
 
         try {
             Field repoField = MainController.class.getDeclaredField("repository");
@@ -451,6 +456,187 @@ public class MainControllerTest {
         assertNull(result);
     }
 
+    @Test
+    public void testHandleRequestOptimize() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("budget", 6000.0);
+        controller.handleRequest("optimize", params);
+
+        ArgumentCaptor<List<Influencer>> results = ArgumentCaptor.forClass(List.class);
+        verify(mockView).displayInfluencers(results.capture());
+        assertEquals(List.of("David Lee", "Sophia Chen"),
+                results.getValue().stream().map(Influencer::getName).collect(java.util.stream.Collectors.toList()));
+        verify(mockView).displayMessage(contains("Total reach: 2,300,000 followers"));
+
+        testUser.unsubscribe();
+        assertThrows(IllegalStateException.class, () -> controller.handleRequest("optimize", params));
+    }
+
+    @Test
+    public void testHandleRequestOptimizeAndRankParameters() {
+        controller.handleRequest("optimize", new HashMap<>());
+        verify(mockView).showError("Missing campaign budget");
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("formula", "followers");
+        params.put("k", 2L);
+        controller.handleRequest("rank", params);
+        verify(mockView).displayMessage(contains("Top 2 by"));
+
+        Map<String, Object> badOptimize = new HashMap<>();
+        badOptimize.put("budget", 1000.0);
+        badOptimize.put("timeLimitMillis", "soon");
+        controller.handleRequest("optimize", badOptimize);
+        verify(mockView).showError("Invalid optimization time limit");
+
+        params.put("k", "two");
+        controller.handleRequest("rank", params);
+        verify(mockView).showError("Invalid number of ranked results");
+    }
+
+    @Test
+    public void testHandleRequestOptimizeAndRankValidateUserFirst() throws Exception {
+        Field currentUserField = MainController.class.getDeclaredField("currentUser");
+        currentUserField.setAccessible(true);
+        currentUserField.set(controller, null);
+
+        assertThrows(IllegalStateException.class, () -> controller.handleRequest("optimize", new HashMap<>()));
+        Map<String, Object> params = new HashMap<>();
+        params.put("k", "two");
+        assertThrows(IllegalStateException.class, () -> controller.handleRequest("rank", params));
+        verify(mockView, never()).showError(anyString());
+    }
+
+    @Test
+    public void testHandleRequestRank() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("formula", "followersPerDollar");
+        params.put("k", 2);
+        controller.handleRequest("rank", params);
+
+        ArgumentCaptor<List<Influencer>> results = ArgumentCaptor.forClass(List.class);
+        verify(mockView).displayInfluencers(results.capture());
+        assertEquals(List.of("David Lee", "Sophia Chen"),
+                results.getValue().stream().map(Influencer::getName).collect(java.util.stream.Collectors.toList()));
+        verify(mockView).displayMessage(contains("Top 2 by 1*followersPerDollar"));
+
+        params.put("formula", "followers / adRate");
+        controller.handleRequest("rank", params);
+        verify(mockView).showError(contains("Cannot rank"));
+    }
+
+    @Test
+    public void testHandleRequestRankUnsubscribed() {
+        testUser.unsubscribe();
+        Map<String, Object> params = new HashMap<>();
+        params.put("formula", "followersPerDollar");
+        params.put("k", 2);
+        assertThrows(IllegalStateException.class, () -> controller.handleRequest("rank", params));
+
+        params.put("formula", "logFollowers + 0.5*adRate");
+        assertThrows(IllegalStateException.class, () -> controller.handleRequest("rank", params));
+        verify(mockView, never()).displayInfluencers(anyList());
+
+        params.put("formula", "followers + 0.5*logFollowers");
+        controller.handleRequest("rank", params);
+        ArgumentCaptor<List<Influencer>> results = ArgumentCaptor.forClass(List.class);
+        verify(mockView).displayInfluencers(results.capture());
+        assertEquals(2, results.getValue().size());
+    }
+
+    @Test
+    public void testHandleRequestFacets() {
+        Map<String, Integer> catalogCounts = Map.of("Instagram", 4, "YouTube", 3, "TikTok", 1);
+        when(mockRepository.getFacetCounts(GroupBy.PLATFORM)).thenReturn(catalogCounts);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("groupBy", "platform");
+        controller.handleRequest("facets", params);
+
+        Map<String, Integer> resultCounts = FacetCounts.of(testInfluencers).getCounts(GroupBy.PLATFORM);
+        verify(mockView).displayFacetCounts(GroupBy.PLATFORM, catalogCounts, resultCounts);
+        assertEquals(2, resultCounts.get("YouTube"));
+
+        params.put("groupBy", "followers");
+        controller.handleRequest("facets", params);
+        verify(mockView).showError(contains("Cannot count by 'followers'"));
+    }
+
+    @Test
+    public void testFilterOptionsShowFacetCounts() {
+        when(mockView.promptForInput(anyString())).thenReturn("UK");
+        controller.handleInfluencerListState("5", new HashMap<>());
+
+        InOrder inOrder = inOrder(mockView);
+        inOrder.verify(mockView).displayFacetCounts(eq(GroupBy.COUNTRY), any(), any());
+        inOrder.verify(mockView).promptForInput(contains("country"));
+    }
+
+    @Test
+    public void testHandleRequestAggregate() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("groupBy", "platform");
+        controller.handleRequest("aggregate", params);
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(mockView).displayMessage(message.capture());
+        assertTrue(message.getValue().contains("Statistics by platform"));
+        assertTrue(message.getValue().contains("Instagram"));
+        assertTrue(message.getValue().contains("Total"));
+
+        params.put("groupBy", "name");
+        controller.handleRequest("aggregate", params);
+        verify(mockView).showError(contains("Cannot group by 'name'"));
+    }
+
+    @Test
+    public void testHandleRequestRecordsMetrics() {
+        MetricsRegistry metrics = controller.getMetrics();
+        assertFalse(metrics.isEnabled());
+
+        Map<String, Object> searchParams = new HashMap<>();
+        searchParams.put("query", "John");
+        controller.handleRequest("search", searchParams);
+        assertTrue(metrics.getOperations().isEmpty());
+
+        metrics.setEnabled(true);
+        controller.handleRequest("search", searchParams);
+
+        when(mockUserManager.authenticateUser("testUser", "wrongPassword")).thenReturn(null);
+        Map<String, Object> loginParams = new HashMap<>();
+        loginParams.put("username", "testUser");
+        loginParams.put("password", "wrongPassword");
+        controller.handleRequest("login", loginParams);
+
+        Map<String, Object> exportParams = new HashMap<>();
+        exportParams.put("format", "xml");
+        exportParams.put("path", "export.xml");
+        exportParams.put("data", testInfluencers);
+        controller.handleRequest("export", exportParams);
+
+        Map<String, Object> sortParams = new HashMap<>();
+        assertThrows(NullPointerException.class, () -> controller.handleRequest("sort", sortParams));
+
+        assertEquals(1, metrics.getCount("search"));
+        assertEquals(0, metrics.getErrorCount("search"));
+        assertEquals(1, metrics.getErrorCount("login"));
+        assertEquals(1, metrics.getErrorCount("export"));
+        assertEquals(1, metrics.getErrorCount("sort"));
+
+        controller.handleRequest("metrics", null);
+        verify(mockView).displayMessage(argThat(message -> message.contains("search") && message.contains("login")));
+    }
+
+    @Test
+    public void testTransferReportIsShownWithMetrics() {
+        controller.handleExport("csv", tempDir.resolve("report.csv").toString(), testInfluencers);
+        verify(mockView).showExportSuccess(anyString());
+
+        controller.handleRequest("metrics", null);
+        verify(mockView).displayMessage(argThat(message -> message.contains("Last transfer")
+                && message.contains("export")));
+    }
+
     @Test
     public void testHandleRegistration() {
         User newUser = new User("newUser", "newPassword");
@@ -600,7 +786,7 @@ public class MainControllerTest {
 
             verify(mockView).showImportSuccess(contains("influencers imported"));
 
-            verify(mockRepository, atLeastOnce()).save(any(Influencer.class));
+            verify(mockRepository).saveAll(anyList());
 
             java.lang.reflect.Field workingSetField = MainController.class.getDeclaredField("currentWorkingSet");
             workingSetField.setAccessible(true);
@@ -680,9 +866,30 @@ public class MainControllerTest {
         }
     }
 
+    @Test
+    public void testHandleRequestFavoriteListsAreChecked() throws Exception {
+        Field userFavoritesField = MainController.class.getDeclaredField("userFavorites");
+        userFavoritesField.setAccessible(true);
+        UserFavorites mockFavorites = (UserFavorites) userFavoritesField.get(controller);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("influencers", List.of(testInfluencers.get(0), "not an influencer"));
+        controller.handleRequest("addAllToFavorites", params);
+        params.put("influencers", "not a list");
+        controller.handleRequest("removeAllFromFavorites", params);
+        controller.handleRequest("removeAllFromFavorites", new HashMap<>());
+        verify(mockView, times(3)).showError("Missing influencer list");
+        verify(mockFavorites, never()).addItems(anyCollection());
+        verify(mockFavorites, never()).removeItems(anyCollection());
+
+        params.put("influencers", List.of(testInfluencers.get(0)));
+        controller.handleRequest("addAllToFavorites", params);
+        verify(mockFavorites).addItems(List.of(testInfluencers.get(0)));
+    }
+
     @Test
     public void testInitialize() {
-        MainController testController = new MainController(mockView);
+        MainController testController = new MainController(mockView, tempDir);
 
         try {
             Field repoField = MainController.class.getDeclaredField("repository");
@@ -699,6 +906,90 @@ public class MainControllerTest {
         verify(mockView).setVisible(true);
     }
 
+    @Test
+    public void testAsyncImportSwapsPersistentCatalog() throws Exception {
+        MainController testController = new MainController(mockView, tempDir);
+        testController.initialize();
+        Field repoField = MainController.class.getDeclaredField("repository");
+        repoField.setAccessible(true);
+        Object before = repoField.get(testController);
+        assertTrue(before instanceof PersistentInfluencerRepository);
+
+        Field userField = MainController.class.getDeclaredField("currentUser");
+        userField.setAccessible(true);
+        userField.set(testController, testUser);
+        Path file = tempDir.resolve("import.csv");
+        java.nio.file.Files.write(file, List.of("name,platform,category,followers,country,adRate",
+                "Async Import,TikTok,Food,42,Canada,10.0"));
+
+        ImportJob job = testController.handleImportAsync("csv", file.toString(), null);
+        assertTrue(job.awaitCompletion(10, java.util.concurrent.TimeUnit.SECONDS));
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+
+        Object after = repoField.get(testController);
+        assertTrue(after instanceof PersistentInfluencerRepository);
+        assertNotSame(before, after);
+        assertSame(((InfluencerRepository) before).getIds(), ((InfluencerRepository) after).getIds(),
+                "IDs handed out by the old catalog must resolve in the new one");
+        int expectedSize = ((InfluencerRepository) after).findAll().size();
+        assertEquals(1, ((InfluencerRepository) after).searchByName("Async Import").size());
+        ((PersistentInfluencerRepository) after).close();
+
+        try (PersistentInfluencerRepository reopened = new PersistentInfluencerRepository(tempDir.resolve("catalog"))) {
+            assertEquals(expectedSize, reopened.findAll().size());
+            assertEquals(1, reopened.searchByName("Async Import").size());
+        }
+    }
+
+    @Test
+    public void testSavesDuringAsyncImportSurviveTheSwap() throws Exception {
+        MainController testController = new MainController(mockView, tempDir);
+        testController.initialize();
+        Field repoField = MainController.class.getDeclaredField("repository");
+        repoField.setAccessible(true);
+        Field userField = MainController.class.getDeclaredField("currentUser");
+        userField.setAccessible(true);
+        userField.set(testController, testUser);
+
+        Path asyncFile = tempDir.resolve("async.csv");
+        java.nio.file.Files.write(asyncFile, List.of("name,platform,category,followers,country,adRate",
+                "Async Import,TikTok,Food,42,Canada,10.0"));
+        Path liveFile = tempDir.resolve("live.csv");
+        java.nio.file.Files.write(liveFile, List.of("name,platform,category,followers,country,adRate",
+                "Live Import,YouTube,Tech,7,USA,5.0"));
+
+        java.util.concurrent.CountDownLatch batchLoaded = new java.util.concurrent.CountDownLatch(1);
+        java.util.concurrent.CountDownLatch release = new java.util.concurrent.CountDownLatch(1);
+        ImportJob job = testController.handleImportAsync("csv", asyncFile.toString(), progress -> {
+            if (progress.getStatus() == ImportJob.Status.RUNNING) {
+                batchLoaded.countDown();
+                try {
+                    release.await(10, java.util.concurrent.TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertTrue(batchLoaded.await(10, java.util.concurrent.TimeUnit.SECONDS));
+
+        // A write made to the live catalog while the job is running
+        testController.handleImport("csv", liveFile.toString());
+        assertNull(testController.handleImportAsync("csv", asyncFile.toString(), null));
+        verify(mockView).showError("An import is already running");
+        release.countDown();
+
+        assertTrue(job.awaitCompletion(10, java.util.concurrent.TimeUnit.SECONDS));
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        InfluencerRepository swapped = (InfluencerRepository) repoField.get(testController);
+        assertEquals(1, swapped.searchByName("Async Import").size());
+        assertEquals(1, swapped.searchByName("Live Import").size());
+        ((PersistentInfluencerRepository) swapped).close();
+
+        try (PersistentInfluencerRepository reopened = new PersistentInfluencerRepository(tempDir.resolve("catalog"))) {
+            assertEquals(1, reopened.searchByName("Live Import").size());
+        }
+    }
+
     @Test
     public void testShowViews() {
         // Test showInfluencerListView
@@ -1117,7 +1408,7 @@ public class MainControllerTest {
     private void testProcessInputExceptionHandling() {
         try {
             // Use a dedicated controller to avoid affecting global state
-            MainController localController = new MainController(mockView);
+            MainController localController = new MainController(mockView, tempDir);
 
             Field isRunningField = MainController.class.getDeclaredField("isRunning");
             isRunningField.setAccessible(true);
@@ -1155,6 +1446,23 @@ public class MainControllerTest {
         verify(mockView).displayInfluencers(testInfluencers);
     }
 
+    @Test
+    public void testSetCurrentUserReusesCachedFavorites() throws Exception {
+        Field userFavoritesField = MainController.class.getDeclaredField("userFavorites");
+        userFavoritesField.setAccessible(true);
+
+        controller.setCurrentUser(new User("cachedUser", "password"));
+        UserFavorites first = (UserFavorites) userFavoritesField.get(controller);
+        assertFalse(first.isLoaded(), "Favorites should not be read at login");
+
+        controller.setCurrentUser(null);
+        controller.setCurrentUser(new User("cachedUser", "password"));
+        assertSame(first, userFavoritesField.get(controller));
+
+        controller.setCurrentUser(new User("otherUser", "password"));
+        assertNotSame(first, userFavoritesField.get(controller));
+    }
+
     @Test
     public void testSetCurrentUser() {
         User newUser = new User("newTestUser", "password");
@@ -1221,7 +1529,7 @@ public class MainControllerTest {
     @Test
     public void testHandleExportState() throws Exception {
         // Create a controller subclass that overrides handleExport method for testing handleExportState
-        MainController testController = new MainController(mockView) {
+        MainController testController = new MainController(mockView, tempDir) {
             @Override
             public void handleExport(String format, String path, List<Influencer> data) {
                 System.out.println("handleExport called with format=" + format + ", path=" + path);
@@ -1257,7 +1565,7 @@ public class MainControllerTest {
     @Test
     public void testExportFavorites() throws Exception {
         // Create a controller subclass that overrides handleExport method for testing exportFavorites
-        MainController testController = new MainController(mockView) {
+        MainController testController = new MainController(mockView, tempDir) {
             @Override
             public void handleExport(String format, String path, List<Influencer> data) {
                 System.out.println("handleExport called with format=" + format + ", path=" + path);
@@ -1295,7 +1603,7 @@ public class MainControllerTest {
         when(mockView.getUserInput()).thenReturn("1"); // Choose CSV
         when(mockView.promptForInput(contains("path"))).thenReturn("test.csv");
 
-        MainController testController = new MainController(mockView) {
+        MainController testController = new MainController(mockView, tempDir) {
             @Override
             public void handleImport(String format, String path) {
                 // Simply log the call, don't perform actual operations
@@ -1484,7 +1792,7 @@ public class MainControllerTest {
     @Test
     public void testHandleExportEmptyFavorites() {
         // Create a custom controller with proper error handling for empty lists
-        MainController testController = new MainController(mockView) {
+        MainController testController = new MainController(mockView, tempDir) {
             @Override
             public void handleExport(String format, String path, List<Influencer> data) {
                 // Add explicit check for empty data list
@@ -1770,6 +2078,32 @@ public class MainControllerTest {
         method.invoke(controller, "9", params);
 
         verify(mockView).showError(contains("Invalid"));
+
+        // Several IDs are added as one batch
+        reset(mockView);
+        when(mockView.getCurrentInfluencers()).thenReturn(testInfluencers);
+        when(mockView.promptForInput(contains("ID"))).thenReturn("1, 2");
+
+        method.invoke(controller, "9", params);
+
+        verify(userFavoritesMock).addItems(List.of(testInfluencers.get(0), testInfluencers.get(1)));
+        verify(mockView).displayMessage(contains("favorites"));
+
+        // "all" adds every current result
+        when(mockView.promptForInput(contains("ID"))).thenReturn("all");
+
+        method.invoke(controller, "9", params);
+
+        verify(userFavoritesMock).addItems(testInfluencers);
+
+        // A bad entry in a list rejects the whole batch
+        reset(mockView);
+        when(mockView.getCurrentInfluencers()).thenReturn(testInfluencers);
+        when(mockView.promptForInput(contains("ID"))).thenReturn("1,x");
+
+        method.invoke(controller, "9", params);
+
+        verify(mockView).showError(contains("Invalid"));
     }
 
     // Test cases 10, 11, and 12: Show export, import, or user view
@@ -1926,6 +2260,16 @@ public class MainControllerTest {
         method.invoke(controller, "2", params);
 
         verify(mockView).showError(contains("Invalid"));
+
+        // Several IDs are removed as one batch
+        reset(mockView);
+        when(mockView.getCurrentFavorites()).thenReturn(List.of(testInfluencers.get(0), testInfluencers.get(1)));
+        when(mockView.promptForInput(contains("ID"))).thenReturn("all");
+
+        method.invoke(controller, "2", params);
+
+        verify(userFavoritesMock).removeItems(List.of(testInfluencers.get(0), testInfluencers.get(1)));
+        verify(mockView).showUserFavoritesView();
     }
 
     // Test case 3: Export favorites
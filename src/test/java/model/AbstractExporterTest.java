@@ -75,6 +75,25 @@ public abstract class AbstractExporterTest {
         }
     }
 
+    /**
+     * Test that an export records a throughput report.
+     */
+    @Test
+    void testExportReport() {
+        File exportFile = tempDir.resolve("report." + getFileExtension()).toFile();
+        assertNull(exporter.getLastReport());
+
+        exporter.export(testData, exportFile.getAbsolutePath());
+
+        TransferReport report = exporter.getLastReport();
+        assertEquals("export", report.getOperation());
+        assertEquals(testData.size(), report.getRecords());
+        assertEquals(0, report.getErrors());
+        assertEquals(exportFile.length(), report.getBytes());
+        assertTrue(report.getPhaseNanos(TransferReport.Phase.WRITE) > 0);
+        assertTrue(report.toJson().contains("\"records\": " + testData.size()));
+    }
+
     /**
      * Test exporting to an invalid path - implementation returns false instead of throwing exception.
      */
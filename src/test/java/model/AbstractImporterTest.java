@@ -16,7 +16,7 @@ class AbstractImporterTest {
      */
     private static class TestImporter extends AbstractImporter {
         @Override
-        protected List<Influencer> parseData(String content) {
+        protected List<Influencer> parseData(String content, ImportErrors errors) {
             // Simple test implementation
             return new ArrayList<>();
         }
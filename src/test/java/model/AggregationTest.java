@@ -0,0 +1,134 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the Aggregation, GroupStats and GroupBy classes.
+ */
+public class AggregationTest {
+    private List<Influencer> influencers;
+
+    @BeforeEach
+    void setUp() {
+        influencers = new ArrayList<>();
+        influencers.add(new Influencer("A", "Instagram", "Fashion", 100, 10.0, "USA"));
+        influencers.add(new Influencer("B", "Instagram", "Beauty", 300, 30.0, "UK"));
+        influencers.add(new Influencer("C", "YouTube", "Fashion", 200, 20.0, "USA"));
+        influencers.add(new Influencer("D", "Instagram", "Gaming", 200, 40.0, null));
+    }
+
+    @Test
+    void testGroupStatistics() {
+        Aggregation aggregation = Aggregation.of(influencers, GroupBy.PLATFORM);
+
+        assertEquals(GroupBy.PLATFORM, aggregation.getGroupBy());
+        assertEquals(List.of("Instagram", "YouTube"), new ArrayList<>(aggregation.getGroups().keySet()));
+
+        GroupStats instagram = aggregation.getGroup("Instagram");
+        assertEquals(3, instagram.getCount());
+        assertEquals(600, instagram.getFollowerSum());
+        assertEquals(200.0, instagram.getFollowerAverage(), 1e-9);
+        assertEquals(100, instagram.getFollowerMin());
+        assertEquals(300, instagram.getFollowerMax());
+        assertEquals(200, instagram.getFollowerPercentile(50.0), 2);
+        assertEquals(80.0, instagram.getAdRateSum(), 1e-9);
+        assertEquals(10.0, instagram.getAdRateMin(), 1e-9);
+        assertEquals(40.0, instagram.getAdRateMax(), 1e-9);
+        assertEquals(30.0, instagram.getAdRatePercentile(50.0), 0.3);
+        assertNull(aggregation.getGroup("TikTok"));
+    }
+
+    @Test
+    void testTotalCoversAllRows() {
+        GroupStats total = Aggregation.of(influencers, GroupBy.CATEGORY).getTotal();
+
+        assertEquals(4, total.getCount());
+        assertEquals(800, total.getFollowerSum());
+        assertEquals(100, total.getFollowerPercentile(0.0));
+        assertEquals(200, total.getFollowerPercentile(50.0), 2);
+        assertEquals(300, total.getFollowerPercentile(100.0));
+    }
+
+    @Test
+    void testMissingKeysAreGroupedLast() {
+        Aggregation aggregation = Aggregation.of(influencers, GroupBy.COUNTRY);
+
+        List<String> keys = new ArrayList<>(aggregation.getGroups().keySet());
+        assertEquals(3, keys.size());
+        assertEquals("UK", keys.get(0));
+        assertNull(keys.get(2));
+        assertEquals(1, aggregation.getGroup(null).getCount());
+    }
+
+    @Test
+    void testEmptyInput() {
+        Aggregation aggregation = Aggregation.of(List.of(), GroupBy.PLATFORM);
+
+        assertTrue(aggregation.getGroups().isEmpty());
+        GroupStats total = aggregation.getTotal();
+        assertEquals(0, total.getCount());
+        assertEquals(0.0, total.getFollowerAverage());
+        assertEquals(0, total.getFollowerMin());
+        assertEquals(0, total.getFollowerPercentile(90.0));
+        assertEquals(0.0, total.getAdRateMax());
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        Random random = new Random(42);
+        String[] platforms = {"Instagram", "YouTube", "TikTok"};
+        List<Influencer> large = new ArrayList<>();
+        for (int i = 0; i < Aggregation.PARALLEL_THRESHOLD + 1000; i++) {
+            large.add(new Influencer("Influencer " + i, platforms[random.nextInt(platforms.length)],
+                    "Category", random.nextInt(1000000), random.nextInt(10000), "USA"));
+        }
+
+        Aggregation parallel = Aggregation.of(large, GroupBy.PLATFORM);
+        Aggregation sequential = Aggregation.of(large.subList(0, 1000), GroupBy.PLATFORM);
+        Aggregation remainder = Aggregation.of(large.subList(1000, large.size()), GroupBy.PLATFORM);
+
+        assertEquals(large.size(), parallel.getTotal().getCount());
+        int[] followers = large.stream().mapToInt(Influencer::getFollowers).sorted().toArray();
+        int exactMedian = followers[followers.length / 2 - 1 + followers.length % 2];
+        assertEquals(exactMedian, parallel.getTotal().getFollowerPercentile(50.0),
+                exactMedian * QuantileSketch.DEFAULT_RELATIVE_ACCURACY + 1);
+        for (String platform : platforms) {
+            GroupStats stats = parallel.getGroup(platform);
+            long expectedSum = 0;
+            int expectedMax = 0;
+            for (Influencer influencer : large) {
+                if (influencer.getPlatform().equals(platform)) {
+                    expectedSum += influencer.getFollowers();
+                    expectedMax = Math.max(expectedMax, influencer.getFollowers());
+                }
+            }
+            assertEquals(expectedSum, stats.getFollowerSum());
+            assertEquals(expectedMax, stats.getFollowerMax());
+            assertEquals(expectedMax, stats.getFollowerPercentile(100.0));
+            assertEquals(sequential.getGroup(platform).getCount() + remainder.getGroup(platform).getCount(),
+                    stats.getCount());
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> Aggregation.of(null, GroupBy.PLATFORM));
+        assertThrows(IllegalArgumentException.class, () -> Aggregation.of(influencers, null));
+        GroupStats stats = Aggregation.of(influencers, GroupBy.PLATFORM).getTotal();
+        assertThrows(IllegalArgumentException.class, () -> stats.getFollowerPercentile(101.0));
+        assertThrows(IllegalArgumentException.class, () -> stats.getAdRatePercentile(-1.0));
+    }
+
+    @Test
+    void testGroupByFromName() {
+        assertEquals(GroupBy.PLATFORM, GroupBy.fromName("platform"));
+        assertEquals(GroupBy.COUNTRY, GroupBy.fromName(" Country "));
+        assertThrows(IllegalArgumentException.class, () -> GroupBy.fromName("name"));
+        assertThrows(IllegalArgumentException.class, () -> GroupBy.fromName(null));
+    }
+}
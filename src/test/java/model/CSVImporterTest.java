@@ -55,6 +55,107 @@ public class CSVImporterTest {
         assertEquals(5000.0, influencer2.getAdRate());
     }
     
+    @Test
+    void testImportReport() throws IOException {
+        File csvFile = tempDir.resolve("report.csv").toFile();
+        try (FileWriter writer = new FileWriter(csvFile)) {
+            writer.write("name,platform,category,followers,country,adRate\n");
+            writer.write("John Smith,Instagram,Fitness,500000,USA,2500.0\n");
+            writer.write("Broken,Instagram,Fitness,lots,USA,2500.0\n");
+            writer.write("Too,Few,Fields\n");
+            writer.write("Emma Johnson,YouTube,Beauty,2000000,UK,5000.0\n");
+        }
+
+        assertNull(importer.getLastReport());
+        importer.importData(csvFile.getAbsolutePath());
+
+        TransferReport report = importer.getLastReport();
+        assertEquals("import", report.getOperation());
+        assertEquals("CSVImporter", report.getSource());
+        assertEquals(2, report.getRecords());
+        assertEquals(2, report.getErrors());
+        assertEquals(csvFile.length(), report.getBytes());
+        assertTrue(report.getPhaseNanos(TransferReport.Phase.READ) > 0);
+        assertTrue(report.getPhaseNanos(TransferReport.Phase.PARSE) > 0);
+    }
+
+    @Test
+    void testRejectedRowsAreCollected() throws IOException {
+        File csvFile = tempDir.resolve("dirty.csv").toFile();
+        try (FileWriter writer = new FileWriter(csvFile)) {
+            writer.write("name,platform,category,followers,country,adRate\n");
+            for (int i = 0; i < 150; i++) {
+                writer.write("Influencer " + i + ",Instagram,Fitness," + (i % 3 == 0 ? "n/a" : "1000") + ",USA,10.0\n");
+            }
+            writer.write("Too,Few,Fields\n");
+        }
+
+        importer.setLogErrors(false);
+        List<Influencer> result = importer.importData(csvFile.getAbsolutePath());
+        assertEquals(100, result.size());
+
+        ImportErrors errors = importer.getLastErrors();
+        assertEquals(51, errors.getTotal());
+        assertEquals(50, errors.getCount(ImportErrors.Reason.INVALID_NUMBER));
+        assertEquals(1, errors.getCount(ImportErrors.Reason.TOO_FEW_FIELDS));
+        assertEquals(51, errors.getSamples().size());
+        assertEquals(2, errors.getSamples().get(0).getLine());
+        assertEquals("Influencer 0,Instagram,Fitness,n/a,USA,10.0", errors.getSamples().get(0).getRow());
+        assertEquals(152, errors.getSamples().get(50).getLine());
+        assertEquals(51, importer.getLastReport().getErrors());
+    }
+
+    @Test
+    void testOverlappingImportsKeepTheirOwnErrors() throws IOException {
+        File outerFile = tempDir.resolve("outer.csv").toFile();
+        try (FileWriter writer = new FileWriter(outerFile)) {
+            writer.write("A,Instagram,Fitness,1000,USA,10.0\n");
+            writer.write("B,Instagram,Fitness,n/a,USA,10.0\n");
+            writer.write("C,Instagram,Fitness,1000,USA,10.0\n");
+        }
+        File innerFile = tempDir.resolve("inner.csv").toFile();
+        try (FileWriter writer = new FileWriter(innerFile)) {
+            writer.write("Too,Few\n");
+            writer.write("Also,Too,Few\n");
+        }
+
+        importer.setLogErrors(false);
+        ImportErrors[] innerErrors = new ImportErrors[1];
+        // The second import starts and finishes while the first is still running
+        assertTrue(importer.importInBatches(outerFile.getAbsolutePath(), 1, (batch, progress) -> {
+            if (innerErrors[0] == null) {
+                importer.importData(innerFile.getAbsolutePath());
+                innerErrors[0] = importer.getLastErrors();
+            }
+            return true;
+        }));
+
+        assertEquals(2, innerErrors[0].getCount(ImportErrors.Reason.TOO_FEW_FIELDS));
+        assertEquals(0, innerErrors[0].getCount(ImportErrors.Reason.INVALID_NUMBER));
+        ImportErrors outerErrors = importer.getLastErrors();
+        assertEquals(1, outerErrors.getTotal());
+        assertEquals(1, outerErrors.getCount(ImportErrors.Reason.INVALID_NUMBER));
+        assertEquals(1, importer.getLastReport().getErrors());
+    }
+
+    @Test
+    void testNonFiniteAdRatesAreRejected() throws IOException {
+        File csvFile = tempDir.resolve("infinite.csv").toFile();
+        try (FileWriter writer = new FileWriter(csvFile)) {
+            writer.write("name,platform,category,followers,country,adRate\n");
+            writer.write("A,Instagram,Fitness,1000,USA,Infinity\n");
+            writer.write("B,Instagram,Fitness,1000,USA,1e400\n");
+            writer.write("C,Instagram,Fitness,1000,USA,NaN\n");
+            writer.write("D,Instagram,Fitness,1000,USA,10.0\n");
+        }
+
+        importer.setLogErrors(false);
+        List<Influencer> result = importer.importData(csvFile.getAbsolutePath());
+        assertEquals(1, result.size());
+        assertEquals("D", result.get(0).getName());
+        assertEquals(3, importer.getLastErrors().getCount(ImportErrors.Reason.INVALID_NUMBER));
+    }
+
     @Test
     void testInvalidCSVFormat() throws IOException {
         // Create a temporary CSV file with invalid format
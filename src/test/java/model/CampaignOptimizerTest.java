@@ -0,0 +1,143 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the CampaignOptimizer class.
+ */
+public class CampaignOptimizerTest {
+
+    /**
+     * Finds the best reach within a budget by trying every subset.
+     */
+    private static long bruteForce(List<Influencer> candidates, double budget) {
+        long best = 0;
+        for (int mask = 0; mask < 1 << candidates.size(); mask++) {
+            double cost = 0;
+            long reach = 0;
+            for (int i = 0; i < candidates.size(); i++) {
+                if ((mask & (1 << i)) != 0) {
+                    cost += candidates.get(i).getAdRate();
+                    reach += candidates.get(i).getFollowers();
+                }
+            }
+            if (cost <= budget + 1e-9) {
+                best = Math.max(best, reach);
+            }
+        }
+        return best;
+    }
+
+    private static List<Influencer> randomCandidates(Random random, int count, int maxAdRate) {
+        List<Influencer> candidates = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            candidates.add(new Influencer("Influencer " + i, "Instagram", "Fashion",
+                    1000 + random.nextInt(1000000), 1 + random.nextInt(maxAdRate * 100) / 100.0, "USA"));
+        }
+        return candidates;
+    }
+
+    @Test
+    void testExactPlanMatchesBruteForce() {
+        Random random = new Random(42);
+        CampaignOptimizer optimizer = new CampaignOptimizer();
+        for (int trial = 0; trial < 20; trial++) {
+            List<Influencer> candidates = randomCandidates(random, 12, 500);
+            double budget = random.nextInt(2000);
+
+            CampaignPlan plan = optimizer.optimize(candidates, budget);
+            assertEquals(CampaignPlan.Method.EXACT, plan.getMethod());
+            assertTrue(plan.isOptimal());
+            assertEquals(bruteForce(candidates, budget), plan.getTotalFollowers(), "trial " + trial);
+            assertTrue(plan.getTotalCost() <= budget);
+        }
+    }
+
+    @Test
+    void testGreedyIsNotOptimal() {
+        List<Influencer> candidates = List.of(
+                new Influencer("Cheap", "Instagram", "Fashion", 60, 10.0, "USA"),
+                new Influencer("Big A", "YouTube", "Tech", 100, 20.0, "UK"),
+                new Influencer("Big B", "TikTok", "Food", 100, 20.0, "UK"));
+
+        CampaignPlan plan = new CampaignOptimizer().optimize(candidates, 40.0);
+
+        assertEquals(200, plan.getTotalFollowers());
+        assertEquals(List.of(candidates.get(1), candidates.get(2)), plan.getInfluencers());
+        assertEquals(0.0, plan.getRemainingBudget(), 1e-9);
+    }
+
+    @Test
+    void testFreeAndUnaffordableInfluencers() {
+        Influencer free = new Influencer("Free", "Instagram", "Fashion", 50, 0.0, "USA");
+        Influencer pricey = new Influencer("Pricey", "YouTube", "Tech", 1000000, 5000.0, "UK");
+        Influencer fits = new Influencer("Fits", "TikTok", "Food", 10, 99.99, "UK");
+
+        CampaignPlan plan = new CampaignOptimizer().optimize(List.of(free, pricey, fits), 100.0);
+
+        assertEquals(List.of(free, fits), plan.getInfluencers());
+        assertEquals(60, plan.getTotalFollowers());
+        assertEquals(99.99, plan.getTotalCost(), 1e-9);
+    }
+
+    @Test
+    void testApproximatePlanStaysWithinBudget() {
+        Random random = new Random(7);
+        List<Influencer> candidates = randomCandidates(random, 200, 5000);
+        double budget = 100000.0;
+        CampaignOptimizer exact = new CampaignOptimizer(10000, 200L * 10_000_001L * Long.SIZE);
+        CampaignOptimizer approximate = new CampaignOptimizer(10000, 200L * 2000 * Long.SIZE);
+
+        CampaignPlan plan = approximate.optimize(candidates, budget);
+        assertNotEquals(CampaignPlan.Method.EXACT, plan.getMethod());
+        assertTrue(plan.getTotalCost() <= budget);
+
+        CampaignPlan best = exact.optimize(candidates, 40000.0);
+        CampaignPlan near = approximate.optimize(candidates, 40000.0);
+        assertEquals(CampaignPlan.Method.EXACT, best.getMethod());
+        assertTrue(near.getTotalFollowers() <= best.getTotalFollowers());
+        assertTrue(near.getTotalFollowers() >= best.getTotalFollowers() * 0.95);
+    }
+
+    @Test
+    void testTimeLimitFallsBackToGreedy() {
+        List<Influencer> candidates = randomCandidates(new Random(3), 2000, 1000);
+
+        CampaignPlan plan = new CampaignOptimizer(1).optimize(candidates, 30000.0);
+
+        assertEquals(CampaignPlan.Method.GREEDY, plan.getMethod());
+        assertFalse(plan.isOptimal());
+        assertTrue(plan.getTotalCost() <= 30000.0);
+        assertTrue(plan.getTotalFollowers() > 0);
+    }
+
+    @Test
+    void testOptimizeRepository() {
+        InfluencerRepository repository = new InfluencerRepository();
+        repository.save(new Influencer("A", "Instagram", "Fashion", 1000, 10.0, "USA"));
+        repository.save(new Influencer("B", "YouTube", "Tech", 5000, 10.0, "UK"));
+        repository.save(new Influencer("C", "Instagram", "Food", 3000, 10.0, "UK"));
+
+        CampaignPlan plan = new CampaignOptimizer().optimize(repository,
+                influencer -> influencer.getPlatform().equals("Instagram"), 10.0);
+
+        assertEquals(List.of("C"), plan.getInfluencers().stream().map(Influencer::getName).toList());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        CampaignOptimizer optimizer = new CampaignOptimizer();
+        assertThrows(IllegalArgumentException.class, () -> optimizer.optimize((List<Influencer>) null, 10.0));
+        assertThrows(IllegalArgumentException.class, () -> optimizer.optimize(List.of(), -1.0));
+        assertThrows(IllegalArgumentException.class, () -> optimizer.optimize(List.of(), Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> optimizer.optimize(null, i -> true, 10.0));
+        assertThrows(IllegalArgumentException.class, () -> new CampaignOptimizer(0));
+        List<Influencer> withNull = new ArrayList<>();
+        withNull.add(null);
+        assertThrows(IllegalArgumentException.class, () -> optimizer.optimize(withNull, 10.0));
+    }
+}
@@ -0,0 +1,96 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unit tests for the CatalogGenerator class.
+ */
+public class CatalogGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSameSeedProducesSameCatalog() throws IOException {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        new CatalogGenerator(7).writeCsv(first, 500);
+        new CatalogGenerator(7).writeCsv(second, 500);
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+
+        ByteArrayOutputStream other = new ByteArrayOutputStream();
+        new CatalogGenerator(8).writeCsv(other, 500);
+        assertNotEquals(first.toString(), other.toString());
+    }
+
+    @Test
+    void testWrittenRowsMatchGeneratedInfluencers() throws IOException {
+        List<Influencer> generated = new CatalogGenerator(3).generate(200);
+        Path csv = tempDir.resolve("catalog.csv");
+        Path json = tempDir.resolve("catalog.json");
+        new CatalogGenerator(3).write(csv, 200);
+        new CatalogGenerator(3).write(json, 200);
+
+        assertEquals(generated, new CSVImporter().importData(csv.toString()));
+        assertEquals(generated, new JSONImporter().importData(json.toString()));
+    }
+
+    @Test
+    void testNamesAreUniqueAndDistributionsAreSkewed() {
+        List<Influencer> influencers = new CatalogGenerator(11).generate(20000);
+
+        Set<String> names = new HashSet<>();
+        Map<String, Integer> platforms = new HashMap<>();
+        int small = 0;
+        int large = 0;
+        for (Influencer influencer : influencers) {
+            names.add(influencer.getName());
+            platforms.merge(influencer.getPlatform(), 1, Integer::sum);
+            assertTrue(influencer.getFollowers() >= 1000);
+            assertTrue(influencer.getAdRate() > 0);
+            if (influencer.getFollowers() < 10_000) {
+                small++;
+            } else if (influencer.getFollowers() > 1_000_000) {
+                large++;
+            }
+        }
+
+        assertEquals(influencers.size(), names.size());
+        // The most common platform is far above a uniform share
+        int top = platforms.values().stream().max(Integer::compare).orElse(0);
+        assertTrue(top > 2 * influencers.size() / platforms.size());
+        // Most influencers are small, but a heavy tail reaches millions
+        assertTrue(small > influencers.size() / 2);
+        assertTrue(large > 0);
+    }
+
+    @Test
+    void testEmptyCatalogs() throws IOException {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        new CatalogGenerator(1).writeCsv(csv, 0);
+        new CatalogGenerator(1).writeJson(json, 0);
+        assertEquals("Name,Platform,Category,FollowerCount,Country,AdRate\n", csv.toString());
+        assertEquals("[]", json.toString());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        CatalogGenerator generator = new CatalogGenerator(1);
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(-1));
+        assertThrows(IllegalArgumentException.class, () -> generator.writeCsv(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> generator.writeJson(new ByteArrayOutputStream(), -1));
+        assertThrows(IllegalArgumentException.class, () -> generator.write(null, 1));
+    }
+}
@@ -0,0 +1,88 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the CatalogSnapshot class.
+ */
+public class CatalogSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path sourcePath;
+    private CatalogSnapshot snapshot;
+    private List<Influencer> influencers;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sourcePath = tempDir.resolve("influencers.csv");
+        Files.writeString(sourcePath, "name,platform,category,followers,country,adRate\n");
+        snapshot = new CatalogSnapshot(tempDir.resolve("snapshots").resolve("influencers.snapshot"));
+
+        influencers = new ArrayList<>();
+        influencers.add(new Influencer("John Smith", "Instagram", "Fitness", 500000, 2500.0, "USA"));
+        influencers.add(new Influencer("\u00c9mile Zo\u00eb", "YouTube", "Beauty", 2000000, 5000.5, "France"));
+        influencers.add(new Influencer("David Lee", "Instagram", "Fitness", 1500000, 3000.0, "USA"));
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        snapshot.write(influencers, sourcePath);
+        assertEquals(influencers, snapshot.read());
+    }
+
+    @Test
+    void testRoundTripEmpty() throws IOException {
+        snapshot.write(new ArrayList<>(), sourcePath);
+        assertTrue(snapshot.read().isEmpty());
+    }
+
+    @Test
+    void testSharedStringsAreDeduplicated() throws IOException {
+        snapshot.write(influencers, sourcePath);
+        List<Influencer> loaded = snapshot.read();
+        assertSame(loaded.get(0).getPlatform(), loaded.get(2).getPlatform());
+        assertSame(loaded.get(0).getCountry(), loaded.get(2).getCountry());
+    }
+
+    @Test
+    void testFreshness() throws IOException {
+        assertFalse(snapshot.isFresh(sourcePath), "Missing snapshot should not be fresh");
+
+        snapshot.write(influencers, sourcePath);
+        assertTrue(snapshot.isFresh(sourcePath));
+
+        Files.writeString(sourcePath, "name,platform,category,followers,country,adRate\nchanged\n");
+        Files.setLastModifiedTime(sourcePath, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        assertFalse(snapshot.isFresh(sourcePath), "Snapshot should be stale after the source changes");
+    }
+
+    @Test
+    void testFreshWithoutSource() throws IOException {
+        snapshot.write(influencers, null);
+        assertTrue(snapshot.isFresh(tempDir.resolve("missing.csv")));
+    }
+
+    @Test
+    void testCorruptSnapshot() throws IOException {
+        Files.createDirectories(snapshot.getSnapshotPath().getParent());
+        Files.writeString(snapshot.getSnapshotPath(), "not a snapshot");
+        assertFalse(snapshot.isFresh(sourcePath));
+        assertThrows(IOException.class, () -> snapshot.read());
+    }
+
+    @Test
+    void testNullPath() {
+        assertThrows(IllegalArgumentException.class, () -> new CatalogSnapshot(null));
+    }
+}
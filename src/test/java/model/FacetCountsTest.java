@@ -0,0 +1,79 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for the FacetCounts class.
+ */
+public class FacetCountsTest {
+    private List<Influencer> influencers;
+
+    @BeforeEach
+    void setUp() {
+        influencers = new ArrayList<>();
+        influencers.add(new Influencer("A", "Instagram", "Fashion", 100, 10.0, "USA"));
+        influencers.add(new Influencer("B", "YouTube", "Beauty", 300, 30.0, "UK"));
+        influencers.add(new Influencer("C", "instagram", "Fashion", 200, 20.0, "USA"));
+        influencers.add(new Influencer("D", "Instagram", "Gaming", 200, 40.0, null));
+    }
+
+    @Test
+    void testCountsIgnoreCaseAndSortByCount() {
+        FacetCounts facets = FacetCounts.of(influencers);
+
+        Map<String, Integer> platforms = facets.getCounts(GroupBy.PLATFORM);
+        assertEquals(List.of("Instagram", "YouTube"), new ArrayList<>(platforms.keySet()));
+        assertEquals(3, platforms.get("Instagram"));
+        assertEquals(3, facets.getCount(GroupBy.PLATFORM, "INSTAGRAM"));
+        assertEquals(1, facets.getCount(GroupBy.PLATFORM, "youtube"));
+        assertEquals(0, facets.getCount(GroupBy.PLATFORM, "TikTok"));
+    }
+
+    @Test
+    void testMissingValuesAreNotCounted() {
+        Map<String, Integer> countries = FacetCounts.of(influencers).getCounts(GroupBy.COUNTRY);
+
+        assertEquals(Map.of("USA", 2, "UK", 1), countries);
+    }
+
+    @Test
+    void testAddAndRemove() {
+        FacetCounts facets = new FacetCounts();
+        for (Influencer influencer : influencers) {
+            facets.add(influencer);
+        }
+        facets.remove(influencers.get(1));
+
+        assertEquals(0, facets.getCount(GroupBy.PLATFORM, "YouTube"));
+        assertFalse(facets.getCounts(GroupBy.CATEGORY).containsKey("Beauty"));
+        assertEquals(2, facets.getCount(GroupBy.CATEGORY, "Fashion"));
+
+        facets.remove(new Influencer("E", "Twitch", "Music", 1, 1.0, "France"));
+        assertFalse(facets.getCounts(GroupBy.PLATFORM).containsKey("Twitch"));
+    }
+
+    @Test
+    void testMatchesRepositoryFilters() {
+        InfluencerRepository repository = new InfluencerRepository();
+        repository.saveAll(influencers);
+
+        FacetCounts facets = FacetCounts.of(influencers);
+        for (String platform : facets.getCounts(GroupBy.PLATFORM).keySet()) {
+            assertEquals(repository.filterByPlatform(platform).size(), facets.getCount(GroupBy.PLATFORM, platform));
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> FacetCounts.of(null));
+        FacetCounts facets = FacetCounts.of(influencers);
+        assertThrows(IllegalArgumentException.class, () -> facets.getCounts(null));
+        assertThrows(IllegalArgumentException.class, () -> facets.getCount(null, "USA"));
+        assertEquals(0, facets.getCount(GroupBy.COUNTRY, null));
+    }
+}
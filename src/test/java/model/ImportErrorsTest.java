@@ -0,0 +1,65 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+
+/**
+ * Unit tests for the ImportErrors class.
+ */
+public class ImportErrorsTest {
+
+    @Test
+    void testCountsEveryRejectionButKeepsBoundedSamples() {
+        ImportErrors errors = new ImportErrors(3);
+        for (int i = 1; i <= 10; i++) {
+            errors.reject(i, i % 2 == 0 ? ImportErrors.Reason.INVALID_NUMBER : ImportErrors.Reason.TOO_FEW_FIELDS,
+                    "row " + i);
+        }
+
+        assertEquals(10, errors.getTotal());
+        assertEquals(5, errors.getCount(ImportErrors.Reason.INVALID_NUMBER));
+        assertEquals(5, errors.getCount(ImportErrors.Reason.TOO_FEW_FIELDS));
+        assertEquals(0, errors.getCount(ImportErrors.Reason.MALFORMED));
+
+        List<ImportErrors.RejectedRow> samples = errors.getSamples();
+        assertEquals(3, samples.size());
+        assertEquals(1, samples.get(0).getLine());
+        assertEquals(ImportErrors.Reason.TOO_FEW_FIELDS, samples.get(0).getReason());
+        assertEquals("row 3", samples.get(2).getRow());
+        assertThrows(UnsupportedOperationException.class, () -> samples.remove(0));
+    }
+
+    @Test
+    void testSummary() {
+        ImportErrors errors = new ImportErrors(1);
+        assertTrue(errors.isEmpty());
+        assertEquals("", errors.summary());
+
+        errors.reject(7, ImportErrors.Reason.MISSING_FIELD, "{\n  \"name\": \"A\"\n}");
+        errors.reject(9, ImportErrors.Reason.INVALID_NUMBER, "x".repeat(500));
+
+        String[] lines = errors.summary().split(System.lineSeparator());
+        assertEquals(2, lines.length);
+        assertEquals("Rejected 2 rows (1 missing required field, 1 invalid number), first 1 shown", lines[0]);
+        assertEquals("  line 7: missing required field: { \"name\": \"A\" }", lines[1]);
+    }
+
+    @Test
+    void testLongRowsAreAbbreviated() {
+        ImportErrors errors = new ImportErrors();
+        errors.reject(1, ImportErrors.Reason.MALFORMED, "x".repeat(500));
+        String sample = errors.getSamples().get(0).toString();
+        assertTrue(sample.endsWith("..."));
+        assertTrue(sample.length() < 250);
+        assertEquals(500, errors.getSamples().get(0).getRow().length());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ImportErrors(-1));
+        ImportErrors errors = new ImportErrors();
+        assertThrows(IllegalArgumentException.class, () -> errors.reject(1, null, "row"));
+        assertEquals(0, errors.getCount(null));
+    }
+}
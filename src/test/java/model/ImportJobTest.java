@@ -0,0 +1,108 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for the ImportJob class.
+ */
+public class ImportJobTest {
+    private static final int ROWS = 25;
+
+    @TempDir
+    Path tempDir;
+
+    private String csvPath;
+    private List<Influencer> baseline;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path csvFile = tempDir.resolve("import.csv");
+        try (FileWriter writer = new FileWriter(csvFile.toFile())) {
+            writer.write("name,platform,category,followers,country,adRate\n");
+            for (int i = 0; i < ROWS; i++) {
+                writer.write("Influencer " + i + ",Instagram,Fitness," + (1000 + i) + ",USA,100.0\n");
+            }
+        }
+        csvPath = csvFile.toString();
+
+        baseline = new ArrayList<>();
+        baseline.add(new Influencer("Existing", "YouTube", "Gaming", 5000, 250.0, "UK"));
+    }
+
+    @Test
+    void testCompletedJobHandsOverMergedCatalog() throws InterruptedException {
+        AtomicReference<InfluencerRepository> swapped = new AtomicReference<>();
+        List<ImportProgress> updates = new ArrayList<>();
+
+        ImportJob job = new ImportJob(new CSVImporter(), csvPath, baseline, 10);
+        job.setProgressListener(updates::add);
+        job.setCompletionHandler(swapped::set);
+        job.start();
+
+        assertTrue(job.awaitCompletion(10, TimeUnit.SECONDS));
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertNotNull(swapped.get());
+        assertSame(swapped.get(), job.getResult());
+        assertEquals(ROWS + 1, swapped.get().findAll().size());
+
+        ImportProgress progress = job.getProgress();
+        assertEquals(ROWS, progress.getRowsImported());
+        assertEquals(100.0, progress.getPercentComplete(), 0.001);
+
+        TransferReport report = job.getReport();
+        assertNotNull(report);
+        assertEquals(ROWS, report.getRecords());
+        assertTrue(report.getBytes() > 0);
+        assertTrue(report.getPhaseNanos(TransferReport.Phase.INDEX) > 0);
+        assertTrue(updates.size() >= 3, "Expected one update per batch plus a final one");
+    }
+
+    @Test
+    void testCancelledJobDiscardsStagingCatalog() throws InterruptedException {
+        AtomicReference<InfluencerRepository> swapped = new AtomicReference<>();
+
+        ImportJob job = new ImportJob(new CSVImporter(), csvPath, baseline, 5);
+        job.setProgressListener(progress -> job.cancel());
+        job.setCompletionHandler(swapped::set);
+        job.start();
+
+        assertTrue(job.awaitCompletion(10, TimeUnit.SECONDS));
+        assertEquals(ImportJob.Status.CANCELLED, job.getStatus());
+        assertNull(swapped.get());
+        assertNull(job.getResult());
+        assertTrue(job.getProgress().getRowsImported() < ROWS);
+    }
+
+    @Test
+    void testMissingFileFailsJob() throws InterruptedException {
+        ImportJob job = new ImportJob(new CSVImporter(), tempDir.resolve("missing.csv").toString(), baseline, 10);
+        job.start();
+
+        assertTrue(job.awaitCompletion(10, TimeUnit.SECONDS));
+        assertEquals(ImportJob.Status.FAILED, job.getStatus());
+        assertNotNull(job.getFailure());
+    }
+
+    @Test
+    void testStartTwice() {
+        ImportJob job = new ImportJob(new CSVImporter(), csvPath, baseline, 10);
+        job.start();
+        assertThrows(IllegalStateException.class, job::start);
+    }
+
+    @Test
+    void testInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new ImportJob(new CSVImporter(), csvPath, baseline, 0));
+    }
+}
@@ -120,6 +120,68 @@ public class InfluencerRepositoryTest {
         assertEquals(0, results.size());
     }
 
+    @Test
+    void testAggregate() {
+        repository.save(testInfluencer);
+        repository.save(new Influencer("Other", PLATFORM, "Gaming", 3000000, 500.0, "UK"));
+
+        Aggregation aggregation = repository.aggregate(GroupBy.PLATFORM);
+        GroupStats stats = aggregation.getGroup(PLATFORM);
+        assertEquals(2, stats.getCount());
+        assertEquals(2000000.0, stats.getFollowerAverage());
+        assertEquals(AD_RATE, stats.getAdRateMax());
+        assertEquals(2, repository.aggregate(GroupBy.COUNTRY).getGroups().size());
+    }
+
+    @Test
+    void testFacetCountsFollowSaveAndDelete() {
+        repository.save(testInfluencer);
+        repository.save(new Influencer("Other", PLATFORM, "Gaming", 10, 5.0, "UK"));
+        assertEquals(2, repository.getFacetCounts(GroupBy.PLATFORM).get(PLATFORM));
+
+        repository.save(new Influencer(NAME, "YouTube", CATEGORY, FOLLOWER_COUNT, AD_RATE, COUNTRY));
+        assertEquals(1, repository.getFacetCounts(GroupBy.PLATFORM).get(PLATFORM));
+        assertEquals(1, repository.getFacetCounts(GroupBy.PLATFORM).get("YouTube"));
+
+        repository.saveAll(List.of(new Influencer("Other", "TikTok", "Gaming", 10, 5.0, "UK"),
+                new Influencer("Third", "TikTok", "Food", 10, 5.0, "UK")));
+        assertFalse(repository.getFacetCounts(GroupBy.PLATFORM).containsKey(PLATFORM));
+        assertEquals(2, repository.getFacetCounts(GroupBy.PLATFORM).get("TikTok"));
+        assertEquals(2, repository.getFacetCounts(GroupBy.COUNTRY).get("UK"));
+
+        repository.delete(new Influencer("Third", "TikTok", "Food", 10, 5.0, "UK"));
+        assertEquals(1, repository.getFacetCounts(GroupBy.COUNTRY).get("UK"));
+        assertEquals(1, repository.getFacetCounts(GroupBy.CATEGORY).get(CATEGORY));
+    }
+
+    @Test
+    void testSketchesFollowSaveAndDelete() {
+        repository.save(testInfluencer);
+        repository.save(new Influencer("Other", PLATFORM, "Gaming", 10, 5.0, "UK"));
+        repository.save(new Influencer(NAME, PLATFORM, CATEGORY, 20, AD_RATE, COUNTRY));
+
+        SegmentSketches sketches = repository.getSketches();
+        assertEquals(2, sketches.getFollowers().getCount());
+        assertEquals(20, sketches.getFollowers(GroupBy.COUNTRY, COUNTRY).getValueAtPercentile(50.0), 0.2);
+
+        repository.delete(new Influencer("Other", PLATFORM, "Gaming", 10, 5.0, "UK"));
+        assertEquals(1, sketches.getAdRates(GroupBy.PLATFORM, PLATFORM).getCount());
+        assertTrue(sketches.getAdRates(GroupBy.COUNTRY, "UK").isEmpty());
+        assertEquals(0.05, new InfluencerRepository(0.05).getSketches().getRelativeAccuracy());
+    }
+
+    @Test
+    void testRank() {
+        repository.save(testInfluencer);
+        repository.save(new Influencer("Bargain", PLATFORM, "Gaming", 50000, 10.0, "UK"));
+        repository.save(new Influencer("Pricey", PLATFORM, "Gaming", 60000, 6000.0, "UK"));
+
+        List<ScoredInfluencer> top = repository.rank(ScoreFormula.of(Metric.FOLLOWERS_PER_DOLLAR, 1.0), 2);
+        assertEquals(2, top.size());
+        assertEquals("Bargain", top.get(0).getInfluencer().getName());
+        assertEquals(NAME, top.get(1).getInfluencer().getName());
+    }
+
     @Test
     void testSortByName() {
         Influencer influencer2 = new Influencer("Another Influencer", "YouTube", "Gaming", 2000000, 5000.0, "UK");
@@ -156,6 +218,84 @@ public class InfluencerRepositoryTest {
         assertEquals(testInfluencer, sorted.get(1)); // Lower ad rate (2500.0)
     }
 
+    @Test
+    void testSaveReplacesSameName() {
+        repository.save(testInfluencer);
+        Influencer updated = new Influencer(NAME, "YouTube", CATEGORY, 42, AD_RATE, COUNTRY);
+        repository.save(updated);
+
+        List<Influencer> all = repository.findAll();
+        assertEquals(1, all.size());
+        assertEquals(updated, all.get(0));
+    }
+
+    @Test
+    void testSaveAllMatchesRepeatedSave() {
+        Influencer other = new Influencer("Other", "YouTube", "Gaming", 10, 5.0, "UK");
+        Influencer third = new Influencer("Third", "TikTok", "Food", 20, 6.0, "Canada");
+        Influencer updated = new Influencer(NAME, "TikTok", CATEGORY, 7, AD_RATE, COUNTRY);
+        List<Influencer> batch = List.of(other, updated, third);
+
+        InfluencerRepository sequential = new InfluencerRepository();
+        sequential.save(testInfluencer);
+        batch.forEach(sequential::save);
+
+        repository.save(testInfluencer);
+        repository.saveAll(batch);
+
+        assertEquals(sequential.findAll(), repository.findAll());
+        assertEquals(3, repository.findAll().size());
+    }
+
+    @Test
+    void testSaveAllDeduplicatesWithinBatch() {
+        Influencer first = new Influencer(NAME, PLATFORM, CATEGORY, 1, AD_RATE, COUNTRY);
+        Influencer second = new Influencer(NAME, PLATFORM, CATEGORY, 2, AD_RATE, COUNTRY);
+        repository.saveAll(List.of(first, second));
+
+        List<Influencer> all = repository.findAll();
+        assertEquals(1, all.size());
+        assertEquals(second, all.get(0));
+    }
+
+    @Test
+    void testReplaceAndDeleteKeepOrderAcrossCompaction() {
+        List<Influencer> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            repository.save(new Influencer("Row " + i, PLATFORM, CATEGORY, i, AD_RATE, COUNTRY));
+        }
+        for (int i = 0; i < 8; i++) {
+            Influencer replaced = new Influencer("Row " + i, PLATFORM, CATEGORY, i + 100, AD_RATE, COUNTRY);
+            repository.saveAll(List.of(replaced));
+            assertSame(replaced, repository.findById(repository.getIds().idOf("Row " + i)));
+        }
+        for (int i = 0; i < 6; i++) {
+            repository.delete(repository.findById(repository.getIds().idOf("Row " + i)));
+        }
+        repository.delete(new Influencer("Row 9", PLATFORM, CATEGORY, -1, AD_RATE, COUNTRY));
+
+        expected.add(new Influencer("Row 8", PLATFORM, CATEGORY, 8, AD_RATE, COUNTRY));
+        expected.add(new Influencer("Row 9", PLATFORM, CATEGORY, 9, AD_RATE, COUNTRY));
+        expected.add(new Influencer("Row 6", PLATFORM, CATEGORY, 106, AD_RATE, COUNTRY));
+        expected.add(new Influencer("Row 7", PLATFORM, CATEGORY, 107, AD_RATE, COUNTRY));
+        assertEquals(expected, repository.findAll());
+        assertEquals(4, repository.getFacetCounts(GroupBy.PLATFORM).get(PLATFORM));
+        assertNull(repository.findById(repository.getIds().idOf("Row 0")));
+    }
+
+    @Test
+    void testSaveAllNull() {
+        assertThrows(IllegalArgumentException.class, () ->
+            repository.saveAll(null));
+
+        List<Influencer> withNull = new ArrayList<>();
+        withNull.add(testInfluencer);
+        withNull.add(null);
+        assertThrows(IllegalArgumentException.class, () ->
+            repository.saveAll(withNull));
+        assertTrue(repository.findAll().isEmpty());
+    }
+
     @Test
     void testSaveNull() {
         assertThrows(IllegalArgumentException.class, () -> 
@@ -193,4 +333,52 @@ public class InfluencerRepositoryTest {
         assertNotNull(results3);
         assertTrue(results3.isEmpty());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testInfiniteAdRateDoesNotBreakSketches() {
+        repository.save(new Influencer("Finite", PLATFORM, CATEGORY, 10, 5.0, COUNTRY));
+        repository.save(new Influencer("Infinite", PLATFORM, CATEGORY, 20, Double.POSITIVE_INFINITY, COUNTRY));
+
+        assertEquals(Double.POSITIVE_INFINITY,
+                repository.getSketches().getAdRates(GroupBy.COUNTRY, COUNTRY).getValueAtPercentile(100.0));
+        GroupStats stats = repository.aggregate(GroupBy.COUNTRY).getGroup(COUNTRY);
+        assertEquals(2, stats.getCount());
+        assertEquals(5.0, stats.getAdRatePercentile(50.0), 0.1);
+    }
+
+    @Test
+    void testStableIds() {
+        Influencer influencer = new Influencer("Id Test", "YouTube", "Tech", 10, 1.0, "UK");
+        repository.save(influencer);
+        CatalogIds ids = repository.getIds();
+        int id = ids.idOf("Id Test");
+        assertEquals(id, ids.idOf("Id Test"));
+        assertEquals(id, ids.findId("Id Test"));
+        assertEquals("Id Test", ids.nameOf(id));
+        assertSame(influencer, repository.findById(id));
+
+        // The ID survives updates, and resolves in any repository sharing the registry
+        Influencer updated = new Influencer("Id Test", "YouTube", "Tech", 20, 1.0, "UK");
+        repository.save(updated);
+        assertSame(updated, repository.findById(id));
+        InfluencerRepository successor = new InfluencerRepository(ids);
+        assertNull(successor.findById(id));
+        successor.save(updated);
+        assertSame(updated, successor.findById(id));
+
+        // Registries are scoped to their catalogs
+        InfluencerRepository unrelated = new InfluencerRepository();
+        unrelated.save(new Influencer("Other", "YouTube", "Tech", 1, 1.0, "UK"));
+        unrelated.save(updated);
+        assertNotEquals(id, unrelated.getIds().findId("Id Test"));
+        assertEquals(-1, unrelated.getIds().findId("Never Seen"));
+
+        repository.delete(updated);
+        assertNull(repository.findById(id));
+        assertEquals(id, ids.idOf("Id Test"));
+
+        assertEquals(-1, ids.findId("Never Seen"));
+        assertNull(repository.findById(-1));
+        assertNull(repository.findById(Integer.MAX_VALUE));
+    }
+}
@@ -128,6 +128,48 @@ public class JSONImporterTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void testRejectedObjectsReportTheirLine() throws IOException {
+        File jsonFile = tempDir.resolve("dirty.json").toFile();
+        try (FileWriter writer = new FileWriter(jsonFile)) {
+            writer.write("[\n");
+            writer.write("  {\"name\": \"A\", \"platform\": \"Instagram\", \"category\": \"Fitness\",\n");
+            writer.write("   \"followerCount\": 10, \"country\": \"USA\", \"adRate\": 1.0},\n");
+            writer.write("  {\"name\": \"B\", \"platform\": \"Instagram\"},\n");
+            writer.write("  {\"name\": \"C\", \"platform\": \"Instagram\", \"category\": \"Fitness\",\n");
+            writer.write("   \"followerCount\": \"many\", \"country\": \"USA\", \"adRate\": 1.0}\n");
+            writer.write("]");
+        }
+
+        importer.setLogErrors(false);
+        List<Influencer> result = importer.importData(jsonFile.getAbsolutePath());
+        assertEquals(1, result.size());
+
+        List<ImportErrors.RejectedRow> rejected = importer.getLastErrors().getSamples();
+        assertEquals(2, rejected.size());
+        assertEquals(4, rejected.get(0).getLine());
+        assertEquals(ImportErrors.Reason.MISSING_FIELD, rejected.get(0).getReason());
+        assertEquals(5, rejected.get(1).getLine());
+        assertEquals(ImportErrors.Reason.INVALID_NUMBER, rejected.get(1).getReason());
+    }
+
+    @Test
+    void testNonFiniteAdRatesAreRejected() throws IOException {
+        File jsonFile = tempDir.resolve("infinite.json").toFile();
+        try (FileWriter writer = new FileWriter(jsonFile)) {
+            writer.write("[{\"name\": \"A\", \"platform\": \"Instagram\", \"category\": \"Fitness\", "
+                    + "\"followerCount\": 10, \"country\": \"USA\", \"adRate\": 1e400},\n");
+            writer.write("{\"name\": \"B\", \"platform\": \"Instagram\", \"category\": \"Fitness\", "
+                    + "\"followerCount\": 10, \"country\": \"USA\", \"adRate\": 1.5}]");
+        }
+
+        importer.setLogErrors(false);
+        List<Influencer> result = importer.importData(jsonFile.getAbsolutePath());
+        assertEquals(1, result.size());
+        assertEquals("B", result.get(0).getName());
+        assertEquals(1, importer.getLastErrors().getCount(ImportErrors.Reason.INVALID_NUMBER));
+    }
+
     @Test
     void testEmptyFile() throws IOException {
         // Create an empty JSON file
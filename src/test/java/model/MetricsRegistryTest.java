@@ -0,0 +1,67 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+
+/**
+ * Unit tests for the MetricsRegistry class.
+ */
+public class MetricsRegistryTest {
+
+    @Test
+    void testRecordsCountsAndErrors() {
+        MetricsRegistry metrics = new MetricsRegistry(true);
+        metrics.record("search", 2_000_000, false);
+        metrics.record("search", 4_000_000, false);
+        metrics.record("login", 1_000_000, true);
+        metrics.record("login", 1_000_000, false);
+
+        assertEquals(Arrays.asList("login", "search"), metrics.getOperations());
+        assertEquals(2, metrics.getCount("search"));
+        assertEquals(0, metrics.getErrorCount("search"));
+        assertEquals(1, metrics.getErrorCount("login"));
+        assertEquals(0.5, metrics.getErrorRate("login"));
+        assertEquals(3_000_000.0, metrics.getHistogram("search").getMean(), 1e-9);
+        assertEquals(0, metrics.getCount("export"));
+        assertEquals(0.0, metrics.getErrorRate("export"));
+        assertNull(metrics.getHistogram("export"));
+    }
+
+    @Test
+    void testDisabledRegistryRecordsNothing() {
+        MetricsRegistry metrics = new MetricsRegistry(false);
+        metrics.record("search", 1_000, true);
+        assertTrue(metrics.getOperations().isEmpty());
+
+        metrics.setEnabled(true);
+        metrics.record("search", 1_000, true);
+        metrics.setEnabled(false);
+        metrics.record("search", 1_000, true);
+        assertEquals(1, metrics.getCount("search"));
+        assertEquals(1, metrics.getErrorCount("search"));
+    }
+
+    @Test
+    void testReportAndReset() {
+        MetricsRegistry metrics = new MetricsRegistry(true);
+        metrics.record("import", 12_500_000, false);
+
+        String report = metrics.report();
+        assertTrue(report.startsWith("Operation"));
+        assertTrue(report.contains("import"));
+        assertTrue(report.contains("12.500"));
+
+        metrics.reset();
+        assertTrue(metrics.getOperations().isEmpty());
+        assertFalse(metrics.report().contains("import"));
+    }
+
+    @Test
+    void testNullOperation() {
+        MetricsRegistry metrics = new MetricsRegistry(true);
+        assertThrows(IllegalArgumentException.class, () -> metrics.record(null, 1, false));
+        assertEquals(0, metrics.getCount(null));
+        assertEquals(0, metrics.getErrorCount(null));
+    }
+}
@@ -0,0 +1,190 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the OffHeapInfluencerRepository class.
+ */
+public class OffHeapInfluencerRepositoryTest {
+    private OffHeapInfluencerRepository repository;
+    private Influencer testInfluencer;
+    private Influencer otherInfluencer;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OffHeapInfluencerRepository();
+        testInfluencer = new Influencer("Test Influencer", "Instagram", "Fitness", 1000000, 2500.0, "USA");
+        otherInfluencer = new Influencer("Another Influencer", "YouTube", "Gaming", 2000000, 5000.0, "UK");
+    }
+
+    @Test
+    void testSaveAndFindAll() {
+        repository.save(testInfluencer);
+        repository.save(otherInfluencer);
+        assertEquals(List.of(testInfluencer, otherInfluencer), repository.findAll());
+        assertEquals(2, repository.size());
+    }
+
+    @Test
+    void testSaveReplacesSameName() {
+        repository.save(testInfluencer);
+        repository.save(otherInfluencer);
+        Influencer updated = new Influencer("Test Influencer", "TikTok", "Food", 5, 1.0, "Canada");
+        repository.save(updated);
+
+        assertEquals(List.of(otherInfluencer, updated), repository.findAll());
+    }
+
+    @Test
+    void testDelete() {
+        repository.save(testInfluencer);
+        repository.delete(new Influencer("Test Influencer", "Instagram", "Fitness", 1, 2500.0, "USA"));
+        assertEquals(1, repository.size(), "Only an identical influencer should be deleted");
+
+        repository.delete(testInfluencer);
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    @Test
+    void testDeletesCompactRows() throws Exception {
+        List<Influencer> saved = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            saved.add(new Influencer("Row " + i, "Instagram", "Fitness", i, 1.0, "USA"));
+        }
+        repository.saveAll(saved);
+        for (int i = 0; i < 2000; i++) {
+            repository.delete(saved.get(i));
+        }
+
+        java.lang.reflect.Field rowCount = OffHeapInfluencerRepository.class.getDeclaredField("rowCount");
+        rowCount.setAccessible(true);
+        assertTrue((int) rowCount.get(repository) < 2000, "Deleted rows should be reclaimed");
+        assertEquals(saved.subList(2000, 3000), repository.findAll());
+        assertEquals(1000, repository.getFacetCounts(GroupBy.PLATFORM).get("Instagram"));
+    }
+
+    @Test
+    void testSearchAndFilters() {
+        repository.save(testInfluencer);
+        repository.save(otherInfluencer);
+
+        assertEquals(List.of(testInfluencer), repository.searchByName("test"));
+        assertEquals(2, repository.searchByName(null).size());
+        assertEquals(List.of(otherInfluencer), repository.filterByPlatform("youtube"));
+        assertEquals(List.of(testInfluencer), repository.filterByCategory("Fitness"));
+        assertEquals(List.of(otherInfluencer), repository.filterByCountry("uk"));
+        assertEquals(List.of(testInfluencer), repository.filterByFollowerRange(500000, 1500000));
+        assertEquals(2, repository.filterByFollowerRange(0, 0).size());
+        assertTrue(repository.filterByPlatform("Twitch").isEmpty());
+    }
+
+    @Test
+    void testSorts() {
+        repository.save(testInfluencer);
+        repository.save(otherInfluencer);
+
+        assertEquals(List.of(otherInfluencer, testInfluencer), repository.sortByName());
+        assertEquals(List.of(otherInfluencer, testInfluencer), repository.sortByFollowers());
+        assertEquals(List.of(otherInfluencer, testInfluencer), repository.sortByAdRate());
+    }
+
+    @Test
+    void testNullFields() {
+        Influencer sparse = new Influencer(null, null, "Fitness", 10, 1.0, null);
+        repository.save(sparse);
+        assertEquals(List.of(sparse), repository.findAll());
+
+        repository.delete(sparse);
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    @Test
+    void testNullArguments() {
+        assertThrows(IllegalArgumentException.class, () -> repository.save(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.delete(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.saveAll(null));
+    }
+
+    @Test
+    void testAggregateSkipsDeletedRows() {
+        repository.save(testInfluencer);
+        repository.save(otherInfluencer);
+        repository.save(new Influencer("Third", "Instagram", "Food", 3000000, 500.0, "USA"));
+        repository.delete(otherInfluencer);
+
+        Aggregation aggregation = repository.aggregate(GroupBy.COUNTRY);
+        assertEquals(1, aggregation.getGroups().size());
+        GroupStats usa = aggregation.getGroup("USA");
+        assertEquals(2, usa.getCount());
+        assertEquals(4000000, usa.getFollowerSum());
+        assertEquals(2500.0, usa.getAdRateMax());
+        assertThrows(IllegalArgumentException.class, () -> repository.aggregate(null));
+    }
+
+    @Test
+    void testMatchesHeapRepositoryUnderRandomWorkload() {
+        InfluencerRepository expected = new InfluencerRepository();
+        Random random = new Random(42);
+        String[] platforms = {"Instagram", "YouTube", "TikTok"};
+
+        for (int i = 0; i < 20000; i++) {
+            Influencer influencer = new Influencer("Influencer " + random.nextInt(3000),
+                    platforms[random.nextInt(platforms.length)], "Category " + random.nextInt(5),
+                    random.nextInt(1000000), random.nextInt(10000) / 10.0, "Country " + random.nextInt(7));
+            if (random.nextInt(4) == 0) {
+                List<Influencer> all = expected.findAll();
+                if (!all.isEmpty()) {
+                    Influencer victim = all.get(random.nextInt(all.size()));
+                    expected.delete(victim);
+                    repository.delete(victim);
+                }
+            } else {
+                expected.save(influencer);
+                repository.save(influencer);
+            }
+        }
+
+        assertEquals(expected.findAll(), repository.findAll());
+        assertEquals(expected.filterByPlatform("tiktok"), repository.filterByPlatform("tiktok"));
+        assertEquals(expected.sortByFollowers(), repository.sortByFollowers());
+
+        List<Influencer> batch = new ArrayList<>(expected.findAll().subList(0, 100));
+        batch.add(new Influencer("Brand New", "Twitch", "Gaming", 1, 1.0, "USA"));
+        expected.saveAll(batch);
+        repository.saveAll(batch);
+        assertEquals(expected.findAll(), repository.findAll());
+
+        ScoreFormula formula = ScoreFormula.parse("followersPerDollar + 0.001*followers");
+        List<ScoredInfluencer> heapTop = expected.rank(formula, 50);
+        List<ScoredInfluencer> offHeapTop = repository.rank(formula, 50);
+        for (int i = 0; i < heapTop.size(); i++) {
+            assertEquals(heapTop.get(i).getInfluencer(), offHeapTop.get(i).getInfluencer());
+        }
+        assertEquals(50, offHeapTop.size());
+
+        for (GroupBy groupBy : GroupBy.values()) {
+            assertEquals(expected.getFacetCounts(groupBy), repository.getFacetCounts(groupBy));
+            for (String value : expected.getFacetCounts(groupBy).keySet()) {
+                QuantileSketch heapSketch = expected.getSketches().getFollowers(groupBy, value);
+                QuantileSketch offHeapSketch = repository.getSketches().getFollowers(groupBy, value);
+                assertEquals(heapSketch.getCount(), offHeapSketch.getCount());
+                assertEquals(heapSketch.getValueAtPercentile(90.0), offHeapSketch.getValueAtPercentile(90.0));
+            }
+            assertEquals(FacetCounts.of(expected.findAll()).getCounts(groupBy), repository.getFacetCounts(groupBy));
+            Aggregation heap = expected.aggregate(groupBy);
+            Aggregation offHeap = repository.aggregate(groupBy);
+            assertEquals(heap.getGroups().keySet(), offHeap.getGroups().keySet());
+            for (String key : heap.getGroups().keySet()) {
+                assertEquals(heap.getGroup(key).getCount(), offHeap.getGroup(key).getCount());
+                assertEquals(heap.getGroup(key).getFollowerSum(), offHeap.getGroup(key).getFollowerSum());
+                assertEquals(heap.getGroup(key).getFollowerPercentile(90.0),
+                        offHeap.getGroup(key).getFollowerPercentile(90.0));
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PasswordHasher class.
+ */
+public class PasswordHasherTest {
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        hasher = new PasswordHasher(1000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    void testHashAndVerify() {
+        String stored = hasher.hash("secret");
+        assertTrue(PasswordHasher.isHash(stored));
+        assertTrue(stored.startsWith("pbkdf2$1000$"));
+        assertTrue(hasher.verify("secret", stored));
+        assertFalse(hasher.verify("Secret", stored));
+        assertFalse(hasher.verify(null, stored));
+    }
+
+    @Test
+    void testHashesAreSalted() {
+        String first = hasher.hash("secret");
+        String second = hasher.hash("secret");
+        assertNotEquals(first, second);
+        assertTrue(hasher.verify("secret", first));
+        assertTrue(hasher.verify("secret", second));
+    }
+
+    @Test
+    void testRepeatedVerificationUsesCache() {
+        String stored = hasher.hash("secret");
+        assertTrue(hasher.verify("secret", stored));
+        assertTrue(hasher.verify("secret", stored));
+        assertFalse(hasher.verify("other", stored));
+    }
+
+    @Test
+    void testMalformedAndLegacyValues() {
+        assertFalse(PasswordHasher.isHash(null));
+        assertFalse(PasswordHasher.isHash("plaintext"));
+        assertFalse(hasher.verify("plaintext", "plaintext"));
+        assertFalse(hasher.verify("secret", "pbkdf2$abc$salt$hash"));
+        assertFalse(hasher.verify("secret", "pbkdf2$1000$!!!$???"));
+    }
+
+    @Test
+    void testNeedsRehash() {
+        PasswordHasher stronger = new PasswordHasher(2000, 1);
+        try {
+            String weak = hasher.hash("secret");
+            assertTrue(stronger.needsRehash(weak));
+            assertFalse(hasher.needsRehash(weak));
+            assertTrue(hasher.needsRehash("plaintext"));
+            assertTrue(stronger.verify("secret", weak));
+        } finally {
+            stronger.shutdown();
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new PasswordHasher(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PasswordHasher(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> hasher.hash(null));
+    }
+}
@@ -0,0 +1,152 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the PersistentInfluencerRepository and CatalogWriteAheadLog classes.
+ */
+public class PersistentInfluencerRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Influencer first;
+    private Influencer second;
+
+    @BeforeEach
+    void setUp() {
+        first = new Influencer("John Smith", "Instagram", "Fitness", 500000, 2500.0, "USA");
+        second = new Influencer("Emma Johnson", "YouTube", "Beauty", 2000000, 5000.0, "UK");
+    }
+
+    @Test
+    void testMutationsSurviveReopen() throws IOException {
+        try (PersistentInfluencerRepository repository = new PersistentInfluencerRepository(tempDir)) {
+            repository.save(first);
+            repository.save(second);
+            repository.delete(first);
+            repository.save(new Influencer("Emma Johnson", "TikTok", "Beauty", 1, 1.0, "UK"));
+        }
+
+        try (PersistentInfluencerRepository reopened = new PersistentInfluencerRepository(tempDir)) {
+            List<Influencer> all = reopened.findAll();
+            assertEquals(1, all.size());
+            assertEquals("TikTok", all.get(0).getPlatform());
+        }
+    }
+
+    @Test
+    void testAppendsAreSyncedOncePerCall() throws IOException {
+        try (CatalogWriteAheadLog log = new CatalogWriteAheadLog(tempDir.resolve("sync.wal"))) {
+            log.appendSave(first);
+            assertEquals(1, log.getSyncCount());
+
+            log.appendSaves(List.of(first, second, first));
+            assertEquals(2, log.getSyncCount());
+
+            log.appendDelete(second);
+            assertEquals(3, log.getSyncCount());
+            assertEquals(5, log.getRecordCount());
+        }
+    }
+
+    @Test
+    void testCompactionTruncatesLog() throws IOException {
+        try (PersistentInfluencerRepository repository = new PersistentInfluencerRepository(tempDir, 3)) {
+            repository.save(first);
+            repository.save(second);
+            repository.save(new Influencer("Third", "TikTok", "Food", 10, 1.0, "Canada"));
+
+            assertEquals(0, Files.size(tempDir.resolve("catalog.wal")));
+            assertTrue(Files.exists(tempDir.resolve("catalog.snapshot")));
+
+            repository.delete(second);
+        }
+
+        try (PersistentInfluencerRepository reopened = new PersistentInfluencerRepository(tempDir, 3)) {
+            assertEquals(2, reopened.findAll().size());
+            assertFalse(reopened.findAll().contains(second));
+        }
+    }
+
+    @Test
+    void testLargeBatchIsCompactedInsteadOfLogged() throws IOException {
+        List<Influencer> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(new Influencer("Influencer " + i, "Instagram", "Fitness", i, 1.0, "USA"));
+        }
+
+        try (PersistentInfluencerRepository repository = new PersistentInfluencerRepository(tempDir, 5)) {
+            repository.saveAll(batch);
+            assertEquals(0, Files.size(tempDir.resolve("catalog.wal")));
+        }
+
+        try (PersistentInfluencerRepository reopened = new PersistentInfluencerRepository(tempDir, 5)) {
+            assertEquals(batch, reopened.findAll());
+        }
+    }
+
+    @Test
+    void testReplaceWithSwitchesGeneration() throws IOException {
+        Influencer imported = new Influencer("Imported", "TikTok", "Food", 10, 1.0, "Canada");
+        PersistentInfluencerRepository repository = new PersistentInfluencerRepository(tempDir);
+        repository.save(first);
+        repository.save(second);
+
+        try (PersistentInfluencerRepository replacement = repository.replaceWith(List.of(second, imported))) {
+            assertEquals(List.of(first, second), repository.findAll(), "The old catalog is left as it was");
+            assertEquals(List.of(second, imported), replacement.findAll());
+
+            repository.delete(second);
+            repository.close();
+            replacement.save(first);
+        }
+
+        try (PersistentInfluencerRepository reopened = new PersistentInfluencerRepository(tempDir)) {
+            assertEquals(List.of(second, imported, first), reopened.findAll());
+        }
+        assertFalse(Files.exists(tempDir.resolve("catalog.wal")), "Old generations are removed on open");
+        assertFalse(Files.exists(tempDir.resolve("catalog.snapshot")));
+    }
+
+    @Test
+    void testTornTailIsIgnored() throws IOException {
+        try (PersistentInfluencerRepository repository = new PersistentInfluencerRepository(tempDir)) {
+            repository.save(first);
+            repository.save(second);
+        }
+
+        Path logPath = tempDir.resolve("catalog.wal");
+        try (RandomAccessFile file = new RandomAccessFile(logPath.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        try (PersistentInfluencerRepository reopened = new PersistentInfluencerRepository(tempDir)) {
+            assertEquals(List.of(first), reopened.findAll());
+            reopened.save(second);
+        }
+
+        try (PersistentInfluencerRepository reopened = new PersistentInfluencerRepository(tempDir)) {
+            assertEquals(List.of(first, second), reopened.findAll(), "Records written after a torn tail must survive");
+        }
+    }
+
+    @Test
+    void testNullArguments() throws IOException {
+        try (PersistentInfluencerRepository repository = new PersistentInfluencerRepository(tempDir)) {
+            assertThrows(IllegalArgumentException.class, () -> repository.save(null));
+            assertThrows(IllegalArgumentException.class, () -> repository.delete(null));
+            assertThrows(IllegalArgumentException.class, () -> repository.saveAll(null));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new PersistentInfluencerRepository(tempDir, 0));
+    }
+}
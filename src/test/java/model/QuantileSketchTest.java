@@ -0,0 +1,158 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit tests for the QuantileSketch class.
+ */
+public class QuantileSketchTest {
+
+    /**
+     * Gets the nearest-rank percentile of sorted values.
+     */
+    private static double exactPercentile(double[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    @Test
+    void testPercentilesWithinRelativeAccuracy() {
+        Random random = new Random(42);
+        double[] values = new double[100000];
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextDouble() * 16);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(values.length, sketch.getCount());
+        for (double percentile : new double[] {0.0, 1.0, 25.0, 50.0, 90.0, 99.0, 99.9, 100.0}) {
+            double exact = exactPercentile(values, percentile);
+            assertEquals(exact, sketch.getValueAtPercentile(percentile), exact * 0.01,
+                    "p" + percentile);
+        }
+    }
+
+    @Test
+    void testConfigurableAccuracy() {
+        QuantileSketch coarse = new QuantileSketch(0.1);
+        coarse.add(1000.0);
+
+        assertEquals(0.1, coarse.getRelativeAccuracy());
+        assertEquals(1000.0, coarse.getValueAtPercentile(50.0), 100.0);
+        assertNotEquals(1000.0, coarse.getValueAtPercentile(50.0));
+    }
+
+    @Test
+    void testRemove() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(10.0);
+        sketch.add(1000.0);
+        sketch.add(0.0);
+
+        assertTrue(sketch.remove(1000.0));
+        assertFalse(sketch.remove(5000.0));
+        assertEquals(2, sketch.getCount());
+        assertEquals(5.0, sketch.getMean(), 1e-9);
+        assertEquals(10.0, sketch.getValueAtPercentile(100.0), 0.1);
+
+        assertTrue(sketch.remove(0.0));
+        assertFalse(sketch.remove(0.0));
+        assertTrue(sketch.remove(10.0));
+        assertTrue(sketch.isEmpty());
+        assertEquals(0.0, sketch.getValueAtPercentile(50.0));
+    }
+
+    @Test
+    void testNonFiniteValuesGoToOverflowBucket() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(Double.POSITIVE_INFINITY);
+        sketch.add(100.0);
+        sketch.add(Double.NaN);
+        sketch.add(0.0);
+
+        assertEquals(4, sketch.getCount());
+        assertEquals(50.0, sketch.getMean(), 1e-9);
+        assertEquals(0.0, sketch.getValueAtPercentile(0.0));
+        assertEquals(100.0, sketch.getValueAtPercentile(50.0), 1.0);
+        assertEquals(Double.POSITIVE_INFINITY, sketch.getValueAtPercentile(100.0));
+        assertEquals(4, sketch.getCountAtOrBelow(Double.POSITIVE_INFINITY));
+        assertArrayEquals(new long[] {2, 2}, sketch.histogram(1000.0));
+
+        QuantileSketch merged = new QuantileSketch();
+        merged.add(1e-3);
+        merged.merge(sketch);
+        assertEquals(Double.POSITIVE_INFINITY, merged.copy().getValueAtPercentile(90.0));
+
+        assertTrue(sketch.remove(Double.POSITIVE_INFINITY));
+        assertTrue(sketch.remove(Double.NaN));
+        assertFalse(sketch.remove(Double.NEGATIVE_INFINITY));
+        assertEquals(100.0, sketch.getValueAtPercentile(100.0), 1.0);
+    }
+
+    @Test
+    void testMergeMatchesSingleSketch() {
+        Random random = new Random(7);
+        QuantileSketch all = new QuantileSketch();
+        QuantileSketch low = new QuantileSketch();
+        QuantileSketch high = new QuantileSketch();
+        for (int i = 0; i < 5000; i++) {
+            double small = random.nextDouble() * 100;
+            double large = 1e6 + random.nextDouble() * 1e6;
+            all.add(small);
+            all.add(large);
+            low.add(small);
+            high.add(large);
+        }
+
+        low.merge(high);
+        assertEquals(all.getCount(), low.getCount());
+        for (double percentile = 0.0; percentile <= 100.0; percentile += 12.5) {
+            assertEquals(all.getValueAtPercentile(percentile), low.getValueAtPercentile(percentile));
+        }
+        assertThrows(IllegalArgumentException.class, () -> low.merge(new QuantileSketch(0.05)));
+        assertThrows(IllegalArgumentException.class, () -> low.merge(null));
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(50.0);
+        QuantileSketch copy = sketch.copy();
+        copy.add(5000.0);
+
+        assertEquals(1, sketch.getCount());
+        assertEquals(2, copy.getCount());
+    }
+
+    @Test
+    void testHistogram() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int value = 1; value <= 1000; value++) {
+            sketch.add(value);
+        }
+
+        long[] bins = sketch.histogram(10.0, 100.0, 500.0);
+        assertEquals(4, bins.length);
+        assertEquals(1000, Arrays.stream(bins).sum());
+        assertEquals(10, bins[0], 1);
+        assertEquals(90, bins[1], 2);
+        assertEquals(400, bins[2], 10);
+        assertEquals(500, bins[3], 10);
+        assertEquals(0, sketch.getCountAtOrBelow(-1.0));
+        assertThrows(IllegalArgumentException.class, () -> sketch.histogram(10.0, 5.0));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0.0));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(1.0));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch().getValueAtPercentile(101.0));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch().histogram((double[]) null));
+    }
+}
@@ -0,0 +1,80 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for the Ranking class.
+ */
+public class RankingTest {
+
+    @Test
+    void testTopKByFollowersPerDollar() {
+        List<Influencer> influencers = List.of(
+                new Influencer("A", "Instagram", "Fashion", 1000, 100.0, "USA"),
+                new Influencer("B", "YouTube", "Tech", 50000, 100.0, "UK"),
+                new Influencer("C", "TikTok", "Food", 9000, 10.0, "USA"),
+                new Influencer("D", "YouTube", "Music", 400, 1.0, "UK"));
+
+        List<ScoredInfluencer> top = Ranking.top(influencers, ScoreFormula.of(Metric.FOLLOWERS_PER_DOLLAR, 1.0), 2);
+
+        assertEquals(2, top.size());
+        assertEquals("C", top.get(0).getInfluencer().getName());
+        assertEquals(900.0, top.get(0).getScore());
+        assertEquals("B", top.get(1).getInfluencer().getName());
+    }
+
+    @Test
+    void testMatchesFullSort() {
+        Random random = new Random(42);
+        List<Influencer> influencers = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            influencers.add(new Influencer("Influencer " + i, "Instagram", "Fashion",
+                    random.nextInt(100), random.nextInt(50), "USA"));
+        }
+        ScoreFormula formula = ScoreFormula.parse("followersPerDollar + 0.1*followers");
+
+        List<String> expected = influencers.stream()
+                .sorted(Comparator.comparingDouble(formula::score).reversed())
+                .limit(25)
+                .map(Influencer::getName)
+                .collect(Collectors.toList());
+        List<String> actual = Ranking.top(influencers, formula, 25).stream()
+                .map(scored -> scored.getInfluencer().getName())
+                .collect(Collectors.toList());
+        assertEquals(expected, actual, "Ties should keep catalog order, like a stable sort");
+    }
+
+    @Test
+    void testKLargerThanInput() {
+        List<Influencer> influencers = List.of(
+                new Influencer("A", "Instagram", "Fashion", 10, 1.0, "USA"),
+                new Influencer("B", "Instagram", "Fashion", 20, 1.0, "USA"));
+
+        List<ScoredInfluencer> top = Ranking.top(influencers, ScoreFormula.of(Metric.FOLLOWERS, 1.0), 10);
+        assertEquals(2, top.size());
+        assertEquals("B", top.get(0).getInfluencer().getName());
+        assertTrue(Ranking.top(List.of(), ScoreFormula.of(Metric.FOLLOWERS, 1.0), 3).isEmpty());
+    }
+
+    @Test
+    void testTopRowsSkipsExcludedAndNaNRows() {
+        double[] scores = {5.0, Double.NaN, 9.0, 7.0, 9.0};
+
+        assertArrayEquals(new int[] {2, 4, 3}, Ranking.topRows(scores, scores.length, 3, null));
+        assertArrayEquals(new int[] {4, 0}, Ranking.topRows(scores, scores.length, 2, row -> row % 2 == 0 && row != 2));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        ScoreFormula formula = ScoreFormula.of(Metric.FOLLOWERS, 1.0);
+        assertThrows(IllegalArgumentException.class, () -> Ranking.top(null, formula, 1));
+        assertThrows(IllegalArgumentException.class, () -> Ranking.top(List.of(), null, 1));
+        assertThrows(IllegalArgumentException.class, () -> Ranking.top(List.of(), formula, 0));
+    }
+}
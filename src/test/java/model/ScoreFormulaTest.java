@@ -0,0 +1,92 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ScoreFormula class and the built-in metrics.
+ */
+public class ScoreFormulaTest {
+    private final Influencer influencer = new Influencer("A", "Instagram", "Fashion", 100000, 2000.0, "USA");
+
+    @Test
+    void testBuiltInMetrics() {
+        assertEquals(100000.0, ScoreFormula.of(Metric.FOLLOWERS, 1.0).score(influencer));
+        assertEquals(2000.0, ScoreFormula.of(Metric.AD_RATE, 1.0).score(influencer));
+        assertEquals(50.0, ScoreFormula.of(Metric.FOLLOWERS_PER_DOLLAR, 1.0).score(influencer));
+        assertEquals(Math.log1p(100000), ScoreFormula.of(Metric.LOG_FOLLOWERS, 1.0).score(influencer), 1e-12);
+    }
+
+    @Test
+    void testFreeInfluencersCountAsOneDollar() {
+        Influencer free = new Influencer("B", "TikTok", "Food", 500, 0.0, "UK");
+        assertEquals(500.0, ScoreFormula.of(Metric.FOLLOWERS_PER_DOLLAR, 1.0).score(free));
+    }
+
+    @Test
+    void testWeightedSum() {
+        ScoreFormula formula = ScoreFormula.of(Metric.FOLLOWERS_PER_DOLLAR, 2.0).plus(Metric.AD_RATE, -0.01);
+
+        assertEquals(2 * 50.0 - 20.0, formula.score(influencer), 1e-9);
+        assertEquals(2, formula.getTerms().size());
+        assertEquals(-0.01, formula.getWeight(1));
+    }
+
+    @Test
+    void testEvaluateColumns() {
+        ScoreFormula formula = ScoreFormula.of(Metric.FOLLOWERS, 1.0).plus(Metric.AD_RATE, 10.0);
+        double[] scores = formula.evaluate(new int[] {1, 2, 3, 99}, new double[] {0.5, 1.5, 2.5, 99}, 3);
+
+        assertArrayEquals(new double[] {6.0, 17.0, 28.0}, scores, 1e-12);
+    }
+
+    @Test
+    void testCustomTerm() {
+        ScoreTerm bigAccounts = new ScoreTerm() {
+            @Override
+            public String getName() {
+                return "bigAccount";
+            }
+
+            @Override
+            public void accumulate(int[] followers, double[] adRates, int length, double weight, double[] scores) {
+                for (int i = 0; i < length; i++) {
+                    scores[i] += followers[i] >= 1000000 ? weight : 0.0;
+                }
+            }
+        };
+        ScoreFormula formula = ScoreFormula.of(bigAccounts, 5.0);
+
+        assertEquals(0.0, formula.score(influencer));
+        assertEquals(5.0, formula.score(new Influencer("C", "YouTube", "Tech", 2000000, 1.0, "USA")));
+        assertEquals("5*bigAccount", formula.toString());
+    }
+
+    @Test
+    void testParse() {
+        ScoreFormula formula = ScoreFormula.parse(" 2 * followersPerDollar + logFollowers*0.5 - 1e-2*AdRate ");
+
+        assertEquals(2 * 50.0 + 0.5 * Math.log1p(100000) - 20.0, formula.score(influencer), 1e-9);
+        assertEquals("2*followersPerDollar + 0.5*logFollowers - 0.01*adRate", formula.toString());
+        assertEquals(-100000.0, ScoreFormula.parse("-followers").score(influencer));
+    }
+
+    @Test
+    void testParseRejectsMalformedFormulas() {
+        assertThrows(IllegalArgumentException.class, () -> ScoreFormula.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> ScoreFormula.parse("  "));
+        assertThrows(IllegalArgumentException.class, () -> ScoreFormula.parse("followers*adRate"));
+        assertThrows(IllegalArgumentException.class, () -> ScoreFormula.parse("2*"));
+        assertThrows(IllegalArgumentException.class, () -> ScoreFormula.parse("3 + followers"));
+        assertThrows(IllegalArgumentException.class, () -> ScoreFormula.parse("reach"));
+        assertThrows(IllegalArgumentException.class, () -> ScoreFormula.parse("followers / adRate"));
+    }
+
+    @Test
+    void testInvalidTerms() {
+        assertThrows(IllegalArgumentException.class, () -> ScoreFormula.of(null, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> ScoreFormula.of(Metric.FOLLOWERS, Double.NaN));
+        ScoreFormula formula = ScoreFormula.of(Metric.FOLLOWERS, 1.0);
+        assertThrows(IllegalArgumentException.class, () -> formula.evaluate(new int[1], new double[0], 1));
+    }
+}
@@ -0,0 +1,51 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SegmentSketches class.
+ */
+public class SegmentSketchesTest {
+
+    @Test
+    void testSegmentsFollowAddAndRemove() {
+        SegmentSketches sketches = new SegmentSketches(0.01);
+        Influencer first = new Influencer("A", "Instagram", "Fashion", 1000, 10.0, "USA");
+        Influencer second = new Influencer("B", "instagram", "Beauty", 100000, 500.0, "UK");
+        Influencer third = new Influencer("C", "YouTube", "Fashion", 5000, 50.0, null);
+        sketches.add(first);
+        sketches.add(second);
+        sketches.add(third);
+
+        assertEquals(3, sketches.getFollowers().getCount());
+        QuantileSketch instagram = sketches.getFollowers(GroupBy.PLATFORM, "INSTAGRAM");
+        assertEquals(2, instagram.getCount());
+        assertEquals(100000, instagram.getValueAtPercentile(100.0), 1000);
+        assertEquals(50.0, sketches.getAdRates(GroupBy.PLATFORM, "YouTube").getValueAtPercentile(50.0), 0.5);
+        assertTrue(sketches.getFollowers(GroupBy.COUNTRY, null).isEmpty());
+
+        sketches.remove(second);
+        assertEquals(1, sketches.getFollowers(GroupBy.PLATFORM, "Instagram").getCount());
+        assertTrue(sketches.getAdRates(GroupBy.CATEGORY, "Beauty").isEmpty());
+        assertEquals(2, sketches.getAdRates().getCount());
+    }
+
+    @Test
+    void testQueriesReturnCopies() {
+        SegmentSketches sketches = new SegmentSketches(0.01);
+        sketches.add(new Influencer("A", "Instagram", "Fashion", 1000, 10.0, "USA"));
+
+        sketches.getFollowers().add(5.0);
+        sketches.getFollowers(GroupBy.PLATFORM, "Instagram").add(5.0);
+        assertEquals(1, sketches.getFollowers().getCount());
+        assertEquals(1, sketches.getFollowers(GroupBy.PLATFORM, "Instagram").getCount());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SegmentSketches(2.0));
+        SegmentSketches sketches = new SegmentSketches(0.01);
+        assertThrows(IllegalArgumentException.class, () -> sketches.getFollowers(null, "USA"));
+    }
+}
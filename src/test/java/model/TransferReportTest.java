@@ -0,0 +1,70 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TransferReport class.
+ */
+public class TransferReportTest {
+
+    @Test
+    void testCountsAndRates() {
+        TransferReport report = new TransferReport("import", "CSVImporter", "data.csv");
+        report.addBytes(2048);
+        report.addRecords(1000);
+        report.addRecords(1000);
+        report.addErrors(3);
+        report.addPhaseNanos(TransferReport.Phase.READ, 250_000_000L);
+        report.addPhaseNanos(TransferReport.Phase.PARSE, 500_000_000L);
+        report.addPhaseNanos(TransferReport.Phase.PARSE, 250_000_000L);
+
+        assertEquals(2048, report.getBytes());
+        assertEquals(2000, report.getRecords());
+        assertEquals(3, report.getErrors());
+        assertEquals(750_000_000L, report.getPhaseNanos(TransferReport.Phase.PARSE));
+        assertEquals(0, report.getPhaseNanos(TransferReport.Phase.INDEX));
+        assertEquals(1_000_000_000L, report.getTotalNanos());
+        assertEquals(2000.0, report.getRecordsPerSecond(), 1e-9);
+    }
+
+    @Test
+    void testEmptyReport() {
+        TransferReport report = new TransferReport("export", null, null);
+        assertEquals(0.0, report.getRecordsPerSecond());
+        assertEquals("{\"operation\": \"export\", \"source\": null, \"path\": null, \"bytes\": 0, "
+                + "\"records\": 0, \"errors\": 0, \"recordsPerSecond\": 0.0, \"totalMs\": 0.000}", report.toJson());
+    }
+
+    @Test
+    void testJsonSummary() {
+        TransferReport report = new TransferReport("import", "JSONImporter", "C:\\data\\\"in\".json");
+        report.addRecords(10);
+        report.addPhaseNanos(TransferReport.Phase.INDEX, 2_000_000L);
+        report.addPhaseNanos(TransferReport.Phase.READ, 1_500_000L);
+
+        String json = report.toJson();
+        assertTrue(json.contains("\"path\": \"C:\\\\data\\\\\\\"in\\\".json\""));
+        assertTrue(json.contains("\"readMs\": 1.500, \"indexMs\": 2.000}"));
+        assertTrue(json.contains("\"records\": 10"));
+        assertFalse(json.contains("parseMs"));
+    }
+
+    @Test
+    void testSummaryLine() {
+        TransferReport report = new TransferReport("export", "CSVExporter", "out.csv");
+        report.addRecords(5);
+        report.addPhaseNanos(TransferReport.Phase.WRITE, 1_000_000L);
+
+        String summary = report.toString();
+        assertTrue(summary.startsWith("export out.csv: 5 records, 0 errors"));
+        assertTrue(summary.endsWith("write 1.000 ms"));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TransferReport(null, "x", "y"));
+        TransferReport report = new TransferReport("import", "x", "y");
+        assertThrows(IllegalArgumentException.class, () -> report.addPhaseNanos(null, 1));
+    }
+}
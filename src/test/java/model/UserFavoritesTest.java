@@ -109,6 +109,25 @@ public class UserFavoritesTest {
         assertEquals(1, favorites.getAllItems().size(), "After adding the same item twice, there should only be 1 item");
     }
 
+    @Test
+    void testEqualCopiesAreMatchedAndOrderFollowsCatalogIds() {
+        Influencer second = new Influencer("Second", "YouTube", "Tech", 1000, 10.0, "UK");
+        Influencer third = new Influencer("Third", "TikTok", "Food", 2000, 20.0, "USA");
+        favorites.addItem(third);
+        favorites.addItem(testInfluencer);
+        favorites.addItem(second);
+
+        Influencer copy = new Influencer(testInfluencer.getName(), testInfluencer.getPlatform(),
+                testInfluencer.getCategory(), testInfluencer.getFollowers(),
+                testInfluencer.getAdRate(), testInfluencer.getCountry());
+        assertTrue(favorites.contains(copy));
+        favorites.removeItem(copy);
+
+        List<Influencer> remaining = favorites.getAllItems();
+        assertEquals(2, remaining.size());
+        assertEquals(List.of(third, second), remaining);
+    }
+
     @Test
     void testRemoveNonExistent() {
         // Create an influencer that is not in the favorites
@@ -166,4 +185,144 @@ public class UserFavoritesTest {
     void testUsername() {
         assertEquals(USERNAME, favorites.getUsername());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testChangesAreReplayedOnReload() throws IOException {
+        Influencer other = new Influencer("Another Influencer", "YouTube", "Gaming", 2000000, AD_RATE, "UK");
+        favorites.addItem(testInfluencer);
+        favorites.addItem(other);
+        favorites.removeItem(testInfluencer);
+
+        List<String> lines = Files.readAllLines(Paths.get(FAVORITES_DIR + USERNAME + ".txt"));
+        assertEquals(3, lines.size(), "Each change should append one record");
+        assertTrue(lines.get(2).startsWith("-,"));
+
+        UserFavorites reloaded = new UserFavorites(testUser);
+        assertEquals(1, reloaded.getAllItems().size());
+        assertTrue(reloaded.contains(other));
+        assertFalse(reloaded.contains(testInfluencer));
+    }
+
+    @Test
+    void testLegacyFileIsLoaded() throws IOException {
+        Files.createDirectories(Paths.get(FAVORITES_DIR));
+        Files.write(Paths.get(FAVORITES_DIR + USERNAME + ".txt"),
+                List.of("Test Influencer,Instagram,Fitness,1000000,2500.00,USA"));
+
+        UserFavorites reloaded = new UserFavorites(testUser);
+        assertTrue(reloaded.contains(testInfluencer));
+        reloaded.removeItem(testInfluencer);
+        assertTrue(new UserFavorites(testUser).getAllItems().isEmpty());
+    }
+
+    @Test
+    void testLogIsCompacted() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            favorites.addItem(testInfluencer);
+            favorites.removeItem(testInfluencer);
+        }
+        favorites.addItem(testInfluencer);
+
+        List<String> lines = Files.readAllLines(Paths.get(FAVORITES_DIR + USERNAME + ".txt"));
+        assertTrue(lines.size() < 100, "Superseded records should be compacted away");
+        UserFavorites reloaded = new UserFavorites(testUser);
+        assertEquals(1, reloaded.getAllItems().size());
+        assertTrue(reloaded.contains(testInfluencer));
+    }
+
+    @Test
+    void testBatchAddAndRemove() throws IOException {
+        Influencer second = new Influencer("Second", "YouTube", "Tech", 1000, 10.0, "UK");
+        Influencer third = new Influencer("Third", "TikTok", "Food", 2000, 20.0, "USA");
+        favorites.addItem(testInfluencer);
+
+        assertEquals(2, favorites.addItems(List.of(testInfluencer, second, third)));
+        assertEquals(3, favorites.getAllItems().size());
+        assertEquals(2, favorites.removeItems(List.of(second, testInfluencer,
+                new Influencer("Missing", "TikTok", "Food", 1, 1.0, "USA"))));
+        assertEquals(List.of(third), favorites.getAllItems());
+
+        List<String> lines = Files.readAllLines(Paths.get(FAVORITES_DIR + USERNAME + ".txt"));
+        assertEquals(5, lines.size(), "Each batch should append one record per changed favorite");
+        assertEquals(List.of(third), new UserFavorites(testUser).getAllItems());
+    }
+
+    @Test
+    void testLargeBatchesMergeInIdOrder() {
+        InfluencerRepository catalog = new InfluencerRepository();
+        List<Influencer> all = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Influencer influencer = new Influencer("Bulk " + i, "Instagram", "Fitness", i, 1.0, "USA");
+            catalog.save(influencer);
+            all.add(influencer);
+        }
+        UserFavorites bulk = new UserFavorites(testUser, () -> catalog);
+
+        List<Influencer> shuffled = new ArrayList<>(all);
+        java.util.Collections.shuffle(shuffled, new java.util.Random(1));
+        List<Influencer> withDuplicates = new ArrayList<>(shuffled);
+        withDuplicates.addAll(shuffled.subList(0, 100));
+        bulk.addItem(all.get(7));
+        assertEquals(1999, bulk.addItems(withDuplicates));
+
+        List<Influencer> odd = new ArrayList<>();
+        for (int i = 1999; i >= 0; i -= 2) {
+            odd.add(all.get(i));
+        }
+        assertEquals(1000, bulk.removeItems(odd));
+        assertEquals(0, bulk.removeItems(odd));
+
+        List<Influencer> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i += 2) {
+            expected.add(all.get(i));
+        }
+        expected.sort(java.util.Comparator.comparingInt(influencer -> catalog.getIds().findId(influencer.getName())));
+        assertEquals(expected, bulk.getAllItems());
+        assertEquals(expected, new UserFavorites(testUser, () -> catalog).getAllItems());
+    }
+
+    @Test
+    void testBatchWithNull() {
+        assertThrows(IllegalArgumentException.class, () -> favorites.addItems(null));
+        assertThrows(IllegalArgumentException.class, () -> favorites.removeItems(null));
+        List<Influencer> withNull = new ArrayList<>();
+        withNull.add(testInfluencer);
+        withNull.add(null);
+        assertThrows(IllegalArgumentException.class, () -> favorites.addItems(withNull));
+        assertTrue(favorites.getAllItems().isEmpty());
+    }
+
+    @Test
+    void testFavoritesResolveAgainstLiveCatalog() {
+        InfluencerRepository catalog = new InfluencerRepository();
+        catalog.save(testInfluencer);
+        InfluencerRepository[] live = {catalog};
+        UserFavorites shared = new UserFavorites(testUser, () -> live[0]);
+        shared.addItem(testInfluencer);
+
+        // An update in the catalog is visible without touching the favorites
+        Influencer updated = new Influencer(NAME, PLATFORM, CATEGORY, FOLLOWERS + 1, AD_RATE, COUNTRY);
+        catalog.save(updated);
+        assertEquals(FOLLOWERS + 1, shared.getAllItems().get(0).getFollowers());
+        assertTrue(shared.contains(testInfluencer));
+
+        // Favorites follow a replaced catalog, and are hidden while their influencer is missing
+        live[0] = new InfluencerRepository(catalog.getIds());
+        assertTrue(shared.getAllItems().isEmpty());
+        live[0].save(testInfluencer);
+        assertEquals(List.of(testInfluencer), shared.getAllItems());
+
+        UserFavorites reloaded = new UserFavorites(testUser, () -> live[0]);
+        assertEquals(List.of(testInfluencer), reloaded.getAllItems());
+    }
+
+    @Test
+    void testFavoritesAreLoadedOnFirstUse() {
+        favorites.addItem(testInfluencer);
+
+        UserFavorites lazy = new UserFavorites(testUser);
+        assertFalse(lazy.isLoaded());
+        assertTrue(lazy.contains(testInfluencer));
+        assertTrue(lazy.isLoaded());
+    }
+}
@@ -3,12 +3,19 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.UUID;
 import java.util.List;
+import java.util.Map;
 import java.util.ArrayList;
 import java.lang.reflect.Field;
-import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Unit tests for the UserManager class.
@@ -17,21 +24,13 @@ public class UserManagerTest {
     private UserManager userManager;
     private String uniqueUsername;
     private static final String PASSWORD = "testPass123";
-    private static final String USERS_FILE = "data/users.ser";
+
+    @TempDir
+    Path tempDir;
 
     @BeforeEach
     void setUp() {
-        // Delete existing users file to start with clean state
-        try {
-            File file = new File(USERS_FILE);
-            if (file.exists()) {
-                file.delete();
-            }
-        } catch (Exception e) {
-            // Ignore exceptions
-        }
-        
-        userManager = new UserManager();
+        userManager = new UserManager(tempDir);
         // Generate a unique username for each test to avoid "Username already exists" errors
         uniqueUsername = "user_" + UUID.randomUUID().toString().substring(0, 8);
     }
@@ -53,10 +52,10 @@ public class UserManagerTest {
      */
     @Test
     void testUserAdditionAndRetrieval() throws Exception {
-        // Directly access the users list using reflection
+        // Directly access the users index using reflection
         Field usersField = UserManager.class.getDeclaredField("users");
         usersField.setAccessible(true);
-        List<User> users = (List<User>)usersField.get(userManager);
+        Map<String, User> users = (Map<String, User>)usersField.get(userManager);
         
         // Create a test user
         User testUser = new User(uniqueUsername, PASSWORD);
@@ -66,8 +65,8 @@ public class UserManagerTest {
         usernameField.setAccessible(true);
         usernameField.set(testUser, uniqueUsername);
         
-        // Add the user to the list
-        users.add(testUser);
+        // Add the user to the index
+        users.put(uniqueUsername, testUser);
         
         // Now test the findUser method
         User foundUser = userManager.findUser(uniqueUsername);
@@ -81,6 +80,10 @@ public class UserManagerTest {
         // Test wrong password
         authenticatedUser = userManager.authenticateUser(uniqueUsername, "wrongPassword");
         assertNull(authenticatedUser, "User should not authenticate with wrong password");
+
+        // The plaintext password is replaced by a hash after the first successful login
+        assertTrue(PasswordHasher.isHash(foundUser.getPassword()), "Legacy password should be rehashed");
+        assertNotNull(userManager.authenticateUser(uniqueUsername, PASSWORD));
     }
     
     /**
@@ -88,10 +91,10 @@ public class UserManagerTest {
      */
     @Test
     void testUserSubscription() throws Exception {
-        // Directly access the users list using reflection
+        // Directly access the users index using reflection
         Field usersField = UserManager.class.getDeclaredField("users");
         usersField.setAccessible(true);
-        List<User> users = (List<User>)usersField.get(userManager);
+        Map<String, User> users = (Map<String, User>)usersField.get(userManager);
         
         // Create a test user
         User testUser = new User(uniqueUsername, PASSWORD);
@@ -101,8 +104,8 @@ public class UserManagerTest {
         usernameField.setAccessible(true);
         usernameField.set(testUser, uniqueUsername);
         
-        // Add the user to the list
-        users.add(testUser);
+        // Add the user to the index
+        users.put(uniqueUsername, testUser);
         
         // Get the user
         User foundUser = userManager.findUser(uniqueUsername);
@@ -121,10 +124,10 @@ public class UserManagerTest {
      */
     @Test
     void testMultipleUsers() throws Exception {
-        // Directly access the users list using reflection
+        // Directly access the users index using reflection
         Field usersField = UserManager.class.getDeclaredField("users");
         usersField.setAccessible(true);
-        List<User> users = (List<User>)usersField.get(userManager);
+        Map<String, User> users = (Map<String, User>)usersField.get(userManager);
         
         // Create test users
         String username2 = "user_" + UUID.randomUUID().toString().substring(0, 8);
@@ -137,9 +140,9 @@ public class UserManagerTest {
         usernameField.set(user1, uniqueUsername);
         usernameField.set(user2, username2);
         
-        // Add the users to the list
-        users.add(user1);
-        users.add(user2);
+        // Add the users to the index
+        users.put(uniqueUsername, user1);
+        users.put(username2, user2);
         
         // Test findUser for both users
         User foundUser1 = userManager.findUser(uniqueUsername);
@@ -150,4 +153,136 @@ public class UserManagerTest {
         assertEquals(uniqueUsername, foundUser1.getUsername(), "First username should match");
         assertEquals(username2, foundUser2.getUsername(), "Second username should match");
     }
-} 
\ No newline at end of file
+
+    /**
+     * Test registration, duplicate detection and login through the username index
+     */
+    @Test
+    void testRegisterAndAuthenticate() {
+        userManager.registerUser(new User(uniqueUsername, PASSWORD));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                userManager.registerUser(new User(uniqueUsername, "other")));
+        assertThrows(IllegalArgumentException.class, () ->
+                userManager.registerUser(null));
+
+        assertNotNull(userManager.authenticateUser(uniqueUsername, PASSWORD));
+        assertNull(userManager.authenticateUser(uniqueUsername, "wrongPassword"));
+        assertNull(userManager.authenticateUser("nonExistentUser", PASSWORD));
+    }
+
+    /**
+     * Test that registered users are reloaded by a new manager
+     */
+    @Test
+    void testRegisteredUsersArePersisted() {
+        userManager.registerUser(new User(uniqueUsername, PASSWORD));
+
+        UserManager reloaded = new UserManager(tempDir);
+        assertNotNull(reloaded.authenticateUser(uniqueUsername, PASSWORD));
+    }
+
+    /**
+     * Test listing subscribed users
+     */
+    @Test
+    void testGetSubscribedUsers() {
+        User subscriber = new User(uniqueUsername, PASSWORD);
+        subscriber.subscribe();
+        userManager.registerUser(subscriber);
+        userManager.registerUser(new User(uniqueUsername + "_free", PASSWORD));
+
+        List<User> subscribed = userManager.getSubscribedUsers();
+        assertEquals(1, subscribed.size());
+        assertEquals(uniqueUsername, subscribed.get(0).getUsername());
+    }
+
+    /**
+     * Test that concurrent registrations of the same username admit exactly one user,
+     * and concurrent registrations of distinct usernames are all kept
+     */
+    @Test
+    void testConcurrentRegistrations() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger duplicates = new AtomicInteger();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                executor.submit(() -> {
+                    try {
+                        start.await();
+                        userManager.registerUser(new User(uniqueUsername + "_" + thread, PASSWORD));
+                        userManager.registerUser(new User(uniqueUsername, PASSWORD));
+                    } catch (IllegalArgumentException e) {
+                        duplicates.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(threads - 1, duplicates.get());
+        UserManager reloaded = new UserManager(tempDir);
+        assertNotNull(reloaded.findUser(uniqueUsername));
+        for (int t = 0; t < threads; t++) {
+            assertNotNull(reloaded.findUser(uniqueUsername + "_" + t));
+        }
+    }
+
+    /**
+     * Test that registered passwords are stored as hashes, including after a reload
+     */
+    @Test
+    void testPasswordsAreStoredHashed() {
+        User user = new User(uniqueUsername, PASSWORD);
+        userManager.registerUser(user);
+        assertNotEquals(PASSWORD, user.getPassword());
+        assertTrue(PasswordHasher.isHash(user.getPassword()));
+
+        UserManager reloaded = new UserManager(tempDir);
+        User stored = reloaded.findUser(uniqueUsername);
+        assertTrue(PasswordHasher.isHash(stored.getPassword()));
+        assertNotNull(reloaded.authenticateUser(uniqueUsername, PASSWORD));
+        assertNull(reloaded.authenticateUser(uniqueUsername, "wrongPassword"));
+    }
+
+    /**
+     * Test that the subscriber index follows subscribe and unsubscribe calls and is persisted
+     */
+    @Test
+    void testSubscriberIndexFollowsSubscriptionChanges() {
+        User user = new User(uniqueUsername, PASSWORD);
+        userManager.registerUser(user);
+        assertEquals(0, userManager.getSubscriberCount());
+
+        user.subscribe();
+        assertEquals(1, userManager.getSubscriberCount());
+        assertEquals(uniqueUsername, userManager.getSubscribedUsers().get(0).getUsername());
+
+        UserManager reloaded = new UserManager(tempDir);
+        assertEquals(1, reloaded.getSubscriberCount());
+        assertTrue(reloaded.findUser(uniqueUsername).isSubscribed());
+
+        user.unsubscribe();
+        assertEquals(0, userManager.getSubscriberCount());
+        assertTrue(userManager.getSubscribedUsers().isEmpty());
+        assertFalse(new UserManager(tempDir).findUser(uniqueUsername).isSubscribed());
+    }
+
+    /**
+     * Test that a user store that cannot be opened fails construction instead of keeping users in memory
+     */
+    @Test
+    void testUnavailableStoreFailsLoudly() throws Exception {
+        Path notADirectory = tempDir.resolve("file");
+        java.nio.file.Files.createFile(notADirectory);
+        assertThrows(IllegalStateException.class, () -> new UserManager(notADirectory));
+    }
+}
@@ -0,0 +1,189 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for the UserStore class.
+ */
+public class UserStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path storePath;
+
+    @BeforeEach
+    void setUp() {
+        storePath = tempDir.resolve("users").resolve("users.db");
+    }
+
+    @Test
+    void testPutAndReopen() throws IOException {
+        try (UserStore store = new UserStore(storePath)) {
+            store.put(new User("alice", "secret"));
+            User bob = new User("bob", "hunter2");
+            bob.subscribe();
+            store.put(bob);
+            assertEquals(2, store.size());
+        }
+
+        try (UserStore reopened = new UserStore(storePath)) {
+            assertEquals(2, reopened.size());
+            assertEquals("secret", reopened.get("alice").getPassword());
+            assertFalse(reopened.get("alice").isSubscribed());
+            assertTrue(reopened.get("bob").isSubscribed());
+            assertEquals("alice", reopened.getAll().get(0).getUsername());
+        }
+    }
+
+    @Test
+    void testLaterRecordsReplaceEarlierOnes() throws IOException {
+        try (UserStore store = new UserStore(storePath)) {
+            User alice = new User("alice", "secret");
+            store.put(alice);
+            alice.subscribe();
+            store.put(alice);
+        }
+
+        try (UserStore reopened = new UserStore(storePath)) {
+            assertEquals(1, reopened.size());
+            assertTrue(reopened.get("alice").isSubscribed());
+        }
+    }
+
+    @Test
+    void testSupersededRecordsAreCompacted() throws IOException {
+        User alice = new User("alice", "secret");
+        try (UserStore store = new UserStore(storePath)) {
+            for (int i = 0; i < 200; i++) {
+                store.put(alice);
+            }
+        }
+
+        long singleRecordSize;
+        Path otherPath = tempDir.resolve("single.db");
+        try (UserStore single = new UserStore(otherPath)) {
+            single.put(alice);
+        }
+        singleRecordSize = Files.size(otherPath);
+
+        assertTrue(Files.size(storePath) < singleRecordSize * 100,
+                "Rewriting should keep the file far smaller than one record per put");
+        try (UserStore reopened = new UserStore(storePath)) {
+            assertEquals(1, reopened.size());
+        }
+    }
+
+    @Test
+    void testTornRecordIsDropped() throws IOException {
+        try (UserStore store = new UserStore(storePath)) {
+            store.put(new User("alice", "secret"));
+            store.put(new User("bob", "hunter2"));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(storePath.toFile(), "rw")) {
+            file.setLength(file.length() - 2);
+        }
+
+        try (UserStore reopened = new UserStore(storePath)) {
+            assertEquals(1, reopened.size());
+            reopened.put(new User("carol", "pw"));
+        }
+        try (UserStore reopened = new UserStore(storePath)) {
+            assertNotNull(reopened.get("carol"));
+            assertNull(reopened.get("bob"));
+        }
+    }
+
+    @Test
+    void testCorruptRecordEndsLoading() throws IOException {
+        try (UserStore store = new UserStore(storePath)) {
+            store.put(new User("alice", "secret"));
+            store.put(new User("bob", "hunter2"));
+            store.put(new User("carol", "pw"));
+        }
+        byte[] bytes = Files.readAllBytes(storePath);
+        int bob = new String(bytes, java.nio.charset.StandardCharsets.ISO_8859_1).indexOf("bob");
+        bytes[bob] = 'B';
+        Files.write(storePath, bytes);
+
+        try (UserStore reopened = new UserStore(storePath)) {
+            assertEquals(1, reopened.size());
+            assertNotNull(reopened.get("alice"));
+            assertNull(reopened.get("Bob"));
+            reopened.put(new User("dave", "pw"));
+        }
+        assertArrayEquals(bytes, Files.readAllBytes(storePath.resolveSibling("users.db.corrupt")));
+        try (UserStore reopened = new UserStore(storePath)) {
+            assertEquals(2, reopened.size());
+            assertNotNull(reopened.get("dave"));
+        }
+    }
+
+    @Test
+    void testFileWithoutHeaderIsSetAside() throws IOException {
+        Files.createDirectories(storePath.getParent());
+        byte[] foreign = "alice,secret,true\n".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        Files.write(storePath, foreign);
+
+        try (UserStore store = new UserStore(storePath)) {
+            assertEquals(0, store.size());
+            store.put(new User("bob", "hunter2"));
+        }
+        assertArrayEquals(foreign, Files.readAllBytes(storePath.resolveSibling("users.db.corrupt")));
+        try (UserStore reopened = new UserStore(storePath)) {
+            assertEquals(1, reopened.size());
+            assertNotNull(reopened.get("bob"));
+        }
+    }
+
+    @Test
+    void testInvalidArguments() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new UserStore(null));
+        try (UserStore store = new UserStore(storePath)) {
+            assertThrows(IllegalArgumentException.class, () -> store.put(null));
+            assertThrows(IllegalArgumentException.class, () -> store.put(new User(null, "pw")));
+        }
+    }
+
+    @Test
+    void testConcurrentPutsAreAllCommitted() throws Exception {
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (UserStore store = new UserStore(storePath)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        store.put(new User("user" + thread + "_" + i, "pw"));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertEquals(threads * perThread, store.size());
+            assertTrue(store.getSyncCount() <= threads * perThread);
+        } finally {
+            executor.shutdown();
+        }
+
+        try (UserStore reopened = new UserStore(storePath)) {
+            assertEquals(threads * perThread, reopened.size());
+        }
+    }
+}